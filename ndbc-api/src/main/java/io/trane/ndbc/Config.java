@@ -5,8 +5,10 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -43,21 +45,35 @@ public final class Config {
       VERIFY_FULL
     }
 
+    public static enum Provider {
+      /**
+       * the JDK's SSLEngine
+       */
+      JDK,
+      /**
+       * OpenSSL, requires netty-tcnative on the classpath and falls back to JDK
+       * if it isn't available
+       */
+      OPENSSL
+    }
+
     public static final SSL apply(final Mode mode) {
-      return new SSL(mode, Optional.empty());
+      return new SSL(mode, Optional.empty(), Provider.JDK);
     }
 
     public static final SSL apply(final Mode mode, final File rootCert) {
-      return new SSL(mode, Optional.of(rootCert));
+      return new SSL(mode, Optional.of(rootCert), Provider.JDK);
     }
 
     private final Mode           mode;
     private final Optional<File> rootCert;
+    private final Provider       provider;
 
-    private SSL(final Mode mode, final Optional<File> rootCert) {
+    private SSL(final Mode mode, final Optional<File> rootCert, final Provider provider) {
       super();
       this.mode = mode;
       this.rootCert = rootCert;
+      this.provider = provider;
     }
 
     public final Mode mode() {
@@ -69,7 +85,15 @@ public final class Config {
     }
 
     public final SSL rootCert(final File file) {
-      return new SSL(mode, Optional.ofNullable(file));
+      return new SSL(mode, Optional.ofNullable(file), provider);
+    }
+
+    public final Provider provider() {
+      return provider;
+    }
+
+    public final SSL provider(final Provider provider) {
+      return new SSL(mode, rootCert, provider);
     }
 
     @Override
@@ -78,6 +102,7 @@ public final class Config {
       int result = 1;
       result = prime * result + ((mode == null) ? 0 : mode.hashCode());
       result = prime * result + ((rootCert == null) ? 0 : rootCert.hashCode());
+      result = prime * result + ((provider == null) ? 0 : provider.hashCode());
       return result;
     }
 
@@ -97,10 +122,23 @@ public final class Config {
           return false;
       } else if (!rootCert.equals(other.rootCert))
         return false;
+      if (provider != other.provider)
+        return false;
       return true;
     }
   }
 
+  public static enum Transport {
+    /**
+     * java.nio based transport, available on all platforms
+     */
+    NIO,
+    /**
+     * native Linux epoll transport, falls back to NIO if it's not available
+     */
+    EPOLL
+  }
+
   public static final Config fromSystemProperties(final String prefix) {
     return fromProperties(prefix, System.getProperties());
   }
@@ -141,12 +179,35 @@ public final class Config {
         .map(k -> Stream.of(k.split(",")).filter(s -> !s.isEmpty()).collect(Collectors.toSet())));
 
     config = config.ssl(getProperty(prefix, properties, "ssl.mode", SSL.Mode::valueOf).map(mode -> {
-      final SSL ssl = SSL.apply(mode);
+      final SSL ssl = getProperty(prefix, properties, "ssl.provider", SSL.Provider::valueOf)
+          .map(SSL.apply(mode)::provider).orElse(SSL.apply(mode));
       return getProperty(prefix, properties, "ssl.rootCert")
           .map(rootCert -> ssl.rootCert(new File(rootCert)))
           .orElse(ssl);
     }));
 
+    config = config.wireTracerClass(getProperty(prefix, properties, "wireTracerClass"));
+
+    config = config.transport(getProperty(prefix, properties, "transport", Transport::valueOf));
+
+    config = config.unixSocket(getProperty(prefix, properties, "unixSocket"));
+
+    config = config.writeBufferHighWaterMark(
+        getProperty(prefix, properties, "writeBufferHighWaterMark", Integer::parseInt));
+    config = config.writeBufferLowWaterMark(
+        getProperty(prefix, properties, "writeBufferLowWaterMark", Integer::parseInt));
+
+    config = config.connectTimeout(getProperty(prefix, properties, "connectTimeoutMillis",
+        s -> Duration.ofMillis(Long.parseLong(s))));
+
+    config = config.lazyRows(getProperty(prefix, properties, "lazyRows", Boolean::parseBoolean));
+
+    config = config.stringCacheSize(
+        getProperty(prefix, properties, "stringCacheSize", Integer::parseInt));
+
+    config = config.discoverTypes(
+        getProperty(prefix, properties, "discoverTypes", Boolean::parseBoolean));
+
     return config;
   }
 
@@ -157,6 +218,8 @@ public final class Config {
         Optional.empty(),
         Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
         Optional.empty(),
+        Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
+        Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(),
         Optional.empty());
   }
 
@@ -198,26 +261,42 @@ public final class Config {
     return Optional.ofNullable(properties.getProperty(prefix + "." + name));
   }
 
-  private final String                dataSourceSupplierClass;
-  private final String                host;
-  private final int                   port;
-  private final String                user;
-  private final Charset               charset;
-  private final Optional<String>      password;
-  private final Optional<String>      database;
-  private final Optional<Integer>     poolMaxSize;
-  private final Optional<Integer>     poolMaxWaiters;
-  private final Optional<Duration>    poolValidationInterval;
-  private final Optional<Set<String>> encodingClasses;
-  private final Optional<Integer>     nioThreads;
-  private final Optional<SSL>         ssl;
+  private final String                            dataSourceSupplierClass;
+  private final String                            host;
+  private final int                               port;
+  private final String                            user;
+  private final Charset                           charset;
+  private final Optional<String>                  password;
+  private final Optional<String>                  database;
+  private final Optional<Integer>                 poolMaxSize;
+  private final Optional<Integer>                 poolMaxWaiters;
+  private final Optional<Duration>                poolValidationInterval;
+  private final Optional<Set<String>>             encodingClasses;
+  private final Optional<Integer>                 nioThreads;
+  private final Optional<SSL>                     ssl;
+  private final Optional<List<PreparedStatement>> warmupStatements;
+  private final Optional<String>                  wireTracerClass;
+  private final Optional<Transport>               transport;
+  private final Optional<String>                  unixSocket;
+  private final Optional<Integer>                 writeBufferHighWaterMark;
+  private final Optional<Integer>                 writeBufferLowWaterMark;
+  private final Optional<Duration>                connectTimeout;
+  private final Optional<Boolean>                 lazyRows;
+  private final Optional<Integer>                 stringCacheSize;
+  private final Optional<Boolean>                 discoverTypes;
 
   private Config(final String dataSourceSupplierClass, final String host, final int port,
       final String user,
       final Charset charset, final Optional<String> password, final Optional<String> database,
       final Optional<Integer> poolMaxSize, final Optional<Integer> poolMaxWaiters,
       final Optional<Duration> poolValidationInterval, final Optional<Set<String>> encodingClasses,
-      final Optional<Integer> nioThreads, final Optional<SSL> ssl) {
+      final Optional<Integer> nioThreads, final Optional<SSL> ssl,
+      final Optional<List<PreparedStatement>> warmupStatements,
+      final Optional<String> wireTracerClass, final Optional<Transport> transport,
+      final Optional<String> unixSocket, final Optional<Integer> writeBufferHighWaterMark,
+      final Optional<Integer> writeBufferLowWaterMark, final Optional<Duration> connectTimeout,
+      final Optional<Boolean> lazyRows, final Optional<Integer> stringCacheSize,
+      final Optional<Boolean> discoverTypes) {
     super();
     this.dataSourceSupplierClass = dataSourceSupplierClass;
     this.charset = charset;
@@ -232,6 +311,16 @@ public final class Config {
     this.encodingClasses = encodingClasses.map(Collections::unmodifiableSet);
     this.nioThreads = nioThreads;
     this.ssl = ssl;
+    this.warmupStatements = warmupStatements.map(Collections::unmodifiableList);
+    this.wireTracerClass = wireTracerClass;
+    this.transport = transport;
+    this.unixSocket = unixSocket;
+    this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    this.connectTimeout = connectTimeout;
+    this.lazyRows = lazyRows;
+    this.stringCacheSize = stringCacheSize;
+    this.discoverTypes = discoverTypes;
   }
 
   public final String dataSourceSupplierClass() {
@@ -257,7 +346,9 @@ public final class Config {
   public final Config charset(final Charset charset) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<String> password() {
@@ -271,7 +362,9 @@ public final class Config {
   public final Config password(final Optional<String> password) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<String> database() {
@@ -285,7 +378,9 @@ public final class Config {
   public final Config database(final Optional<String> database) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<Integer> poolMaxSize() {
@@ -299,7 +394,9 @@ public final class Config {
   public final Config poolMaxSize(final Optional<Integer> poolMaxSize) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<Integer> poolMaxWaiters() {
@@ -313,7 +410,9 @@ public final class Config {
   public final Config poolMaxWaiters(final Optional<Integer> poolMaxWaiters) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<Duration> poolValidationInterval() {
@@ -327,7 +426,9 @@ public final class Config {
   public final Config poolValidationInterval(final Optional<Duration> poolValidationInterval) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<Set<String>> encodingClasses() {
@@ -341,7 +442,9 @@ public final class Config {
   public final Config encodingClasses(final Optional<Set<String>> encodingClasses) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Config addEncodingClass(final String encodingClass) {
@@ -364,7 +467,9 @@ public final class Config {
   public final Config nioThreads(final Optional<Integer> nioThreads) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 
   public final Optional<SSL> ssl() {
@@ -378,6 +483,211 @@ public final class Config {
   public final Config ssl(final Optional<SSL> ssl) {
     return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
         poolMaxSize,
-        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl);
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<List<PreparedStatement>> warmupStatements() {
+    return warmupStatements;
+  }
+
+  /**
+   * Statements prepared on every new connection before it joins the pool.
+   * The parameter values are only used to determine the parameter types, so
+   * they must match the types used when the statements are executed.
+   */
+  public final Config warmupStatements(final List<PreparedStatement> warmupStatements) {
+    return warmupStatements(Optional.of(warmupStatements));
+  }
+
+  public final Config warmupStatements(
+      final Optional<List<PreparedStatement>> warmupStatements) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Config addWarmupStatement(final PreparedStatement warmupStatement) {
+    return warmupStatements(Optional.ofNullable(warmupStatement).map(ps -> {
+      final List<PreparedStatement> warmupStatements = new ArrayList<>();
+      this.warmupStatements.ifPresent(warmupStatements::addAll);
+      warmupStatements.add(ps);
+      return warmupStatements;
+    }));
+  }
+
+  public final Optional<String> wireTracerClass() {
+    return wireTracerClass;
+  }
+
+  public final Config wireTracerClass(final String wireTracerClass) {
+    return wireTracerClass(Optional.of(wireTracerClass));
+  }
+
+  public final Config wireTracerClass(final Optional<String> wireTracerClass) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Transport> transport() {
+    return transport;
+  }
+
+  public final Config transport(final Transport transport) {
+    return transport(Optional.of(transport));
+  }
+
+  public final Config transport(final Optional<Transport> transport) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<String> unixSocket() {
+    return unixSocket;
+  }
+
+  /**
+   * Path of the server's Unix domain socket, or of the directory containing
+   * it, like `/var/run/postgresql`. When set, it's used instead of `host` and
+   * `port`, except that `port` still selects the `.s.PGSQL.<port>` socket
+   * file within a directory.
+   */
+  public final Config unixSocket(final String unixSocket) {
+    return unixSocket(Optional.of(unixSocket));
+  }
+
+  public final Config unixSocket(final Optional<String> unixSocket) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Integer> writeBufferHighWaterMark() {
+    return writeBufferHighWaterMark;
+  }
+
+  /**
+   * Number of outbound bytes buffered by a connection above which sends wait
+   * until the buffer drains below the low water mark.
+   */
+  public final Config writeBufferHighWaterMark(final int writeBufferHighWaterMark) {
+    return writeBufferHighWaterMark(Optional.of(writeBufferHighWaterMark));
+  }
+
+  public final Config writeBufferHighWaterMark(final Optional<Integer> writeBufferHighWaterMark) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Integer> writeBufferLowWaterMark() {
+    return writeBufferLowWaterMark;
+  }
+
+  public final Config writeBufferLowWaterMark(final int writeBufferLowWaterMark) {
+    return writeBufferLowWaterMark(Optional.of(writeBufferLowWaterMark));
+  }
+
+  public final Config writeBufferLowWaterMark(final Optional<Integer> writeBufferLowWaterMark) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Duration> connectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * Maximum time to establish each connection attempt. When the host resolves
+   * to several addresses, each one gets its own attempt.
+   */
+  public final Config connectTimeout(final Duration connectTimeout) {
+    return connectTimeout(Optional.of(connectTimeout));
+  }
+
+  public final Config connectTimeout(final Optional<Duration> connectTimeout) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Boolean> lazyRows() {
+    return lazyRows;
+  }
+
+  /**
+   * Decodes each column only when it's first accessed. Lazy rows hold a heap
+   * copy of the raw row, not the network buffers, until all of their columns
+   * are read or `Row.release` is called.
+   */
+  public final Config lazyRows(final boolean lazyRows) {
+    return lazyRows(Optional.of(lazyRows));
+  }
+
+  public final Config lazyRows(final Optional<Boolean> lazyRows) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Integer> stringCacheSize() {
+    return stringCacheSize;
+  }
+
+  /**
+   * Enables a cache with this many entries that deduplicates short decoded
+   * ASCII strings, useful for low-cardinality text columns.
+   */
+  public final Config stringCacheSize(final int stringCacheSize) {
+    return stringCacheSize(Optional.of(stringCacheSize));
+  }
+
+  public final Config stringCacheSize(final Optional<Integer> stringCacheSize) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
+  }
+
+  public final Optional<Boolean> discoverTypes() {
+    return discoverTypes;
+  }
+
+  /**
+   * Looks up the database's enums, composite types and domains when the first
+   * connection is created, so their columns can be decoded without casting
+   * them to text.
+   */
+  public final Config discoverTypes(final boolean discoverTypes) {
+    return discoverTypes(Optional.of(discoverTypes));
+  }
+
+  public final Config discoverTypes(final Optional<Boolean> discoverTypes) {
+    return new Config(dataSourceSupplierClass, host, port, user, charset, password, database,
+        poolMaxSize,
+        poolMaxWaiters, poolValidationInterval, encodingClasses, nioThreads, ssl,
+        warmupStatements, wireTracerClass, transport, unixSocket, writeBufferHighWaterMark,
+        writeBufferLowWaterMark, connectTimeout, lazyRows, stringCacheSize, discoverTypes);
   }
 }
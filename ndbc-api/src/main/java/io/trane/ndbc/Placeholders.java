@@ -0,0 +1,137 @@
+package io.trane.ndbc;
+
+/**
+ * Finds the `?` placeholders of a query. Question marks inside string
+ * literals, quoted identifiers, dollar-quoted strings and comments aren't
+ * placeholders, so they're skipped.
+ */
+public final class Placeholders {
+
+  private Placeholders() {
+  }
+
+  /**
+   * Returns the position of the first placeholder at or after `from`, or -1 if
+   * there's none.
+   */
+  public static final int next(final String query, final int from) {
+    int i = from;
+    while (i < query.length()) {
+      final char c = query.charAt(i);
+      if (c == '?')
+        return i;
+      else if (c == '\'')
+        i = skipLiteral(query, i + 1, isEscapeString(query, i));
+      else if (c == '"')
+        i = skipIdentifier(query, i + 1);
+      else if (c == '-' && query.startsWith("--", i))
+        i = skipLine(query, i + 2);
+      else if (c == '/' && query.startsWith("/*", i))
+        i = skipBlockComment(query, i + 2);
+      else if (c == '$' && !isIdentifierPart(query, i - 1))
+        i = skipDollarQuoted(query, i);
+      else
+        i++;
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the position of the placeholder number `index`, starting at zero,
+   * or -1 if the query has fewer placeholders.
+   */
+  public static final int indexOf(final String query, final int index) {
+    int position = next(query, 0);
+    for (int i = 0; i < index && position != -1; i++)
+      position = next(query, position + 1);
+    return position;
+  }
+
+  /**
+   * Rewrites the placeholders to the numbered form, `$1`, `$2`, etc.
+   */
+  public static final String positional(final String query) {
+    final StringBuilder sb = new StringBuilder(query.length() + 16);
+    int last = 0;
+    int count = 0;
+    for (int i = next(query, 0); i != -1; i = next(query, i + 1)) {
+      sb.append(query, last, i).append('$').append(++count);
+      last = i + 1;
+    }
+    return sb.append(query, last, query.length()).toString();
+  }
+
+  private static final boolean isEscapeString(final String query, final int quote) {
+    return quote > 0 && (query.charAt(quote - 1) == 'E' || query.charAt(quote - 1) == 'e')
+        && !isIdentifierPart(query, quote - 2);
+  }
+
+  /**
+   * Doubled quotes need no special handling: they close the literal and open a
+   * new one right away.
+   */
+  private static final int skipLiteral(final String query, final int from,
+      final boolean backslashEscapes) {
+    int i = from;
+    while (i < query.length()) {
+      final char c = query.charAt(i++);
+      if (c == '\\' && backslashEscapes)
+        i++;
+      else if (c == '\'')
+        return i;
+    }
+    return i;
+  }
+
+  private static final int skipIdentifier(final String query, final int from) {
+    final int end = query.indexOf('"', from);
+    return end == -1 ? query.length() : end + 1;
+  }
+
+  private static final int skipLine(final String query, final int from) {
+    int i = from;
+    while (i < query.length() && query.charAt(i) != '\n' && query.charAt(i) != '\r')
+      i++;
+    return i;
+  }
+
+  /**
+   * Postgres block comments nest.
+   */
+  private static final int skipBlockComment(final String query, final int from) {
+    int depth = 1;
+    int i = from;
+    while (i < query.length() && depth > 0)
+      if (query.startsWith("/*", i)) {
+        depth++;
+        i += 2;
+      } else if (query.startsWith("*/", i)) {
+        depth--;
+        i += 2;
+      } else
+        i++;
+    return i;
+  }
+
+  /**
+   * `$tag$...$tag$`, where the tag is empty or an identifier. A `$` followed by
+   * anything else, like `$1`, isn't a quote.
+   */
+  private static final int skipDollarQuoted(final String query, final int from) {
+    int i = from + 1;
+    if (i < query.length() && Character.isJavaIdentifierStart(query.charAt(i))
+        && query.charAt(i) != '$')
+      while (i < query.length() && query.charAt(i) != '$'
+          && Character.isJavaIdentifierPart(query.charAt(i)))
+        i++;
+    if (i >= query.length() || query.charAt(i) != '$')
+      return from + 1;
+    final String tag = query.substring(from, i + 1);
+    final int end = query.indexOf(tag, i + 1);
+    return end == -1 ? query.length() : end + tag.length();
+  }
+
+  private static final boolean isIdentifierPart(final String query, final int index) {
+    return index >= 0 && Character.isJavaIdentifierPart(query.charAt(index));
+  }
+}
@@ -1,13 +1,19 @@
 package io.trane.ndbc;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.UUID;
 
 import io.trane.ndbc.value.BigDecimalArrayValue;
@@ -23,6 +29,8 @@ import io.trane.ndbc.value.FloatArrayValue;
 import io.trane.ndbc.value.FloatValue;
 import io.trane.ndbc.value.IntegerArrayValue;
 import io.trane.ndbc.value.IntegerValue;
+import io.trane.ndbc.value.JsonValue;
+import io.trane.ndbc.value.JsonbValue;
 import io.trane.ndbc.value.LocalDateArrayValue;
 import io.trane.ndbc.value.LocalDateTimeArrayValue;
 import io.trane.ndbc.value.LocalDateTimeValue;
@@ -31,8 +39,14 @@ import io.trane.ndbc.value.LocalTimeArrayValue;
 import io.trane.ndbc.value.LocalTimeValue;
 import io.trane.ndbc.value.LongArrayValue;
 import io.trane.ndbc.value.LongValue;
+import io.trane.ndbc.value.OffsetDateTimeArrayValue;
+import io.trane.ndbc.value.OffsetDateTimeValue;
 import io.trane.ndbc.value.OffsetTimeArrayValue;
 import io.trane.ndbc.value.OffsetTimeValue;
+import io.trane.ndbc.value.PrimitiveDoubleArrayValue;
+import io.trane.ndbc.value.PrimitiveFloatArrayValue;
+import io.trane.ndbc.value.PrimitiveIntArrayValue;
+import io.trane.ndbc.value.PrimitiveLongArrayValue;
 import io.trane.ndbc.value.ShortArrayValue;
 import io.trane.ndbc.value.ShortValue;
 import io.trane.ndbc.value.StringArrayValue;
@@ -45,17 +59,53 @@ public final class PreparedStatement {
 
   private static final Value<?>[] emptyValues = new Value<?>[0];
 
+  private static final byte       NONE        = 0;
+  private static final byte       INT         = 1;
+  private static final byte       LONG        = 2;
+  private static final byte       SHORT       = 3;
+  private static final byte       DOUBLE      = 4;
+  private static final byte       FLOAT       = 5;
+  private static final byte       BOOLEAN     = 6;
+
   public static final PreparedStatement apply(final String query) {
     return new PreparedStatement(query, emptyValues);
   }
 
-  private final String query;
+  /**
+   * Binds all the parameters at once, copying `params` a single time.
+   */
+  public static final PreparedStatement apply(final String query, final Value<?>... params) {
+    final Value<?>[] copy = Arrays.copyOf(params, params.length);
+    for (int i = 0; i < copy.length; i++)
+      if (copy[i] == null)
+        copy[i] = Value.NULL;
+    return new PreparedStatement(query, copy);
+  }
+
+  public static final Builder builder(final String query) {
+    return new Builder(query);
+  }
+
+  private final String     query;
   private final Value<?>[] params;
+  private final byte[]     kinds;
+  private final long[]     primitives;
 
   private PreparedStatement(final String query, final Value<?>[] params) {
+    this(query, params, null, null);
+  }
+
+  /**
+   * `kinds` and `primitives` hold the primitives bound by a `Builder`, and are
+   * null if there's none. The `params` slots of the primitives are null.
+   */
+  private PreparedStatement(final String query, final Value<?>[] params, final byte[] kinds,
+      final long[] primitives) {
     super();
     this.query = query;
     this.params = params;
+    this.kinds = kinds;
+    this.primitives = primitives;
   }
 
   public final PreparedStatement setBigDecimal(final BigDecimal value) {
@@ -121,6 +171,14 @@ public final class PreparedStatement {
   public final PreparedStatement setDoubleArray(final int index, final Double[] value) {
     return set(index, value == null ? Value.NULL : new DoubleArrayValue(value));
   }
+
+  public final PreparedStatement setPrimitiveDoubleArray(final double[] value) {
+    return setPrimitiveDoubleArray(params.length, value);
+  }
+
+  public final PreparedStatement setPrimitiveDoubleArray(final int index, final double[] value) {
+    return set(index, value == null ? Value.NULL : new PrimitiveDoubleArrayValue(value));
+  }
   
   public final PreparedStatement setFloat(final Float value) {
     return setFloat(params.length, value);
@@ -138,6 +196,14 @@ public final class PreparedStatement {
     return set(index, value == null ? Value.NULL : new FloatArrayValue(value));
   }
 
+  public final PreparedStatement setPrimitiveFloatArray(final float[] value) {
+    return setPrimitiveFloatArray(params.length, value);
+  }
+
+  public final PreparedStatement setPrimitiveFloatArray(final int index, final float[] value) {
+    return set(index, value == null ? Value.NULL : new PrimitiveFloatArrayValue(value));
+  }
+
   public final PreparedStatement setInteger(final Integer value) {
     return setInteger(params.length, value);
   }
@@ -154,6 +220,50 @@ public final class PreparedStatement {
     return set(index, value == null ? Value.NULL : new IntegerArrayValue(value));
   }
 
+  public final PreparedStatement setPrimitiveIntArray(final int[] value) {
+    return setPrimitiveIntArray(params.length, value);
+  }
+
+  public final PreparedStatement setPrimitiveIntArray(final int index, final int[] value) {
+    return set(index, value == null ? Value.NULL : new PrimitiveIntArrayValue(value));
+  }
+
+  /**
+   * The JSON setters bind the bytes as they are, without copying them, so the
+   * buffer must not be modified until the statement is executed.
+   */
+  public final PreparedStatement setJson(final ByteBuffer value) {
+    return setJson(params.length, value);
+  }
+
+  public final PreparedStatement setJson(final int index, final ByteBuffer value) {
+    return set(index, value == null ? Value.NULL : new JsonValue(value));
+  }
+
+  public final PreparedStatement setJson(final byte[] value) {
+    return setJson(params.length, value);
+  }
+
+  public final PreparedStatement setJson(final int index, final byte[] value) {
+    return set(index, value == null ? Value.NULL : new JsonValue(value));
+  }
+
+  public final PreparedStatement setJsonb(final ByteBuffer value) {
+    return setJsonb(params.length, value);
+  }
+
+  public final PreparedStatement setJsonb(final int index, final ByteBuffer value) {
+    return set(index, value == null ? Value.NULL : new JsonbValue(value));
+  }
+
+  public final PreparedStatement setJsonb(final byte[] value) {
+    return setJsonb(params.length, value);
+  }
+
+  public final PreparedStatement setJsonb(final int index, final byte[] value) {
+    return set(index, value == null ? Value.NULL : new JsonbValue(value));
+  }
+
   public final PreparedStatement setLocalDate(final LocalDate value) {
     return setLocalDate(params.length, value);
   }
@@ -186,6 +296,32 @@ public final class PreparedStatement {
     return set(index, value == null ? Value.NULL : new LocalDateTimeArrayValue(value));
   }
   
+  public final PreparedStatement setOffsetDateTime(final OffsetDateTime value) {
+    return setOffsetDateTime(params.length, value);
+  }
+
+  public final PreparedStatement setOffsetDateTime(final int index, final OffsetDateTime value) {
+    return set(index, value == null ? Value.NULL : new OffsetDateTimeValue(value));
+  }
+
+  public final PreparedStatement setOffsetDateTimeArray(final OffsetDateTime[] value) {
+    return setOffsetDateTimeArray(params.length, value);
+  }
+
+  public final PreparedStatement setOffsetDateTimeArray(final int index,
+      final OffsetDateTime[] value) {
+    return set(index, value == null ? Value.NULL : new OffsetDateTimeArrayValue(value));
+  }
+
+  public final PreparedStatement setInstant(final Instant value) {
+    return setInstant(params.length, value);
+  }
+
+  public final PreparedStatement setInstant(final int index, final Instant value) {
+    return set(index,
+        value == null ? Value.NULL : new OffsetDateTimeValue(value.atOffset(ZoneOffset.UTC)));
+  }
+
   public final PreparedStatement setLocalTime(final LocalTime value) {
     return setLocalTime(params.length, value);
   }
@@ -218,6 +354,14 @@ public final class PreparedStatement {
     return set(index, value == null ? Value.NULL : new LongArrayValue(value));
   }
 
+  public final PreparedStatement setPrimitiveLongArray(final long[] value) {
+    return setPrimitiveLongArray(params.length, value);
+  }
+
+  public final PreparedStatement setPrimitiveLongArray(final int index, final long[] value) {
+    return set(index, value == null ? Value.NULL : new PrimitiveLongArrayValue(value));
+  }
+
   public final PreparedStatement setOffsetTime(final OffsetTime value) {
     return setOffsetTime(params.length, value);
   }
@@ -290,6 +434,53 @@ public final class PreparedStatement {
     return set(index, value == null ? Value.NULL : new UUIDArrayValue(value));
   }
 
+  /**
+   * Binds `values` as a single `int4[]` parameter. If the placeholder at
+   * `index` is written as `IN (?)` or `NOT IN (?)`, the query is rewritten to
+   * `= ANY(?)` or `<> ALL(?)`, so lists of any length share one prepared
+   * statement.
+   */
+  public final PreparedStatement setIntegerIn(final Collection<Integer> values) {
+    return setIntegerIn(params.length, values);
+  }
+
+  public final PreparedStatement setIntegerIn(final int index, final Collection<Integer> values) {
+    return setIn(index,
+        values == null ? Value.NULL : new IntegerArrayValue(values.toArray(new Integer[0])));
+  }
+
+  public final PreparedStatement setLongIn(final Collection<Long> values) {
+    return setLongIn(params.length, values);
+  }
+
+  public final PreparedStatement setLongIn(final int index, final Collection<Long> values) {
+    return setIn(index,
+        values == null ? Value.NULL : new LongArrayValue(values.toArray(new Long[0])));
+  }
+
+  public final PreparedStatement setStringIn(final Collection<String> values) {
+    return setStringIn(params.length, values);
+  }
+
+  public final PreparedStatement setStringIn(final int index, final Collection<String> values) {
+    return setIn(index,
+        values == null ? Value.NULL : new StringArrayValue(values.toArray(new String[0])));
+  }
+
+  public final PreparedStatement setUUIDIn(final Collection<UUID> values) {
+    return setUUIDIn(params.length, values);
+  }
+
+  public final PreparedStatement setUUIDIn(final int index, final Collection<UUID> values) {
+    return setIn(index,
+        values == null ? Value.NULL : new UUIDArrayValue(values.toArray(new UUID[0])));
+  }
+
+  private final PreparedStatement setIn(final int index, final Value<?> param) {
+    return new PreparedStatement(expandIn(query, index), params, kinds, primitives).set(index,
+        param);
+  }
+
   public final PreparedStatement setNull() {
     return setNull(params.length);
   }
@@ -305,29 +496,78 @@ public final class PreparedStatement {
   public final PreparedStatement set(final int index, final Value<?> param) {
     if (index < 0)
       throw new IllegalArgumentException("PreparedStatement binding index can't be negative");
-    final Value<?>[] newParams;
-    if (index >= params.length) {
-      newParams = Arrays.copyOf(params, index + 1);
+    final int length = Math.max(params.length, index + 1);
+    final Value<?>[] newParams = Arrays.copyOf(params, length);
+    if (index > params.length)
       Arrays.fill(newParams, params.length, index, Value.NULL);
-    } else
-      newParams = Arrays.copyOf(params, params.length);
     newParams[index] = param;
-    return new PreparedStatement(query, newParams);
+    if (kinds == null)
+      return new PreparedStatement(query, newParams);
+    else {
+      final byte[] newKinds = Arrays.copyOf(kinds, length);
+      newKinds[index] = NONE;
+      return new PreparedStatement(query, newParams, newKinds,
+          Arrays.copyOf(primitives, length));
+    }
+  }
+
+  private static final String expandIn(final String query, final int index) {
+    final int placeholder = Placeholders.indexOf(query, index);
+    if (placeholder == -1)
+      return query;
+
+    final int open = skipWhitespaceBackward(query, placeholder - 1);
+    final int close = skipWhitespaceForward(query, placeholder + 1);
+    if (open < 0 || query.charAt(open) != '(' || close >= query.length()
+        || query.charAt(close) != ')')
+      return query;
+
+    final int inEnd = skipWhitespaceBackward(query, open - 1);
+    if (!isKeyword(query, inEnd, "IN"))
+      return query;
+
+    final int inStart = inEnd - 1;
+    final int notEnd = skipWhitespaceBackward(query, inStart - 1);
+    final boolean not = notEnd < inStart - 1 && isKeyword(query, notEnd, "NOT");
+    final int start = not ? notEnd - 2 : inStart;
+
+    return query.substring(0, start) + (not ? "<> ALL(?)" : "= ANY(?)")
+        + query.substring(close + 1);
+  }
+
+  private static final boolean isKeyword(final String query, final int end, final String keyword) {
+    final int start = end - keyword.length() + 1;
+    return start >= 0 && query.regionMatches(true, start, keyword, 0, keyword.length())
+        && (start == 0 || !Character.isJavaIdentifierPart(query.charAt(start - 1)));
+  }
+
+  private static final int skipWhitespaceBackward(final String query, final int from) {
+    int i = from;
+    while (i >= 0 && Character.isWhitespace(query.charAt(i)))
+      i--;
+    return i;
+  }
+
+  private static final int skipWhitespaceForward(final String query, final int from) {
+    int i = from;
+    while (i < query.length() && Character.isWhitespace(query.charAt(i)))
+      i++;
+    return i;
   }
 
   public final String query() {
     return query;
   }
 
-  public final List<Value<?>> params() {
-    return Collections.unmodifiableList(Arrays.asList(params));
+  public final Params params() {
+    return new Params(params, kinds, primitives);
   }
 
   @Override
   public int hashCode() {
     final int prime = 31;
     int result = 1;
-    result = prime * result + Arrays.hashCode(params);
+    result = prime * result + params().hashCode();
     result = prime * result + ((query == null) ? 0 : query.hashCode());
     return result;
   }
@@ -341,7 +581,7 @@ public final class PreparedStatement {
     if (getClass() != obj.getClass())
       return false;
     final PreparedStatement other = (PreparedStatement) obj;
-    if (!Arrays.equals(params, other.params))
+    if (!params().equals(other.params()))
       return false;
     if (query == null) {
       if (other.query != null)
@@ -350,4 +590,399 @@ public final class PreparedStatement {
       return false;
     return true;
   }
+
+  /**
+   * The parameters of a statement, read-only. The primitives bound by a
+   * `Builder` are kept unboxed: `get` boxes them on each call, so drivers read
+   * them with `isPrimitive`, `valueClass` and `primitive` instead.
+   */
+  public static final class Params extends AbstractList<Value<?>> implements RandomAccess {
+
+    private final Value<?>[] params;
+    private final byte[]     kinds;
+    private final long[]     primitives;
+
+    private Params(final Value<?>[] params, final byte[] kinds, final long[] primitives) {
+      super();
+      this.params = params;
+      this.kinds = kinds;
+      this.primitives = primitives;
+    }
+
+    @Override
+    public final int size() {
+      return params.length;
+    }
+
+    @Override
+    public final Value<?> get(final int index) {
+      if (!isPrimitive(index))
+        return params[index];
+      final long bits = primitives[index];
+      switch (kinds[index]) {
+        case INT:
+          return new IntegerValue((int) bits);
+        case LONG:
+          return new LongValue(bits);
+        case SHORT:
+          return new ShortValue((short) bits);
+        case DOUBLE:
+          return new DoubleValue(Double.longBitsToDouble(bits));
+        case FLOAT:
+          return new FloatValue(Float.intBitsToFloat((int) bits));
+        default:
+          return new BooleanValue(bits != 0);
+      }
+    }
+
+    public final boolean isPrimitive(final int index) {
+      return kinds != null && kinds[index] != NONE;
+    }
+
+    /**
+     * The class `get` returns for the parameter, without boxing it.
+     */
+    public final Class<?> valueClass(final int index) {
+      if (!isPrimitive(index))
+        return params[index].getClass();
+      switch (kinds[index]) {
+        case INT:
+          return IntegerValue.class;
+        case LONG:
+          return LongValue.class;
+        case SHORT:
+          return ShortValue.class;
+        case DOUBLE:
+          return DoubleValue.class;
+        case FLOAT:
+          return FloatValue.class;
+        default:
+          return BooleanValue.class;
+      }
+    }
+
+    /**
+     * The primitive at `index` widened to a `long`. Doubles and floats are
+     * their raw bits, as returned by `Double.doubleToRawLongBits` and
+     * `Float.floatToRawIntBits`, and booleans are 1 or 0.
+     */
+    public final long primitive(final int index) {
+      return primitives[index];
+    }
+  }
+
+  /**
+   * A mutable alternative to the `set*` methods, which copy all the parameters
+   * on each call. Parameters are appended to growable arrays and `build` copies
+   * them once, so binding many parameters is linear. The primitive setters,
+   * like `setInt(int)`, keep their values unboxed until the statement is
+   * encoded.
+   *
+   * The typed setters only append; positional parameters are bound with
+   * `set(int, Value)`. A builder isn't thread-safe; it can be reused after
+   * `clear`.
+   */
+  public static final class Builder {
+
+    private final String original;
+    private String       query;
+    private Value<?>[]   params = new Value<?>[8];
+    private byte[]       kinds;
+    private long[]       primitives;
+    private int          size;
+
+    private Builder(final String query) {
+      super();
+      this.original = query;
+      this.query = query;
+    }
+
+    public final Builder setBigDecimal(final BigDecimal value) {
+      return set(value == null ? Value.NULL : new BigDecimalValue(value));
+    }
+
+    public final Builder setBigDecimalArray(final BigDecimal[] value) {
+      return set(value == null ? Value.NULL : new BigDecimalArrayValue(value));
+    }
+
+    public final Builder setBoolean(final boolean value) {
+      return setPrimitive(BOOLEAN, value ? 1 : 0);
+    }
+
+    public final Builder setBoolean(final Boolean value) {
+      return set(value == null ? Value.NULL : new BooleanValue(value));
+    }
+
+    public final Builder setBooleanArray(final Boolean[] value) {
+      return set(value == null ? Value.NULL : new BooleanArrayValue(value));
+    }
+
+    public final Builder setByte(final Byte value) {
+      return set(value == null ? Value.NULL : new ByteValue(value));
+    }
+
+    public final Builder setByteArray(final byte[] value) {
+      return set(value == null ? Value.NULL : new ByteArrayValue(value));
+    }
+
+    public final Builder setByteArrayArray(final byte[][] value) {
+      return set(value == null ? Value.NULL : new ByteArrayArrayValue(value));
+    }
+
+    public final Builder setDouble(final double value) {
+      return setPrimitive(DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    public final Builder setDouble(final Double value) {
+      return set(value == null ? Value.NULL : new DoubleValue(value));
+    }
+
+    public final Builder setDoubleArray(final Double[] value) {
+      return set(value == null ? Value.NULL : new DoubleArrayValue(value));
+    }
+
+    public final Builder setPrimitiveDoubleArray(final double[] value) {
+      return set(value == null ? Value.NULL : new PrimitiveDoubleArrayValue(value));
+    }
+
+    public final Builder setFloat(final float value) {
+      return setPrimitive(FLOAT, Float.floatToRawIntBits(value));
+    }
+
+    public final Builder setFloat(final Float value) {
+      return set(value == null ? Value.NULL : new FloatValue(value));
+    }
+
+    public final Builder setFloatArray(final Float[] value) {
+      return set(value == null ? Value.NULL : new FloatArrayValue(value));
+    }
+
+    public final Builder setPrimitiveFloatArray(final float[] value) {
+      return set(value == null ? Value.NULL : new PrimitiveFloatArrayValue(value));
+    }
+
+    public final Builder setInt(final int value) {
+      return setPrimitive(INT, value);
+    }
+
+    public final Builder setInteger(final Integer value) {
+      return set(value == null ? Value.NULL : new IntegerValue(value));
+    }
+
+    public final Builder setIntegerArray(final Integer[] value) {
+      return set(value == null ? Value.NULL : new IntegerArrayValue(value));
+    }
+
+    public final Builder setPrimitiveIntArray(final int[] value) {
+      return set(value == null ? Value.NULL : new PrimitiveIntArrayValue(value));
+    }
+
+    /**
+     * Like `PreparedStatement.setJson`, binds the bytes without copying them.
+     */
+    public final Builder setJson(final ByteBuffer value) {
+      return set(value == null ? Value.NULL : new JsonValue(value));
+    }
+
+    public final Builder setJson(final byte[] value) {
+      return set(value == null ? Value.NULL : new JsonValue(value));
+    }
+
+    public final Builder setJsonb(final ByteBuffer value) {
+      return set(value == null ? Value.NULL : new JsonbValue(value));
+    }
+
+    public final Builder setJsonb(final byte[] value) {
+      return set(value == null ? Value.NULL : new JsonbValue(value));
+    }
+
+    public final Builder setLocalDate(final LocalDate value) {
+      return set(value == null ? Value.NULL : new LocalDateValue(value));
+    }
+
+    public final Builder setLocalDateArray(final LocalDate[] value) {
+      return set(value == null ? Value.NULL : new LocalDateArrayValue(value));
+    }
+
+    public final Builder setLocalDateTime(final LocalDateTime value) {
+      return set(value == null ? Value.NULL : new LocalDateTimeValue(value));
+    }
+
+    public final Builder setLocalDateTimeArray(final LocalDateTime[] value) {
+      return set(value == null ? Value.NULL : new LocalDateTimeArrayValue(value));
+    }
+
+    public final Builder setOffsetDateTime(final OffsetDateTime value) {
+      return set(value == null ? Value.NULL : new OffsetDateTimeValue(value));
+    }
+
+    public final Builder setOffsetDateTimeArray(final OffsetDateTime[] value) {
+      return set(value == null ? Value.NULL : new OffsetDateTimeArrayValue(value));
+    }
+
+    public final Builder setInstant(final Instant value) {
+      return set(
+          value == null ? Value.NULL : new OffsetDateTimeValue(value.atOffset(ZoneOffset.UTC)));
+    }
+
+    public final Builder setLocalTime(final LocalTime value) {
+      return set(value == null ? Value.NULL : new LocalTimeValue(value));
+    }
+
+    public final Builder setLocalTimeArray(final LocalTime[] value) {
+      return set(value == null ? Value.NULL : new LocalTimeArrayValue(value));
+    }
+
+    public final Builder setLong(final long value) {
+      return setPrimitive(LONG, value);
+    }
+
+    public final Builder setLong(final Long value) {
+      return set(value == null ? Value.NULL : new LongValue(value));
+    }
+
+    public final Builder setLongArray(final Long[] value) {
+      return set(value == null ? Value.NULL : new LongArrayValue(value));
+    }
+
+    public final Builder setPrimitiveLongArray(final long[] value) {
+      return set(value == null ? Value.NULL : new PrimitiveLongArrayValue(value));
+    }
+
+    public final Builder setOffsetTime(final OffsetTime value) {
+      return set(value == null ? Value.NULL : new OffsetTimeValue(value));
+    }
+
+    public final Builder setOffsetTimeArray(final OffsetTime[] value) {
+      return set(value == null ? Value.NULL : new OffsetTimeArrayValue(value));
+    }
+
+    public final Builder setShort(final short value) {
+      return setPrimitive(SHORT, value);
+    }
+
+    public final Builder setShort(final Short value) {
+      return set(value == null ? Value.NULL : new ShortValue(value));
+    }
+
+    public final Builder setShortArray(final Short[] value) {
+      return set(value == null ? Value.NULL : new ShortArrayValue(value));
+    }
+
+    public final Builder setString(final String value) {
+      return set(value == null ? Value.NULL : new StringValue(value));
+    }
+
+    public final Builder setStringArray(final String[] value) {
+      return set(value == null ? Value.NULL : new StringArrayValue(value));
+    }
+
+    public final Builder setUUID(final UUID value) {
+      return set(value == null ? Value.NULL : new UUIDValue(value));
+    }
+
+    public final Builder setUUIDArray(final UUID[] value) {
+      return set(value == null ? Value.NULL : new UUIDArrayValue(value));
+    }
+
+    /**
+     * Like `PreparedStatement.setIntegerIn`, rewrites `IN (?)` to `= ANY(?)`.
+     */
+    public final Builder setIntegerIn(final Collection<Integer> values) {
+      return setIn(
+          values == null ? Value.NULL : new IntegerArrayValue(values.toArray(new Integer[0])));
+    }
+
+    public final Builder setLongIn(final Collection<Long> values) {
+      return setIn(values == null ? Value.NULL : new LongArrayValue(values.toArray(new Long[0])));
+    }
+
+    public final Builder setStringIn(final Collection<String> values) {
+      return setIn(
+          values == null ? Value.NULL : new StringArrayValue(values.toArray(new String[0])));
+    }
+
+    public final Builder setUUIDIn(final Collection<UUID> values) {
+      return setIn(values == null ? Value.NULL : new UUIDArrayValue(values.toArray(new UUID[0])));
+    }
+
+    public final Builder setNull() {
+      return set(Value.NULL);
+    }
+
+    public final Builder set(final Value<?> param) {
+      return set(size, param);
+    }
+
+    public final Builder set(final int index, final Value<?> param) {
+      slot(index);
+      params[index] = param == null ? Value.NULL : param;
+      if (kinds != null)
+        kinds[index] = NONE;
+      return this;
+    }
+
+    public final int size() {
+      return size;
+    }
+
+    /**
+     * Removes the parameters and the `IN` rewrites, keeping the capacity for
+     * the next statement.
+     */
+    public final Builder clear() {
+      Arrays.fill(params, 0, size, null);
+      if (kinds != null)
+        Arrays.fill(kinds, 0, size, NONE);
+      size = 0;
+      query = original;
+      return this;
+    }
+
+    public final PreparedStatement build() {
+      if (size == 0)
+        return new PreparedStatement(query, emptyValues);
+      else if (kinds == null)
+        return new PreparedStatement(query, Arrays.copyOf(params, size));
+      else
+        return new PreparedStatement(query, Arrays.copyOf(params, size),
+            Arrays.copyOf(kinds, size), Arrays.copyOf(primitives, size));
+    }
+
+    private final Builder setPrimitive(final byte kind, final long bits) {
+      final int index = size;
+      slot(index);
+      if (kinds == null) {
+        kinds = new byte[params.length];
+        primitives = new long[params.length];
+      }
+      params[index] = null;
+      kinds[index] = kind;
+      primitives[index] = bits;
+      return this;
+    }
+
+    private final Builder setIn(final Value<?> param) {
+      query = expandIn(query, size);
+      return set(param);
+    }
+
+    // grows the arrays to fit `index`, binding null to the skipped slots
+    private final void slot(final int index) {
+      if (index < 0)
+        throw new IllegalArgumentException("PreparedStatement binding index can't be negative");
+      if (index >= params.length) {
+        final int capacity = Math.max(params.length * 2, index + 1);
+        params = Arrays.copyOf(params, capacity);
+        if (kinds != null) {
+          kinds = Arrays.copyOf(kinds, capacity);
+          primitives = Arrays.copyOf(primitives, capacity);
+        }
+      }
+      if (index >= size) {
+        Arrays.fill(params, size, index, Value.NULL);
+        size = index + 1;
+      }
+    }
+  }
 }
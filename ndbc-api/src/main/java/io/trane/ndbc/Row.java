@@ -4,31 +4,199 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 import io.trane.ndbc.value.Value;
 
 public final class Row {
 
+  /**
+   * Decodes the raw columns of a lazy row. `decode` consumes the column, while
+   * the primitive reads leave it untouched so they can be repeated.
+   */
+  public static interface Decoder {
+
+    Value<?> decode(int position);
+
+    boolean isNull(int position);
+
+    int decodeInt(int position);
+
+    long decodeLong(int position);
+
+    double decodeDouble(int position);
+
+    boolean decodeBoolean(int position);
+
+    long decodeEpochMicros(int position);
+
+    void release();
+  }
+
+  private static interface PrimitiveRead {
+
+    long read(Decoder decoder, int position);
+  }
+
+  private static final Decoder RELEASED = new Decoder() {
+
+    @Override
+    public final Value<?> decode(final int position) {
+      return released();
+    }
+
+    @Override
+    public final boolean isNull(final int position) {
+      return released();
+    }
+
+    @Override
+    public final int decodeInt(final int position) {
+      return released();
+    }
+
+    @Override
+    public final long decodeLong(final int position) {
+      return released();
+    }
+
+    @Override
+    public final double decodeDouble(final int position) {
+      return released();
+    }
+
+    @Override
+    public final boolean decodeBoolean(final int position) {
+      return released();
+    }
+
+    @Override
+    public final long decodeEpochMicros(final int position) {
+      return released();
+    }
+
+    @Override
+    public final void release() {
+    }
+
+    private final <T> T released() {
+      throw new IllegalStateException("Row released.");
+    }
+  };
+
+  private static final long[]        NONE_CONSUMED = new long[0];
+
   private final Map<String, Integer> positions;
   private final Value<?>[]           columns;
+  private final long[]               consumed;
+  private Decoder                    decoder;
+  private int                        pending;
 
   public static final Row apply(final Map<String, Integer> positions, final Value<?>[] columns) {
-    return new Row(positions, columns);
+    return new Row(positions, columns, NONE_CONSUMED, RELEASED, 0);
+  }
+
+  /**
+   * Creates a row that decodes each column on its first access and memoizes
+   * it. The decoder is released once all columns are read or when the row is
+   * released, whatever happens first. Columns read only through the primitive
+   * getters are decoded to values right before the release, so they can still
+   * be read afterwards.
+   */
+  public static final Row lazy(final Map<String, Integer> positions, final int length,
+      final Decoder decoder) {
+    return new Row(positions, new Value<?>[length], new long[(length + 63) >>> 6], decoder,
+        length);
   }
 
-  private Row(final Map<String, Integer> positions, final Value<?>[] columns) {
+  private Row(final Map<String, Integer> positions, final Value<?>[] columns,
+      final long[] consumed, final Decoder decoder, final int pending) {
     super();
     this.positions = positions;
     this.columns = columns;
+    this.consumed = consumed;
+    this.decoder = decoder;
+    this.pending = pending;
   }
 
   public final Value<?> column(final int columnPosition) {
-    return columns[columnPosition];
+    final Value<?> value = columns[columnPosition];
+    if (value != null)
+      return value;
+    else
+      return decode(columnPosition);
   }
 
   public final Value<?> column(final String columnName) {
-    return columns[positions.get(columnName)];
+    return column(position(columnName));
+  }
+
+  public final boolean isNull(final int columnPosition) {
+    final Value<?> value = columns[columnPosition];
+    if (value != null)
+      return value.isNull();
+    else
+      synchronized (this) {
+        return columns[columnPosition] == null ? decoder.isNull(columnPosition)
+            : columns[columnPosition].isNull();
+      }
+  }
+
+  public final boolean isNull(final String columnName) {
+    return isNull(position(columnName));
+  }
+
+  /**
+   * The primitive getters read lazy rows straight from the raw column, without
+   * boxing. They fail with a `NullPointerException` if the column is null.
+   */
+  public final int getInt(final int columnPosition) {
+    return (int) read(columnPosition, Value::getInteger, Decoder::decodeInt);
+  }
+
+  public final int getInt(final String columnName) {
+    return getInt(position(columnName));
+  }
+
+  public final long getLong(final int columnPosition) {
+    return read(columnPosition, Value::getLong, Decoder::decodeLong);
+  }
+
+  public final long getLong(final String columnName) {
+    return getLong(position(columnName));
+  }
+
+  public final double getDouble(final int columnPosition) {
+    return Double.longBitsToDouble(read(columnPosition,
+        v -> Double.doubleToRawLongBits(v.getDouble()),
+        (d, p) -> Double.doubleToRawLongBits(d.decodeDouble(p))));
+  }
+
+  public final double getDouble(final String columnName) {
+    return getDouble(position(columnName));
+  }
+
+  public final boolean getBoolean(final int columnPosition) {
+    return read(columnPosition, v -> v.getBoolean() ? 1 : 0,
+        (d, p) -> d.decodeBoolean(p) ? 1 : 0) != 0;
+  }
+
+  public final boolean getBoolean(final String columnName) {
+    return getBoolean(position(columnName));
+  }
+
+  /**
+   * Reads a `timestamp` or `timestamptz` column as microseconds since
+   * 1970-01-01T00:00Z, without creating a date-time object for lazy rows.
+   * `infinity` and `-infinity` read as `Long.MAX_VALUE` and `Long.MIN_VALUE`.
+   */
+  public final long getEpochMicros(final int columnPosition) {
+    return read(columnPosition, Value::getEpochMicros, Decoder::decodeEpochMicros);
+  }
+
+  public final long getEpochMicros(final String columnName) {
+    return getEpochMicros(position(columnName));
   }
 
   public final List<String> columnNames() {
@@ -38,6 +206,87 @@ public final class Row {
   }
 
   public final List<Value<?>> columns() {
+    for (int i = 0; i < columns.length; i++)
+      column(i);
     return Collections.unmodifiableList(Arrays.asList(columns));
   }
+
+  /**
+   * Releases the raw data held by a lazy row. Columns that weren't decoded
+   * before can't be read afterwards.
+   */
+  public final synchronized void release() {
+    if (pending > 0) {
+      pending = 0;
+      done();
+    }
+  }
+
+  private final int position(final String columnName) {
+    final Integer position = positions.get(columnName);
+    if (position == null)
+      throw new IllegalArgumentException("Invalid column name: " + columnName);
+    return position;
+  }
+
+  /**
+   * Reads a column as a primitive, carried in a `long`, from its memoized value
+   * or straight from the decoder.
+   */
+  private final long read(final int columnPosition, final ToLongFunction<Value<?>> fromValue,
+      final PrimitiveRead fromDecoder) {
+    final Value<?> value = columns[columnPosition];
+    if (value != null)
+      return fromValue.applyAsLong(nonNull(value, columnPosition));
+    else
+      synchronized (this) {
+        if (columns[columnPosition] != null)
+          return fromValue.applyAsLong(nonNull(columns[columnPosition], columnPosition));
+        nonNull(columnPosition);
+        final long result = fromDecoder.read(decoder, columnPosition);
+        consume(columnPosition);
+        return result;
+      }
+  }
+
+  private final Value<?> nonNull(final Value<?> value, final int columnPosition) {
+    if (value.isNull())
+      throw new NullPointerException("Column " + columnPosition + " is null.");
+    return value;
+  }
+
+  private final void nonNull(final int columnPosition) {
+    if (decoder.isNull(columnPosition))
+      throw new NullPointerException("Column " + columnPosition + " is null.");
+  }
+
+  private final synchronized Value<?> decode(final int columnPosition) {
+    Value<?> value = columns[columnPosition];
+    if (value == null) {
+      value = decoder.decode(columnPosition);
+      columns[columnPosition] = value;
+      consume(columnPosition);
+    }
+    return value;
+  }
+
+  // memoizes the columns read only as primitives before releasing the decoder
+  private final void consume(final int columnPosition) {
+    final long bit = 1L << columnPosition;
+    if ((consumed[columnPosition >>> 6] & bit) == 0) {
+      consumed[columnPosition >>> 6] |= bit;
+      if (--pending == 0) {
+        for (int i = 0; i < columns.length; i++)
+          if (columns[i] == null)
+            columns[i] = decoder.decode(i);
+        done();
+      }
+    }
+  }
+
+  private final void done() {
+    final Decoder d = decoder;
+    decoder = RELEASED;
+    d.release();
+  }
 }
@@ -1,5 +1,9 @@
 package io.trane.ndbc.value;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
 public final class ByteArrayValue extends Value<byte[]> {
 
   public ByteArrayValue(final byte[] value) {
@@ -10,4 +14,14 @@ public final class ByteArrayValue extends Value<byte[]> {
   public final byte[] getByteArray() {
     return get();
   }
+
+  @Override
+  public final ByteBuffer getByteBuffer() {
+    return ByteBuffer.wrap(get());
+  }
+
+  @Override
+  public final InputStream getInputStream() {
+    return new ByteArrayInputStream(get());
+  }
 }
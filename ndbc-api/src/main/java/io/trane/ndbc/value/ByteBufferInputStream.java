@@ -0,0 +1,48 @@
+package io.trane.ndbc.value;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a `ByteBuffer` without copying it. The buffer should be a private
+ * duplicate, since reading advances its position.
+ */
+final class ByteBufferInputStream extends InputStream {
+
+  private final ByteBuffer buf;
+
+  public ByteBufferInputStream(final ByteBuffer buf) {
+    super();
+    this.buf = buf;
+  }
+
+  @Override
+  public final int read() {
+    return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+  }
+
+  @Override
+  public final int read(final byte[] b, final int off, final int len) {
+    if (len == 0)
+      return 0;
+    else if (!buf.hasRemaining())
+      return -1;
+    else {
+      final int n = Math.min(len, buf.remaining());
+      buf.get(b, off, n);
+      return n;
+    }
+  }
+
+  @Override
+  public final long skip(final long n) {
+    final int skipped = (int) Math.max(0, Math.min(n, buf.remaining()));
+    buf.position(buf.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public final int available() {
+    return buf.remaining();
+  }
+}
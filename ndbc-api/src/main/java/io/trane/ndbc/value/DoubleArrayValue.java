@@ -10,4 +10,16 @@ public final class DoubleArrayValue extends Value<Double[]> {
   public final Double[] getDoubleArray() {
     return get();
   }
-}
\ No newline at end of file
+
+  @Override
+  public final double[] getPrimitiveDoubleArray() {
+    final Double[] value = get();
+    final double[] result = new double[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (value[i] == null)
+        throw new NullPointerException("Can't read an array with null elements as `double[]`");
+      else
+        result[i] = value[i];
+    return result;
+  }
+}
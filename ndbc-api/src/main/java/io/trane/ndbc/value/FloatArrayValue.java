@@ -10,4 +10,16 @@ public final class FloatArrayValue extends Value<Float[]> {
   public final Float[] getFloatArray() {
     return get();
   }
-}
\ No newline at end of file
+
+  @Override
+  public final float[] getPrimitiveFloatArray() {
+    final Float[] value = get();
+    final float[] result = new float[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (value[i] == null)
+        throw new NullPointerException("Can't read an array with null elements as `float[]`");
+      else
+        result[i] = value[i];
+    return result;
+  }
+}
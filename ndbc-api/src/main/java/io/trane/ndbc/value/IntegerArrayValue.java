@@ -10,4 +10,16 @@ public final class IntegerArrayValue extends Value<Integer[]> {
   public final Integer[] getIntegerArray() {
     return get();
   }
-}
\ No newline at end of file
+
+  @Override
+  public final int[] getPrimitiveIntArray() {
+    final Integer[] value = get();
+    final int[] result = new int[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (value[i] == null)
+        throw new NullPointerException("Can't read an array with null elements as `int[]`");
+      else
+        result[i] = value[i];
+    return result;
+  }
+}
@@ -0,0 +1,43 @@
+package io.trane.ndbc.value;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A `json` document kept as its UTF-8 bytes, so it can be handed to a JSON
+ * parser without decoding it into a `String` first.
+ */
+public final class JsonValue extends Value<ByteBuffer> {
+
+  public JsonValue(final ByteBuffer value) {
+    super(value.asReadOnlyBuffer());
+  }
+
+  public JsonValue(final byte[] value) {
+    this(ByteBuffer.wrap(value));
+  }
+
+  public JsonValue(final String value) {
+    this(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * A read-only view of the document. Each call returns an independent
+   * position.
+   */
+  @Override
+  public final ByteBuffer getByteBuffer() {
+    return get().duplicate();
+  }
+
+  @Override
+  public final InputStream getInputStream() {
+    return new ByteBufferInputStream(getByteBuffer());
+  }
+
+  @Override
+  public final String getString() {
+    return StandardCharsets.UTF_8.decode(getByteBuffer()).toString();
+  }
+}
@@ -0,0 +1,38 @@
+package io.trane.ndbc.value;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A `jsonb` document in its text form, read and written like `JsonValue`.
+ */
+public final class JsonbValue extends Value<ByteBuffer> {
+
+  public JsonbValue(final ByteBuffer value) {
+    super(value.asReadOnlyBuffer());
+  }
+
+  public JsonbValue(final byte[] value) {
+    this(ByteBuffer.wrap(value));
+  }
+
+  public JsonbValue(final String value) {
+    this(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public final ByteBuffer getByteBuffer() {
+    return get().duplicate();
+  }
+
+  @Override
+  public final InputStream getInputStream() {
+    return new ByteBufferInputStream(getByteBuffer());
+  }
+
+  @Override
+  public final String getString() {
+    return StandardCharsets.UTF_8.decode(getByteBuffer()).toString();
+  }
+}
@@ -3,6 +3,7 @@ package io.trane.ndbc.value;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 
 public final class LocalDateTimeValue extends Value<LocalDateTime> {
 
@@ -24,4 +25,20 @@ public final class LocalDateTimeValue extends Value<LocalDateTime> {
   public final LocalTime getLocalTime() {
     return get().toLocalTime();
   }
+
+  /**
+   * Interprets the timestamp as UTC, like Postgres does for `timestamp`
+   * columns. `LocalDateTime.MAX` and `MIN`, infinity, map to `Long.MAX_VALUE`
+   * and `Long.MIN_VALUE`.
+   */
+  @Override
+  public final long getEpochMicros() {
+    if (get().equals(LocalDateTime.MAX))
+      return Long.MAX_VALUE;
+    else if (get().equals(LocalDateTime.MIN))
+      return Long.MIN_VALUE;
+    else
+      return Math.addExact(Math.multiplyExact(get().toEpochSecond(ZoneOffset.UTC), 1000000L),
+          get().getNano() / 1000);
+  }
 }
@@ -10,4 +10,16 @@ public final class LongArrayValue extends Value<Long[]> {
   public final Long[] getLongArray() {
     return get();
   }
-}
\ No newline at end of file
+
+  @Override
+  public final long[] getPrimitiveLongArray() {
+    final Long[] value = get();
+    final long[] result = new long[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (value[i] == null)
+        throw new NullPointerException("Can't read an array with null elements as `long[]`");
+      else
+        result[i] = value[i];
+    return result;
+  }
+}
@@ -0,0 +1,15 @@
+package io.trane.ndbc.value;
+
+import java.time.OffsetDateTime;
+
+public final class OffsetDateTimeArrayValue extends Value<OffsetDateTime[]> {
+
+  public OffsetDateTimeArrayValue(final OffsetDateTime[] value) {
+    super(value);
+  }
+
+  @Override
+  public final OffsetDateTime[] getOffsetDateTimeArray() {
+    return get();
+  }
+}
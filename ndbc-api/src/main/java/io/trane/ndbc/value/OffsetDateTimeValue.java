@@ -0,0 +1,34 @@
+package io.trane.ndbc.value;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+public final class OffsetDateTimeValue extends Value<OffsetDateTime> {
+
+  public OffsetDateTimeValue(final OffsetDateTime value) {
+    super(value);
+  }
+
+  @Override
+  public final OffsetDateTime getOffsetDateTime() {
+    return get();
+  }
+
+  @Override
+  public final Instant getInstant() {
+    return get().toInstant();
+  }
+
+  @Override
+  public final long getEpochMicros() {
+    final LocalDateTime local = get().toLocalDateTime();
+    if (local.equals(LocalDateTime.MAX))
+      return Long.MAX_VALUE;
+    else if (local.equals(LocalDateTime.MIN))
+      return Long.MIN_VALUE;
+    else
+      return Math.addExact(Math.multiplyExact(get().toEpochSecond(), 1000000L),
+          get().getNano() / 1000);
+  }
+}
@@ -0,0 +1,51 @@
+package io.trane.ndbc.value;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+/**
+ * A primitive array. Null elements are tracked by a side bitmap and read as
+ * zero in the underlying array. Equality compares the elements and the nulls.
+ */
+public abstract class PrimitiveArrayValue<T> extends Value<T> {
+
+  private final Optional<BitSet> nulls;
+
+  public PrimitiveArrayValue(final T value, final Optional<BitSet> nulls) {
+    super(value);
+    this.nulls = nulls;
+  }
+
+  public final Optional<BitSet> nulls() {
+    return nulls;
+  }
+
+  protected final boolean isNull(final int index) {
+    return nulls.isPresent() && nulls.get().get(index);
+  }
+
+  protected final void nonNull(final String type) {
+    if (nulls.isPresent())
+      throw new NullPointerException("Can't read an array with null elements as `" + type + "`");
+  }
+
+  protected abstract int elementsHashCode(T value);
+
+  protected abstract boolean elementsEqual(T value, T other);
+
+  @Override
+  public final int hashCode() {
+    return 31 * elementsHashCode(get()) + nulls.hashCode();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public final boolean equals(final Object obj) {
+    if (this == obj)
+      return true;
+    if (obj == null || !getClass().isInstance(obj))
+      return false;
+    final PrimitiveArrayValue<T> other = (PrimitiveArrayValue<T>) obj;
+    return elementsEqual(get(), other.get()) && nulls.equals(other.nulls);
+  }
+}
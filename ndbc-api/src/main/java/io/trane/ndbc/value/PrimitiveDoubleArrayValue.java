@@ -0,0 +1,42 @@
+package io.trane.ndbc.value;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+public final class PrimitiveDoubleArrayValue extends PrimitiveArrayValue<double[]> {
+
+  public PrimitiveDoubleArrayValue(final double[] value) {
+    this(value, Optional.empty());
+  }
+
+  public PrimitiveDoubleArrayValue(final double[] value, final Optional<BitSet> nulls) {
+    super(value, nulls);
+  }
+
+  @Override
+  public final double[] getPrimitiveDoubleArray() {
+    nonNull("double[]");
+    return get();
+  }
+
+  @Override
+  public final Double[] getDoubleArray() {
+    final double[] value = get();
+    final Double[] result = new Double[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (!isNull(i))
+        result[i] = value[i];
+    return result;
+  }
+
+  @Override
+  protected final int elementsHashCode(final double[] value) {
+    return Arrays.hashCode(value);
+  }
+
+  @Override
+  protected final boolean elementsEqual(final double[] value, final double[] other) {
+    return Arrays.equals(value, other);
+  }
+}
@@ -0,0 +1,42 @@
+package io.trane.ndbc.value;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+public final class PrimitiveFloatArrayValue extends PrimitiveArrayValue<float[]> {
+
+  public PrimitiveFloatArrayValue(final float[] value) {
+    this(value, Optional.empty());
+  }
+
+  public PrimitiveFloatArrayValue(final float[] value, final Optional<BitSet> nulls) {
+    super(value, nulls);
+  }
+
+  @Override
+  public final float[] getPrimitiveFloatArray() {
+    nonNull("float[]");
+    return get();
+  }
+
+  @Override
+  public final Float[] getFloatArray() {
+    final float[] value = get();
+    final Float[] result = new Float[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (!isNull(i))
+        result[i] = value[i];
+    return result;
+  }
+
+  @Override
+  protected final int elementsHashCode(final float[] value) {
+    return Arrays.hashCode(value);
+  }
+
+  @Override
+  protected final boolean elementsEqual(final float[] value, final float[] other) {
+    return Arrays.equals(value, other);
+  }
+}
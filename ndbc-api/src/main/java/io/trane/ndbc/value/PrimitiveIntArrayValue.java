@@ -0,0 +1,42 @@
+package io.trane.ndbc.value;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+public final class PrimitiveIntArrayValue extends PrimitiveArrayValue<int[]> {
+
+  public PrimitiveIntArrayValue(final int[] value) {
+    this(value, Optional.empty());
+  }
+
+  public PrimitiveIntArrayValue(final int[] value, final Optional<BitSet> nulls) {
+    super(value, nulls);
+  }
+
+  @Override
+  public final int[] getPrimitiveIntArray() {
+    nonNull("int[]");
+    return get();
+  }
+
+  @Override
+  public final Integer[] getIntegerArray() {
+    final int[] value = get();
+    final Integer[] result = new Integer[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (!isNull(i))
+        result[i] = value[i];
+    return result;
+  }
+
+  @Override
+  protected final int elementsHashCode(final int[] value) {
+    return Arrays.hashCode(value);
+  }
+
+  @Override
+  protected final boolean elementsEqual(final int[] value, final int[] other) {
+    return Arrays.equals(value, other);
+  }
+}
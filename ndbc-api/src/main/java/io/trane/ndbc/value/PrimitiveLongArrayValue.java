@@ -0,0 +1,42 @@
+package io.trane.ndbc.value;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Optional;
+
+public final class PrimitiveLongArrayValue extends PrimitiveArrayValue<long[]> {
+
+  public PrimitiveLongArrayValue(final long[] value) {
+    this(value, Optional.empty());
+  }
+
+  public PrimitiveLongArrayValue(final long[] value, final Optional<BitSet> nulls) {
+    super(value, nulls);
+  }
+
+  @Override
+  public final long[] getPrimitiveLongArray() {
+    nonNull("long[]");
+    return get();
+  }
+
+  @Override
+  public final Long[] getLongArray() {
+    final long[] value = get();
+    final Long[] result = new Long[value.length];
+    for (int i = 0; i < value.length; i++)
+      if (!isNull(i))
+        result[i] = value[i];
+    return result;
+  }
+
+  @Override
+  protected final int elementsHashCode(final long[] value) {
+    return Arrays.hashCode(value);
+  }
+
+  @Override
+  protected final boolean elementsEqual(final long[] value, final long[] other) {
+    return Arrays.equals(value, other);
+  }
+}
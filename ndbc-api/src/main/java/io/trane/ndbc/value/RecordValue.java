@@ -0,0 +1,18 @@
+package io.trane.ndbc.value;
+
+import io.trane.ndbc.Row;
+
+/**
+ * A composite type value. Its fields are accessed like the columns of a row.
+ */
+public final class RecordValue extends Value<Row> {
+
+  public RecordValue(final Row value) {
+    super(value);
+  }
+
+  @Override
+  public final Row getRecord() {
+    return get();
+  }
+}
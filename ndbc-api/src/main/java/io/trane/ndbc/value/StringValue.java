@@ -9,4 +9,9 @@ public final class StringValue extends Value<String> {
   public final String getString() {
     return get();
   }
+
+  @Override
+  public final <E extends Enum<E>> E getEnum(final Class<E> cls) {
+    return Enum.valueOf(cls, get());
+  }
 }
@@ -1,12 +1,18 @@
 package io.trane.ndbc.value;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.UUID;
 
+import io.trane.ndbc.Row;
+
 public abstract class Value<T> {
 
   public static final NullValue NULL = new NullValue();
@@ -54,6 +60,10 @@ public abstract class Value<T> {
     return cantRead("Integer[]");
   }
 
+  public int[] getPrimitiveIntArray() {
+    return cantRead("int[]");
+  }
+
   public Boolean getBoolean() {
     return cantRead("Boolean");
   }
@@ -69,6 +79,10 @@ public abstract class Value<T> {
   public Long[] getLongArray() {
     return cantRead("Long[]");
   }
+
+  public long[] getPrimitiveLongArray() {
+    return cantRead("long[]");
+  }
   
   public Byte getByte() {
     return cantRead("Byte");
@@ -97,6 +111,10 @@ public abstract class Value<T> {
   public Float[] getFloatArray() {
     return cantRead("Float[]");
   }
+
+  public float[] getPrimitiveFloatArray() {
+    return cantRead("float[]");
+  }
   
   public Double getDouble() {
     return cantRead("Double");
@@ -106,6 +124,10 @@ public abstract class Value<T> {
     return cantRead("Double[]");
   }
 
+  public double[] getPrimitiveDoubleArray() {
+    return cantRead("double[]");
+  }
+
   public LocalDateTime getLocalDateTime() {
     return cantRead("LocalDateTime");
   }
@@ -114,6 +136,25 @@ public abstract class Value<T> {
     return cantRead("LocalDateTime[]");
   }
 
+  public OffsetDateTime getOffsetDateTime() {
+    return cantRead("OffsetDateTime");
+  }
+
+  public OffsetDateTime[] getOffsetDateTimeArray() {
+    return cantRead("OffsetDateTime[]");
+  }
+
+  public Instant getInstant() {
+    return cantRead("Instant");
+  }
+
+  /**
+   * Microseconds since 1970-01-01T00:00Z.
+   */
+  public long getEpochMicros() {
+    return cantRead("epoch micros");
+  }
+
   public byte[] getByteArray() {
     return cantRead("byte[]");
   }
@@ -122,6 +163,14 @@ public abstract class Value<T> {
     return cantRead("byte[][]");
   }
 
+  public ByteBuffer getByteBuffer() {
+    return cantRead("ByteBuffer");
+  }
+
+  public InputStream getInputStream() {
+    return cantRead("InputStream");
+  }
+
   public LocalDate getLocalDate() {
     return cantRead("LocalDate");
   }
@@ -154,12 +203,20 @@ public abstract class Value<T> {
     return cantRead("UUID[]");
   }
 
+  public Row getRecord() {
+    return cantRead("Row");
+  }
+
+  public <E extends Enum<E>> E getEnum(final Class<E> cls) {
+    return cantRead(cls.getSimpleName());
+  }
+
   private final <U> U cantRead(final String type) {
     throw new UnsupportedOperationException("Can't read `" + this + "` as `" + type + "`");
   }
 
   @Override
-  public final int hashCode() {
+  public int hashCode() {
     final int prime = 31;
     int result = 1;
     result = prime * result + (value == null ? 0 : value.hashCode());
@@ -167,7 +224,7 @@ public abstract class Value<T> {
   }
 
   @Override
-  public final boolean equals(final Object obj) {
+  public boolean equals(final Object obj) {
     if (this == obj)
       return true;
     if (obj == null)
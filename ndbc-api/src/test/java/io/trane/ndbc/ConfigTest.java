@@ -10,8 +10,10 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
@@ -21,6 +23,7 @@ import org.junit.Test;
 
 import io.trane.ndbc.Config.SSL;
 import io.trane.ndbc.Config.SSL.Mode;
+import io.trane.ndbc.Config.Transport;
 
 public class ConfigTest {
 
@@ -52,6 +55,16 @@ public class ConfigTest {
     assertFalse(c.poolValidationInterval().isPresent());
     assertFalse(c.encodingClasses().isPresent());
     assertFalse(c.nioThreads().isPresent());
+    assertFalse(c.warmupStatements().isPresent());
+    assertFalse(c.wireTracerClass().isPresent());
+    assertFalse(c.transport().isPresent());
+    assertFalse(c.unixSocket().isPresent());
+    assertFalse(c.writeBufferHighWaterMark().isPresent());
+    assertFalse(c.writeBufferLowWaterMark().isPresent());
+    assertFalse(c.connectTimeout().isPresent());
+    assertFalse(c.lazyRows().isPresent());
+    assertFalse(c.stringCacheSize().isPresent());
+    assertFalse(c.discoverTypes().isPresent());
   }
 
   @Test
@@ -266,6 +279,219 @@ public class ConfigTest {
     assertEquals(Optional.of(ssl), c.ssl(Optional.of(ssl)).ssl());
   }
 
+  @Test
+  public void sslProvider() {
+    final SSL ssl = Config.SSL.apply(Mode.REQUIRE);
+    assertEquals(SSL.Provider.JDK, ssl.provider());
+    assertEquals(SSL.Provider.OPENSSL, ssl.provider(SSL.Provider.OPENSSL).provider());
+    assertFalse(ssl.equals(ssl.provider(SSL.Provider.OPENSSL)));
+  }
+
+  @Test
+  public void connectTimeout() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final Duration connectTimeout = Duration.ofSeconds(3);
+    assertEquals(Optional.of(connectTimeout), c.connectTimeout(connectTimeout).connectTimeout());
+  }
+
+  @Test
+  public void connectTimeoutOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.connectTimeout(Optional.empty()).connectTimeout().isPresent());
+  }
+
+  @Test
+  public void connectTimeoutOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final Duration connectTimeout = Duration.ofSeconds(3);
+    assertEquals(Optional.of(connectTimeout),
+        c.connectTimeout(Optional.of(connectTimeout)).connectTimeout());
+  }
+
+  @Test
+  public void lazyRows() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(true), c.lazyRows(true).lazyRows());
+  }
+
+  @Test
+  public void lazyRowsOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.lazyRows(Optional.empty()).lazyRows().isPresent());
+  }
+
+  @Test
+  public void lazyRowsOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(true), c.lazyRows(Optional.of(true)).lazyRows());
+  }
+
+  @Test
+  public void stringCacheSize() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(1024), c.stringCacheSize(1024).stringCacheSize());
+  }
+
+  @Test
+  public void stringCacheSizeOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.stringCacheSize(Optional.empty()).stringCacheSize().isPresent());
+  }
+
+  @Test
+  public void stringCacheSizeOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(1024), c.stringCacheSize(Optional.of(1024)).stringCacheSize());
+  }
+
+  @Test
+  public void discoverTypes() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(true), c.discoverTypes(true).discoverTypes());
+  }
+
+  @Test
+  public void discoverTypesOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.discoverTypes(Optional.empty()).discoverTypes().isPresent());
+  }
+
+  @Test
+  public void discoverTypesOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(true), c.discoverTypes(Optional.of(true)).discoverTypes());
+  }
+
+  @Test
+  public void warmupStatements() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final List<PreparedStatement> warmupStatements = Arrays
+        .asList(PreparedStatement.apply("SELECT 1"));
+    assertEquals(Optional.of(warmupStatements),
+        c.warmupStatements(warmupStatements).warmupStatements());
+  }
+
+  @Test
+  public void warmupStatementsOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.warmupStatements(Optional.empty()).warmupStatements().isPresent());
+  }
+
+  @Test
+  public void warmupStatementsOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final List<PreparedStatement> warmupStatements = Arrays
+        .asList(PreparedStatement.apply("SELECT 1"));
+    assertEquals(Optional.of(warmupStatements),
+        c.warmupStatements(Optional.of(warmupStatements)).warmupStatements());
+  }
+
+  @Test
+  public void addWarmupStatement() {
+    final PreparedStatement previous = PreparedStatement.apply("SELECT 1");
+    final PreparedStatement ps = PreparedStatement.apply("SELECT ?").setInteger(1);
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user)
+        .addWarmupStatement(previous).addWarmupStatement(ps);
+    assertEquals(Optional.of(Arrays.asList(previous, ps)), c.warmupStatements());
+  }
+
+  @Test
+  public void wireTracerClass() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final String wireTracerClass = "some.Class";
+    assertEquals(Optional.of(wireTracerClass),
+        c.wireTracerClass(wireTracerClass).wireTracerClass());
+  }
+
+  @Test
+  public void wireTracerClassOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.wireTracerClass(Optional.empty()).wireTracerClass().isPresent());
+  }
+
+  @Test
+  public void wireTracerClassOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final String wireTracerClass = "some.Class";
+    assertEquals(Optional.of(wireTracerClass),
+        c.wireTracerClass(Optional.of(wireTracerClass)).wireTracerClass());
+  }
+
+  @Test
+  public void transport() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(Transport.EPOLL), c.transport(Transport.EPOLL).transport());
+  }
+
+  @Test
+  public void transportOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.transport(Optional.empty()).transport().isPresent());
+  }
+
+  @Test
+  public void transportOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(Transport.NIO),
+        c.transport(Optional.of(Transport.NIO)).transport());
+  }
+
+  @Test
+  public void unixSocket() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final String unixSocket = "/var/run/postgresql";
+    assertEquals(Optional.of(unixSocket), c.unixSocket(unixSocket).unixSocket());
+  }
+
+  @Test
+  public void unixSocketOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.unixSocket(Optional.empty()).unixSocket().isPresent());
+  }
+
+  @Test
+  public void unixSocketOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    final String unixSocket = "/var/run/postgresql";
+    assertEquals(Optional.of(unixSocket), c.unixSocket(Optional.of(unixSocket)).unixSocket());
+  }
+
+  @Test
+  public void writeBufferHighWaterMark() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(1024), c.writeBufferHighWaterMark(1024).writeBufferHighWaterMark());
+  }
+
+  @Test
+  public void writeBufferHighWaterMarkOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.writeBufferHighWaterMark(Optional.empty()).writeBufferHighWaterMark().isPresent());
+  }
+
+  @Test
+  public void writeBufferHighWaterMarkOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(1024), c.writeBufferHighWaterMark(Optional.of(1024)).writeBufferHighWaterMark());
+  }
+
+  @Test
+  public void writeBufferLowWaterMark() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(1024), c.writeBufferLowWaterMark(1024).writeBufferLowWaterMark());
+  }
+
+  @Test
+  public void writeBufferLowWaterMarkOptionalEmpty() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertFalse(c.writeBufferLowWaterMark(Optional.empty()).writeBufferLowWaterMark().isPresent());
+  }
+
+  @Test
+  public void writeBufferLowWaterMarkOptionalPresent() {
+    final Config c = Config.apply(dataSourceSupplierClass, host, port, user);
+    assertEquals(Optional.of(1024), c.writeBufferLowWaterMark(Optional.of(1024)).writeBufferLowWaterMark());
+  }
+
   @Test
   public void fromProperties() {
     final Properties p = new Properties();
@@ -466,6 +692,20 @@ public class ConfigTest {
     assertEquals(c.ssl(), Optional.of(SSL.apply(mode, new File(rootCert))));
   }
 
+  @Test
+  public void fromPropertiesSSLProvider() {
+    final Mode mode = Mode.REQUIRE;
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.ssl.mode", mode.toString());
+    p.setProperty("db.ssl.provider", "OPENSSL");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.ssl(), Optional.of(SSL.apply(mode).provider(SSL.Provider.OPENSSL)));
+  }
+
   @Test
   public void fromPropertiesFile() throws FileNotFoundException, IOException {
     final Properties p = new Properties();
@@ -513,4 +753,102 @@ public class ConfigTest {
     assertFalse(c.encodingClasses().isPresent());
     assertFalse(c.nioThreads().isPresent());
   }
+
+  @Test
+  public void fromPropertiesWireTracerClass() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.wireTracerClass", "some.Class");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.wireTracerClass(), Optional.of("some.Class"));
+  }
+
+  @Test
+  public void fromPropertiesTransport() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.transport", "EPOLL");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.transport(), Optional.of(Transport.EPOLL));
+  }
+
+  @Test
+  public void fromPropertiesUnixSocket() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.unixSocket", "/var/run/postgresql");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.unixSocket(), Optional.of("/var/run/postgresql"));
+  }
+
+  @Test
+  public void fromPropertiesWriteBufferWaterMarks() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.writeBufferHighWaterMark", "2048");
+    p.setProperty("db.writeBufferLowWaterMark", "1024");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.writeBufferHighWaterMark(), Optional.of(2048));
+    assertEquals(c.writeBufferLowWaterMark(), Optional.of(1024));
+  }
+
+  @Test
+  public void fromPropertiesConnectTimeout() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.connectTimeoutMillis", "1500");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.connectTimeout(), Optional.of(Duration.ofMillis(1500)));
+  }
+
+  @Test
+  public void fromPropertiesLazyRows() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.lazyRows", "true");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.lazyRows(), Optional.of(true));
+  }
+
+  @Test
+  public void fromPropertiesStringCacheSize() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.stringCacheSize", "1024");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.stringCacheSize(), Optional.of(1024));
+  }
+
+  @Test
+  public void fromPropertiesDiscoverTypes() {
+    final Properties p = new Properties();
+    p.setProperty("db.dataSourceSupplierClass", dataSourceSupplierClass);
+    p.setProperty("db.host", host);
+    p.setProperty("db.port", Integer.toString(port));
+    p.setProperty("db.user", user);
+    p.setProperty("db.discoverTypes", "true");
+    final Config c = Config.fromProperties("db", p);
+    assertEquals(c.discoverTypes(), Optional.of(true));
+  }
 }
@@ -0,0 +1,73 @@
+package io.trane.ndbc;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class PlaceholdersTest {
+
+  @Test
+  public void positional() {
+    assertEquals("SELECT * FROM t WHERE a = $1 AND b = $2",
+        Placeholders.positional("SELECT * FROM t WHERE a = ? AND b = ?"));
+  }
+
+  @Test
+  public void positionalNoPlaceholders() {
+    assertEquals("SELECT 1", Placeholders.positional("SELECT 1"));
+  }
+
+  @Test
+  public void positionalSkipsLiteral() {
+    assertEquals("SELECT '?', 'it''s ?' WHERE a = $1",
+        Placeholders.positional("SELECT '?', 'it''s ?' WHERE a = ?"));
+  }
+
+  @Test
+  public void positionalSkipsEscapeString() {
+    assertEquals("SELECT E'\\' ?' WHERE a = $1",
+        Placeholders.positional("SELECT E'\\' ?' WHERE a = ?"));
+  }
+
+  @Test
+  public void positionalBackslashInStandardLiteral() {
+    assertEquals("SELECT '\\' WHERE a = $1", Placeholders.positional("SELECT '\\' WHERE a = ?"));
+  }
+
+  @Test
+  public void positionalSkipsQuotedIdentifier() {
+    assertEquals("SELECT \"a?\" FROM t WHERE a = $1",
+        Placeholders.positional("SELECT \"a?\" FROM t WHERE a = ?"));
+  }
+
+  @Test
+  public void positionalSkipsLineComment() {
+    assertEquals("SELECT 1 -- a ?\nWHERE a = $1",
+        Placeholders.positional("SELECT 1 -- a ?\nWHERE a = ?"));
+  }
+
+  @Test
+  public void positionalSkipsNestedBlockComment() {
+    assertEquals("SELECT /* a /* ? */ ? */ $1",
+        Placeholders.positional("SELECT /* a /* ? */ ? */ ?"));
+  }
+
+  @Test
+  public void positionalSkipsDollarQuoted() {
+    assertEquals("SELECT $$?$$, $x$ ? $$ ? $x$, $1",
+        Placeholders.positional("SELECT $$?$$, $x$ ? $$ ? $x$, ?"));
+  }
+
+  @Test
+  public void positionalUnterminated() {
+    assertEquals("SELECT $1, '?", Placeholders.positional("SELECT ?, '?"));
+  }
+
+  @Test
+  public void indexOf() {
+    final String query = "SELECT '?' WHERE a = ? /* ? */ AND b = ?";
+    assertEquals(21, Placeholders.indexOf(query, 0));
+    assertEquals(39, Placeholders.indexOf(query, 1));
+    assertEquals(-1, Placeholders.indexOf(query, 2));
+  }
+}
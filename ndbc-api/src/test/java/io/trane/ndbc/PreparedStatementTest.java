@@ -1,14 +1,22 @@
 package io.trane.ndbc;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
 import java.time.OffsetTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.UUID;
 
 import org.junit.Test;
 
@@ -17,14 +25,22 @@ import io.trane.ndbc.value.BooleanValue;
 import io.trane.ndbc.value.ByteArrayValue;
 import io.trane.ndbc.value.DoubleValue;
 import io.trane.ndbc.value.FloatValue;
+import io.trane.ndbc.value.IntegerArrayValue;
 import io.trane.ndbc.value.IntegerValue;
+import io.trane.ndbc.value.JsonValue;
+import io.trane.ndbc.value.JsonbValue;
 import io.trane.ndbc.value.LocalDateTimeValue;
 import io.trane.ndbc.value.LocalDateValue;
 import io.trane.ndbc.value.LocalTimeValue;
+import io.trane.ndbc.value.LongArrayValue;
 import io.trane.ndbc.value.LongValue;
+import io.trane.ndbc.value.OffsetDateTimeValue;
 import io.trane.ndbc.value.OffsetTimeValue;
 import io.trane.ndbc.value.ShortValue;
+import io.trane.ndbc.value.StringArrayValue;
 import io.trane.ndbc.value.StringValue;
+import io.trane.ndbc.value.UUIDArrayValue;
+import io.trane.ndbc.value.UUIDValue;
 import io.trane.ndbc.value.Value;
 
 public class PreparedStatementTest {
@@ -267,6 +283,60 @@ public class PreparedStatementTest {
     assertFalse(it.hasNext());
   }
 
+  @Test
+  public void setJson() {
+    final ByteBuffer value = ByteBuffer.wrap("{}".getBytes());
+    final Iterator<Value<?>> it = ps.setJson(value).params().iterator();
+    assertEquals(new JsonValue(value), it.next());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void setJsonbPositional() {
+    final byte[] value = "[]".getBytes();
+    final Iterator<Value<?>> it = ps.setJsonb(0, value).params().iterator();
+    assertEquals(new JsonbValue(value), it.next());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void setJsonNull() {
+    final Iterator<Value<?>> it = ps.setJson((byte[]) null).params().iterator();
+    assertEquals(Value.NULL, it.next());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void setOffsetDateTime() {
+    final OffsetDateTime value = OffsetDateTime.now();
+    final Iterator<Value<?>> it = ps.setOffsetDateTime(value).params().iterator();
+    assertEquals(new OffsetDateTimeValue(value), it.next());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void setOffsetDateTimePositional() {
+    final OffsetDateTime value = OffsetDateTime.now();
+    final Iterator<Value<?>> it = ps.setOffsetDateTime(0, value).params().iterator();
+    assertEquals(new OffsetDateTimeValue(value), it.next());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void setOffsetDateTimeNull() {
+    final Iterator<Value<?>> it = ps.setOffsetDateTime(null).params().iterator();
+    assertEquals(Value.NULL, it.next());
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void setInstant() {
+    final Instant value = Instant.now();
+    final Iterator<Value<?>> it = ps.setInstant(value).params().iterator();
+    assertEquals(new OffsetDateTimeValue(value.atOffset(ZoneOffset.UTC)), it.next());
+    assertFalse(it.hasNext());
+  }
+
   @Test
   public void setOffsetTime() {
     final OffsetTime value = OffsetTime.now();
@@ -420,4 +490,211 @@ public class PreparedStatementTest {
     assertEquals(Value.NULL, it.next());
     assertFalse(it.hasNext());
   }
+
+  @Test
+  public void setIntegerIn() {
+    final PreparedStatement ps = PreparedStatement.apply("SELECT * FROM t WHERE id IN (?)")
+        .setIntegerIn(Arrays.asList(1, 2, 3));
+    assertEquals("SELECT * FROM t WHERE id = ANY(?)", ps.query());
+    assertEquals(1, ps.params().size());
+    assertArrayEquals(new Integer[] { 1, 2, 3 }, ps.params().get(0).getIntegerArray());
+    assertEquals(IntegerArrayValue.class, ps.params().get(0).getClass());
+  }
+
+  @Test
+  public void setLongIn() {
+    final PreparedStatement ps = PreparedStatement.apply("SELECT * FROM t WHERE id in(?)")
+        .setLongIn(Arrays.asList(1L, 2L));
+    assertEquals("SELECT * FROM t WHERE id = ANY(?)", ps.query());
+    assertArrayEquals(new Long[] { 1L, 2L }, ps.params().get(0).getLongArray());
+    assertEquals(LongArrayValue.class, ps.params().get(0).getClass());
+  }
+
+  @Test
+  public void setStringInNotIn() {
+    final PreparedStatement ps = PreparedStatement.apply("SELECT * FROM t WHERE s NOT IN ( ? )")
+        .setStringIn(Arrays.asList("a", "b"));
+    assertEquals("SELECT * FROM t WHERE s <> ALL(?)", ps.query());
+    assertArrayEquals(new String[] { "a", "b" }, ps.params().get(0).getStringArray());
+    assertEquals(StringArrayValue.class, ps.params().get(0).getClass());
+  }
+
+  @Test
+  public void setUUIDInPositional() {
+    final UUID uuid = UUID.randomUUID();
+    final PreparedStatement ps = PreparedStatement
+        .apply("SELECT * FROM t WHERE a = ? AND id IN (?) AND b IN (?)")
+        .setUUIDIn(1, Arrays.asList(uuid));
+    assertEquals("SELECT * FROM t WHERE a = ? AND id = ANY(?) AND b IN (?)", ps.query());
+    assertEquals(Value.NULL, ps.params().get(0));
+    assertArrayEquals(new UUID[] { uuid }, ps.params().get(1).getUUIDArray());
+    assertEquals(UUIDArrayValue.class, ps.params().get(1).getClass());
+  }
+
+  @Test
+  public void setIntegerInSkipsLiteral() {
+    final PreparedStatement ps = PreparedStatement
+        .apply("SELECT * FROM t WHERE a = '?' AND id IN (?)").setIntegerIn(0, Arrays.asList(1));
+    assertEquals("SELECT * FROM t WHERE a = '?' AND id = ANY(?)", ps.query());
+  }
+
+  @Test
+  public void setIntegerInSkipsComment() {
+    final PreparedStatement ps = PreparedStatement
+        .apply("SELECT * FROM t /* b IN (?) */ WHERE id IN (?)")
+        .setIntegerIn(0, Arrays.asList(1));
+    assertEquals("SELECT * FROM t /* b IN (?) */ WHERE id = ANY(?)", ps.query());
+  }
+
+  @Test
+  public void setIntegerInAny() {
+    final String query = "SELECT * FROM t WHERE id = ANY(?)";
+    final PreparedStatement ps = PreparedStatement.apply(query)
+        .setIntegerIn(Arrays.asList(1, 2));
+    assertEquals(query, ps.query());
+  }
+
+  @Test
+  public void setIntegerInNotAnInList() {
+    final String query = "SELECT * FROM t WHERE id = (?)";
+    assertEquals(query, PreparedStatement.apply(query).setIntegerIn(Arrays.asList(1)).query());
+  }
+
+  @Test
+  public void setIntegerInNull() {
+    final PreparedStatement ps = PreparedStatement.apply("SELECT * FROM t WHERE id IN (?)")
+        .setIntegerIn(null);
+    assertEquals("SELECT * FROM t WHERE id = ANY(?)", ps.query());
+    assertEquals(Value.NULL, ps.params().get(0));
+  }
+
+  @Test
+  public void applyParams() {
+    final Value<?>[] params = { new IntegerValue(1), null, new StringValue("a") };
+    final PreparedStatement ps = PreparedStatement.apply(query, params);
+    params[0] = Value.NULL;
+    assertEquals(Arrays.asList(new IntegerValue(1), Value.NULL, new StringValue("a")),
+        ps.params());
+  }
+
+  @Test
+  public void builder() {
+    final UUID uuid = UUID.randomUUID();
+    final PreparedStatement ps = PreparedStatement.builder(query).setInteger(1).setString(null)
+        .setUUID(uuid).setLong(2L).build();
+    assertEquals(query, ps.query());
+    assertEquals(Arrays.asList(new IntegerValue(1), Value.NULL, new UUIDValue(uuid),
+        new LongValue(2L)), ps.params());
+  }
+
+  @Test
+  public void builderEqualsSetters() {
+    final PreparedStatement.Builder b = PreparedStatement.builder(query);
+    PreparedStatement expected = ps;
+    for (int i = 0; i < 100; i++) {
+      b.setInteger(i);
+      expected = expected.setInteger(i);
+    }
+    assertEquals(100, b.size());
+    assertEquals(expected, b.build());
+  }
+
+  @Test
+  public void builderPositional() {
+    final PreparedStatement ps = PreparedStatement.builder(query).set(20, new IntegerValue(1))
+        .setBoolean(true).set(0, new StringValue("a")).build();
+    assertEquals(22, ps.params().size());
+    assertEquals(new StringValue("a"), ps.params().get(0));
+    assertEquals(Value.NULL, ps.params().get(1));
+    assertEquals(new IntegerValue(1), ps.params().get(20));
+    assertEquals(new BooleanValue(true), ps.params().get(21));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builderNegativeIndex() {
+    PreparedStatement.builder(query).set(-1, Value.NULL);
+  }
+
+  @Test
+  public void builderReuse() {
+    final PreparedStatement.Builder b = PreparedStatement.builder(query).setInteger(1);
+    final PreparedStatement first = b.build();
+    b.setInteger(2);
+    assertEquals(1, first.params().size());
+    b.clear().setString("a");
+    assertEquals(Arrays.asList(new StringValue("a")), b.build().params());
+  }
+
+  @Test
+  public void builderEmpty() {
+    assertEquals(ps, PreparedStatement.builder(query).build());
+  }
+
+  @Test
+  public void builderPrimitives() {
+    final PreparedStatement.Params params = PreparedStatement.builder(query).setInt(1)
+        .setLong(2L).setShort((short) 3).setDouble(4.5D).setFloat(5.5F).setBoolean(true)
+        .setString("a").build().params();
+    assertEquals(Arrays.asList(new IntegerValue(1), new LongValue(2L), new ShortValue((short) 3),
+        new DoubleValue(4.5D), new FloatValue(5.5F), new BooleanValue(true), new StringValue("a")),
+        params);
+    assertTrue(params.isPrimitive(0));
+    assertEquals(1L, params.primitive(0));
+    assertEquals(Double.doubleToRawLongBits(4.5D), params.primitive(3));
+    assertEquals(Float.floatToRawIntBits(5.5F), params.primitive(4));
+    assertEquals(1L, params.primitive(5));
+    assertEquals(FloatValue.class, params.valueClass(4));
+    assertFalse(params.isPrimitive(6));
+    assertEquals(StringValue.class, params.valueClass(6));
+  }
+
+  @Test
+  public void builderPrimitivesEqualBoxed() {
+    final PreparedStatement primitives = PreparedStatement.builder(query).setInt(1).setLong(2L)
+        .setBoolean(false).build();
+    final PreparedStatement boxed = ps.setInteger(1).setLong(Long.valueOf(2L))
+        .setBoolean(Boolean.FALSE);
+    assertEquals(boxed, primitives);
+    assertEquals(boxed.hashCode(), primitives.hashCode());
+  }
+
+  @Test
+  public void builderOverwritesPrimitive() {
+    final PreparedStatement primitives = PreparedStatement.builder(query).setInt(1).setInt(2)
+        .set(0, new StringValue("a")).build();
+    assertFalse(primitives.params().isPrimitive(0));
+    assertEquals(new StringValue("a"), primitives.params().get(0));
+    final PreparedStatement replaced = primitives.setString(1, "b");
+    assertEquals(Arrays.asList(new StringValue("a"), new StringValue("b")), replaced.params());
+    assertEquals(Arrays.asList(new StringValue("a"), new IntegerValue(2)), primitives.params());
+  }
+
+  @Test
+  public void builderSurface() {
+    final byte[] json = "{}".getBytes();
+    final LocalTime time = LocalTime.of(1, 2);
+    final OffsetTime offsetTime = OffsetTime.of(time, ZoneOffset.UTC);
+    final int[] ints = new int[] { 1 };
+    final Integer[] integers = new Integer[] { 2 };
+    final PreparedStatement expected = ps.setJson(json).setJsonb(json).setLocalTime(time)
+        .setOffsetTime(offsetTime).setPrimitiveIntArray(ints).setIntegerArray(integers)
+        .setByte((byte) 3);
+    final PreparedStatement actual = PreparedStatement.builder(query).setJson(json)
+        .setJsonb(json).setLocalTime(time).setOffsetTime(offsetTime).setPrimitiveIntArray(ints)
+        .setIntegerArray(integers).setByte((byte) 3).build();
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void builderIn() {
+    final String query = "SELECT * FROM t WHERE a IN (?) AND b = ? AND c IN (?)";
+    final PreparedStatement.Builder b = PreparedStatement.builder(query)
+        .setIntegerIn(Arrays.asList(1, 2)).setInt(3).setStringIn(Arrays.asList("a"));
+    final PreparedStatement ps = b.build();
+    assertEquals("SELECT * FROM t WHERE a = ANY(?) AND b = ? AND c = ANY(?)", ps.query());
+    assertArrayEquals(new Integer[] { 1, 2 }, ((IntegerArrayValue) ps.params().get(0)).get());
+    assertEquals(new IntegerValue(3), ps.params().get(1));
+    assertArrayEquals(new String[] { "a" }, ((StringArrayValue) ps.params().get(2)).get());
+    assertEquals(query, b.clear().build().query());
+  }
 }
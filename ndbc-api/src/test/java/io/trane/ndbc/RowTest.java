@@ -3,7 +3,9 @@ package io.trane.ndbc;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -11,6 +13,7 @@ import java.util.Map;
 import org.junit.Test;
 
 import io.trane.ndbc.value.IntegerValue;
+import io.trane.ndbc.value.LocalDateTimeValue;
 import io.trane.ndbc.value.LongValue;
 import io.trane.ndbc.value.Value;
 
@@ -52,4 +55,173 @@ public class RowTest {
   public void columns() {
     assertArrayEquals(columns, row.columns().toArray());
   }
+
+  @Test
+  public void primitives() {
+    final Row r = Row.apply(positions, columns);
+    assertEquals(1, r.getInt(0));
+    assertEquals(2L, r.getLong("b"));
+    assertEquals(1D, r.getDouble("a"), 0);
+    assertTrue(r.getBoolean(0));
+  }
+
+  @Test
+  public void epochMicros() {
+    final LocalDateTime value = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000);
+    final Row r = Row.apply(positions, new Value<?>[] { new LocalDateTimeValue(value), v2 });
+    assertEquals(-1L, r.getEpochMicros("a"));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void primitiveNull() {
+    final Row r = Row.apply(positions, new Value<?>[] { Value.NULL, v2 });
+    assertTrue(r.isNull("a"));
+    r.getInt("a");
+  }
+
+  @Test
+  public void lazyColumnMemoized() {
+    final TestDecoder decoder = new TestDecoder();
+    final Row lazy = Row.lazy(positions, 2, decoder);
+    assertEquals(v2, lazy.column("b"));
+    assertEquals(v2, lazy.column(1));
+    assertEquals(1, decoder.decoded);
+  }
+
+  @Test
+  public void lazyPrimitives() {
+    final TestDecoder decoder = new TestDecoder();
+    final Row lazy = Row.lazy(positions, 2, decoder);
+    assertEquals(2L, lazy.getLong("b"));
+    assertEquals(2L, lazy.getLong("b"));
+    assertFalse(lazy.isNull(1));
+    assertEquals(0, decoder.decoded);
+    assertEquals(v2, lazy.column(1));
+    assertEquals(2L, lazy.getLong("b"));
+    assertEquals(1, decoder.decoded);
+  }
+
+  @Test
+  public void lazyReleaseWhenAllReadAsPrimitives() {
+    final TestDecoder decoder = new TestDecoder();
+    final Row lazy = Row.lazy(positions, 2, decoder);
+    assertEquals(1, lazy.getInt(0));
+    assertEquals(1, lazy.getInt(0));
+    assertEquals(0, decoder.released);
+    assertEquals(2L, lazy.getLong("b"));
+    assertEquals(1, decoder.released);
+    assertEquals(1, lazy.getInt(0));
+    assertEquals(2L, lazy.getLong("b"));
+    assertEquals(v1, lazy.column(0));
+  }
+
+  @Test
+  public void lazyReleaseWhenMixed() {
+    final TestDecoder decoder = new TestDecoder();
+    final Row lazy = Row.lazy(positions, 2, decoder);
+    assertEquals(2L, lazy.getLong(1));
+    assertEquals(v1, lazy.column(0));
+    assertEquals(1, decoder.released);
+    assertEquals(v2, lazy.column(1));
+  }
+
+  @Test
+  public void lazyManyColumns() {
+    final Map<String, Integer> wide = new HashMap<>();
+    final Value<?>[] values = new Value<?>[70];
+    for (int i = 0; i < values.length; i++) {
+      wide.put("c" + i, i);
+      values[i] = new IntegerValue(i);
+    }
+    final TestDecoder decoder = new TestDecoder(values);
+    final Row lazy = Row.lazy(wide, values.length, decoder);
+    for (int i = values.length - 1; i > 0; i--)
+      assertEquals(i, lazy.getInt(i));
+    assertEquals(0, decoder.released);
+    assertEquals(0, lazy.getInt("c0"));
+    assertEquals(1, decoder.released);
+    assertEquals(values[64], lazy.column(64));
+  }
+
+  @Test
+  public void lazyReleaseWhenAllDecoded() {
+    final TestDecoder decoder = new TestDecoder();
+    final Row lazy = Row.lazy(positions, 2, decoder);
+    lazy.column(0);
+    assertEquals(0, decoder.released);
+    assertArrayEquals(columns, lazy.columns().toArray());
+    assertEquals(1, decoder.released);
+    lazy.release();
+    assertEquals(1, decoder.released);
+  }
+
+  @Test
+  public void lazyRelease() {
+    final TestDecoder decoder = new TestDecoder();
+    final Row lazy = Row.lazy(positions, 2, decoder);
+    assertEquals(v1, lazy.column(0));
+    lazy.release();
+    assertEquals(1, decoder.released);
+    assertEquals(v1, lazy.column(0));
+    try {
+      lazy.getLong(1);
+      assertTrue(false);
+    } catch (final IllegalStateException ex) {
+    }
+  }
+
+  private final class TestDecoder implements Row.Decoder {
+    final Value<?>[] columns;
+    int              decoded  = 0;
+    int              released = 0;
+
+    TestDecoder() {
+      this(RowTest.this.columns);
+    }
+
+    TestDecoder(final Value<?>[] columns) {
+      this.columns = columns;
+    }
+
+    @Override
+    public final Value<?> decode(final int position) {
+      decoded++;
+      return columns[position];
+    }
+
+    @Override
+    public final boolean isNull(final int position) {
+      return columns[position].isNull();
+    }
+
+    @Override
+    public final int decodeInt(final int position) {
+      return columns[position].getInteger();
+    }
+
+    @Override
+    public final long decodeLong(final int position) {
+      return columns[position].getLong();
+    }
+
+    @Override
+    public final double decodeDouble(final int position) {
+      return columns[position].getDouble();
+    }
+
+    @Override
+    public final boolean decodeBoolean(final int position) {
+      return columns[position].getBoolean();
+    }
+
+    @Override
+    public final long decodeEpochMicros(final int position) {
+      return columns[position].getEpochMicros();
+    }
+
+    @Override
+    public final void release() {
+      released++;
+    }
+  }
 }
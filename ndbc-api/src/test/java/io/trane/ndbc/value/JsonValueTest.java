@@ -0,0 +1,49 @@
+package io.trane.ndbc.value;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class JsonValueTest {
+
+  private final byte[] json = "{\"a\": [1, 2]}".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void getByteBuffer() {
+    final JsonValue wrapper = new JsonValue(json);
+    final ByteBuffer buf = wrapper.getByteBuffer();
+    assertTrue(buf.isReadOnly());
+    assertEquals(ByteBuffer.wrap(json), buf);
+    buf.get();
+    assertEquals(json.length, wrapper.getByteBuffer().remaining());
+  }
+
+  @Test
+  public void getInputStream() throws IOException {
+    final InputStream is = new JsonValue(ByteBuffer.wrap(json)).getInputStream();
+    final byte[] read = new byte[json.length + 1];
+    assertEquals(json.length, is.read(read));
+    assertEquals(-1, is.read());
+    assertEquals(ByteBuffer.wrap(json), ByteBuffer.wrap(read, 0, json.length));
+  }
+
+  @Test
+  public void getString() {
+    final String value = "{\"a\": \"\u00e7\"}";
+    assertEquals(value, new JsonValue(value).getString());
+  }
+
+  @Test
+  public void noCopy() {
+    final ByteBuffer buf = ByteBuffer.wrap(json.clone());
+    final JsonValue wrapper = new JsonValue(buf);
+    buf.put(0, (byte) '[');
+    assertEquals('[', wrapper.getByteBuffer().get());
+  }
+}
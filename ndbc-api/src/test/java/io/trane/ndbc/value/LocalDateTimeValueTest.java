@@ -28,4 +28,11 @@ public class LocalDateTimeValueTest {
     final LocalDateTimeValue wrapper = new LocalDateTimeValue(value);
     assertEquals(value.toLocalTime(), wrapper.getLocalTime());
   }
+
+  @Test
+  public void getEpochMicros() {
+    final LocalDateTime value = LocalDateTime.of(2000, 1, 1, 0, 0, 0, 123456789);
+    final LocalDateTimeValue wrapper = new LocalDateTimeValue(value);
+    assertEquals(946684800123456L, wrapper.getEpochMicros());
+  }
 }
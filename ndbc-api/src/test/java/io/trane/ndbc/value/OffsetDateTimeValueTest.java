@@ -0,0 +1,33 @@
+package io.trane.ndbc.value;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import org.junit.Test;
+
+public class OffsetDateTimeValueTest {
+
+  @Test
+  public void getOffsetDateTime() {
+    final OffsetDateTime value = OffsetDateTime.now();
+    final OffsetDateTimeValue wrapper = new OffsetDateTimeValue(value);
+    assertEquals(value, wrapper.getOffsetDateTime());
+  }
+
+  @Test
+  public void getInstant() {
+    final OffsetDateTime value = OffsetDateTime.now();
+    final OffsetDateTimeValue wrapper = new OffsetDateTimeValue(value);
+    assertEquals(value.toInstant(), wrapper.getInstant());
+  }
+
+  @Test
+  public void getEpochMicros() {
+    final OffsetDateTime value = OffsetDateTime.of(1970, 1, 1, 3, 0, 0, 1000,
+        ZoneOffset.ofHours(3));
+    final OffsetDateTimeValue wrapper = new OffsetDateTimeValue(value);
+    assertEquals(1L, wrapper.getEpochMicros());
+  }
+}
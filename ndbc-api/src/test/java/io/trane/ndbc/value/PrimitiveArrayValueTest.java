@@ -0,0 +1,55 @@
+package io.trane.ndbc.value;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.BitSet;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class PrimitiveArrayValueTest {
+
+  @Test
+  public void equalsComparesElements() {
+    assertEquals(new PrimitiveIntArrayValue(new int[] { 1, 2 }),
+        new PrimitiveIntArrayValue(new int[] { 1, 2 }));
+    assertEquals(new PrimitiveIntArrayValue(new int[] { 1, 2 }).hashCode(),
+        new PrimitiveIntArrayValue(new int[] { 1, 2 }).hashCode());
+    assertNotEquals(new PrimitiveIntArrayValue(new int[] { 1, 2 }),
+        new PrimitiveIntArrayValue(new int[] { 1, 3 }));
+    assertEquals(new PrimitiveLongArrayValue(new long[] { 1 }),
+        new PrimitiveLongArrayValue(new long[] { 1 }));
+    assertEquals(new PrimitiveFloatArrayValue(new float[] { 1.5f }),
+        new PrimitiveFloatArrayValue(new float[] { 1.5f }));
+    assertEquals(new PrimitiveDoubleArrayValue(new double[] { 1.5 }).hashCode(),
+        new PrimitiveDoubleArrayValue(new double[] { 1.5 }).hashCode());
+    assertNotEquals(new PrimitiveIntArrayValue(new int[] { 1 }),
+        new PrimitiveLongArrayValue(new long[] { 1 }));
+  }
+
+  @Test
+  public void equalsComparesNulls() {
+    final BitSet nulls = new BitSet();
+    nulls.set(0);
+    assertNotEquals(new PrimitiveLongArrayValue(new long[] { 0 }, Optional.of(nulls)),
+        new PrimitiveLongArrayValue(new long[] { 0 }));
+  }
+
+  @Test
+  public void boxedElements() {
+    final BitSet nulls = new BitSet();
+    nulls.set(1);
+    final PrimitiveDoubleArrayValue value = new PrimitiveDoubleArrayValue(
+        new double[] { 1.5, 0 }, Optional.of(nulls));
+    assertArrayEquals(new Double[] { 1.5, null }, value.getDoubleArray());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void primitiveWithNulls() {
+    final BitSet nulls = new BitSet();
+    nulls.set(0);
+    new PrimitiveFloatArrayValue(new float[] { 0 }, Optional.of(nulls)).getPrimitiveFloatArray();
+  }
+}
@@ -6,10 +6,20 @@ import org.junit.Test;
 
 public class StringValueTest {
 
+  private static enum Mood {
+    HAPPY, SAD
+  }
+
   @Test
   public void getString() {
     final String value = "s";
     final StringValue wrapper = new StringValue(value);
     assertEquals(value, wrapper.getString());
   }
+
+  @Test
+  public void getEnum() {
+    final StringValue wrapper = new StringValue("SAD");
+    assertEquals(Mood.SAD, wrapper.getEnum(Mood.class));
+  }
 }
@@ -14,11 +14,23 @@ import io.trane.ndbc.Row;
 public final class PooledDataSource implements DataSource {
 
   private final Pool<Connection>  pool;
+  private final Runnable          onClose;
   private final Local<Connection> currentTransation;
 
   public PooledDataSource(final Pool<Connection> pool) {
+    this(pool, () -> {
+    });
+  }
+
+  /**
+   * @param onClose
+   *          releases the resources shared by the pool's connections after the
+   *          pool is closed
+   */
+  public PooledDataSource(final Pool<Connection> pool, final Runnable onClose) {
     super();
     this.pool = pool;
+    this.onClose = onClose;
     currentTransation = Local.apply();
   }
 
@@ -55,7 +67,7 @@ public final class PooledDataSource implements DataSource {
 
   @Override
   public final Future<Void> close() {
-    return pool.close();
+    return pool.close().ensure(onClose);
   }
 
   private final <R> Future<R> withConnection(final Function<Connection, Future<R>> f) {
@@ -32,6 +32,13 @@ public interface BufferReader {
 
   BufferReader readSlice(int length);
 
+  /**
+   * Returns the byte at `offset` from the reader index without consuming it.
+   */
+  byte getByte(int offset);
+
+  void skipBytes(int length);
+
   void markReaderIndex();
 
   void resetReaderIndex();
@@ -40,9 +47,17 @@ public interface BufferReader {
 
   void release();
 
-  Long readLong();
+  /**
+   * Returns a reader over the remaining bytes that doesn't hold on to pooled
+   * memory. Readers that aren't pooled return themselves.
+   */
+  default BufferReader unpooled() {
+    return this;
+  }
+
+  long readLong();
 
-  Float readFloat();
+  float readFloat();
 
-  Double readDouble();
+  double readDouble();
 }
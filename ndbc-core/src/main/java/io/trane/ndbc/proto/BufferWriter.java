@@ -1,5 +1,7 @@
 package io.trane.ndbc.proto;
 
+import java.nio.ByteBuffer;
+
 public interface BufferWriter {
 
   void writeInt(int i);
@@ -10,25 +12,37 @@ public interface BufferWriter {
 
   void writeShort(short s);
 
+  /**
+   * Writes `s` followed by a zero byte.
+   */
   void writeCString(String s);
 
   void writeString(String s);
 
   void writeBytes(byte[] b);
 
+  /**
+   * Writes the remaining bytes of `b` without changing its position.
+   */
+  void writeBytes(ByteBuffer b);
+
   void writeInts(int[] i);
 
   void writeShorts(short[] s);
 
+  /**
+   * Fills in the placeholder written at `position` with the number of bytes
+   * written since it, including the placeholder itself.
+   */
   void writeLength(int position);
 
   void writeLengthNoSelf(int position);
 
   int writerIndex();
 
-  void writeLong(Long value);
+  void writeLong(long value);
 
-  void writeFloat(Float value);
+  void writeFloat(float value);
 
-  void writeDouble(Double value);
+  void writeDouble(double value);
 }
@@ -1,11 +1,22 @@
 package io.trane.ndbc.proto;
 
+import java.util.function.Predicate;
+
 import io.trane.future.Future;
 
 public interface Channel {
 
   Future<ServerMessage> receive();
 
+  /**
+   * Passes each received message to `handler` until it returns false.
+   * Implementations can override it to invoke the handler synchronously for
+   * every message of a read, without a future per message.
+   */
+  default Future<Void> receiveWhile(final Predicate<ServerMessage> handler) {
+    return receive().flatMap(msg -> handler.test(msg) ? receiveWhile(handler) : Future.VOID);
+  }
+
   Future<Void> send(ClientMessage msg);
 
   Future<Void> close();
@@ -1,6 +1,8 @@
 package io.trane.ndbc.proto;
 
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import io.trane.future.Future;
@@ -29,13 +31,39 @@ public interface Exchange<T> {
         log.info(msg.toString());
         return receive(f).run(channel);
       } else if (msg.isError())
-        return Future.exception(new RuntimeException(msg.toString()));
+        return Future.exception(new ServerErrorException(msg));
       else
         return f.applyOrElse(msg, () -> Exchange.fail("Unexpected server message: " + msg))
             .run(channel);
     });
   }
 
+  /**
+   * Invokes `f` for each message until it returns false. Notices are logged and
+   * errors fail the exchange, like in `receive`.
+   */
+  static Exchange<Void> receiveWhile(final Predicate<ServerMessage> f) {
+    return channel -> {
+      final AtomicReference<ServerMessage> error = new AtomicReference<>();
+      return channel.receiveWhile(msg -> {
+        if (msg.isNotice()) {
+          log.info(msg.toString());
+          return true;
+        } else if (msg.isError()) {
+          error.set(msg);
+          return false;
+        } else
+          return f.test(msg);
+      }).flatMap(v -> {
+        final ServerMessage e = error.get();
+        if (e == null)
+          return Future.VOID;
+        else
+          return Future.exception(new ServerErrorException(e));
+      });
+    };
+  }
+
   static Exchange<Void> send(final ClientMessage msg) {
     return channel -> channel.send(msg);
   }
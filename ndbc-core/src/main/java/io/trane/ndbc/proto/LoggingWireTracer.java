@@ -0,0 +1,32 @@
+package io.trane.ndbc.proto;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+public class LoggingWireTracer implements WireTracer {
+
+  private static final Logger log = Logger.getLogger(LoggingWireTracer.class.getName());
+
+  private final Level         level;
+
+  public LoggingWireTracer() {
+    this(Level.FINE);
+  }
+
+  public LoggingWireTracer(final Level level) {
+    super();
+    this.level = level;
+  }
+
+  @Override
+  public final void sent(final int channelId, final ClientMessage msg) {
+    if (log.isLoggable(level))
+      log.log(level, channelId + " sent: " + msg);
+  }
+
+  @Override
+  public final void received(final int channelId, final ServerMessage msg) {
+    if (log.isLoggable(level))
+      log.log(level, channelId + " received: " + msg);
+  }
+}
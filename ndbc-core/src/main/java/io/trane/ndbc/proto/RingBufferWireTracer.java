@@ -0,0 +1,78 @@
+package io.trane.ndbc.proto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last `capacity` messages, so they can be dumped after a failure.
+ * Messages are kept by reference and only rendered by `dump`. Recording is
+ * lock-free: each message claims a slot from an atomic sequence, so channels on
+ * different threads don't contend on a monitor.
+ */
+public class RingBufferWireTracer implements WireTracer {
+
+  private static final int DEFAULT_CAPACITY = 1024;
+
+  private static final class Entry {
+    final long    sequence;
+    final long    timestamp;
+    final int     channelId;
+    final boolean sent;
+    final Object  message;
+
+    Entry(final long sequence, final int channelId, final boolean sent, final Object message) {
+      this.sequence = sequence;
+      this.timestamp = System.nanoTime();
+      this.channelId = channelId;
+      this.sent = sent;
+      this.message = message;
+    }
+  }
+
+  private final AtomicReferenceArray<Entry> entries;
+  private final AtomicLong                  next = new AtomicLong();
+
+  public RingBufferWireTracer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public RingBufferWireTracer(final int capacity) {
+    super();
+    if (capacity <= 0)
+      throw new IllegalArgumentException("RingBufferWireTracer capacity must be positive");
+    entries = new AtomicReferenceArray<>(capacity);
+  }
+
+  @Override
+  public final void sent(final int channelId, final ClientMessage msg) {
+    record(channelId, true, msg);
+  }
+
+  @Override
+  public final void received(final int channelId, final ServerMessage msg) {
+    record(channelId, false, msg);
+  }
+
+  private final void record(final int channelId, final boolean sent, final Object msg) {
+    final long sequence = next.getAndIncrement();
+    entries.set((int) (sequence % entries.length()), new Entry(sequence, channelId, sent, msg));
+  }
+
+  /**
+   * Entries that are being overwritten concurrently are left out.
+   */
+  public final List<String> dump() {
+    final long end = next.get();
+    final int size = (int) Math.min(end, entries.length());
+    final List<String> result = new ArrayList<>(size);
+    for (long j = end - size; j < end; j++) {
+      final Entry e = entries.get((int) (j % entries.length()));
+      if (e != null && e.sequence == j)
+        result.add(e.timestamp + " " + e.channelId + (e.sent ? " sent: " : " received: ")
+            + e.message);
+    }
+    return result;
+  }
+}
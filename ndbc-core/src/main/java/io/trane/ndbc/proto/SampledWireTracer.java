@@ -0,0 +1,61 @@
+package io.trane.ndbc.proto;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Samples whole exchanges instead of individual messages. An exchange starts
+ * with the first message a channel sends after receiving, and the sampling
+ * decision is kept until the channel sends again after a response.
+ *
+ * The state of each channel is packed in a long of a fixed table indexed by
+ * the channel id, so tracking it doesn't allocate or lock. If two live
+ * channels share a slot, one of them can drop the rest of an exchange.
+ */
+final class SampledWireTracer implements WireTracer {
+
+  private static final int  SLOTS   = 1024;
+  private static final long SAMPLED = 1;
+  private static final long SENDING = 2;
+
+  private final WireTracer      underlying;
+  private final double          rate;
+  private final AtomicLongArray states = new AtomicLongArray(SLOTS);
+
+  public SampledWireTracer(final WireTracer underlying, final double rate) {
+    this.underlying = underlying;
+    this.rate = rate;
+  }
+
+  @Override
+  public final void sent(final int channelId, final ClientMessage msg) {
+    final int slot = channelId & (SLOTS - 1);
+    long state = states.get(slot);
+    if (!owns(state, channelId) || (state & SENDING) == 0) {
+      final boolean sampled = ThreadLocalRandom.current().nextDouble() < rate;
+      state = ((long) channelId << 32) | SENDING | (sampled ? SAMPLED : 0);
+      states.set(slot, state);
+    }
+    if ((state & SAMPLED) != 0)
+      underlying.sent(channelId, msg);
+  }
+
+  @Override
+  public final void received(final int channelId, final ServerMessage msg) {
+    final int slot = channelId & (SLOTS - 1);
+    final long state = states.get(slot);
+    if (owns(state, channelId)) {
+      if ((state & SENDING) != 0)
+        states.set(slot, state & ~SENDING);
+      if ((state & SAMPLED) != 0)
+        underlying.received(channelId, msg);
+    }
+  }
+
+  /**
+   * A zero state is an unused slot, so it's never owned, even by channel 0.
+   */
+  private final boolean owns(final long state, final int channelId) {
+    return state != 0 && (int) (state >>> 32) == channelId;
+  }
+}
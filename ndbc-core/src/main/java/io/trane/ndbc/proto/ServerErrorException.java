@@ -0,0 +1,21 @@
+package io.trane.ndbc.proto;
+
+/**
+ * Fails an exchange when the server answers with an error. The connection is
+ * still usable afterwards, unlike when the channel itself fails.
+ */
+public final class ServerErrorException extends RuntimeException {
+
+  private static final long   serialVersionUID = 1L;
+
+  private final ServerMessage error;
+
+  public ServerErrorException(final ServerMessage error) {
+    super(error.toString());
+    this.error = error;
+  }
+
+  public final ServerMessage error() {
+    return error;
+  }
+}
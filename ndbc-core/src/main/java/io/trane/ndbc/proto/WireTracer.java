@@ -0,0 +1,58 @@
+package io.trane.ndbc.proto;
+
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Observes the messages exchanged by each channel. Implementations are
+ * invoked on the I/O thread, so they must not block.
+ */
+public interface WireTracer {
+
+  static WireTracer NONE = new WireTracer() {
+    @Override
+    public final void sent(final int channelId, final ClientMessage msg) {
+    }
+
+    @Override
+    public final void received(final int channelId, final ServerMessage msg) {
+    }
+  };
+
+  void sent(int channelId, ClientMessage msg);
+
+  void received(int channelId, ServerMessage msg);
+
+  /**
+   * Traces a `rate` fraction of the exchanges. Every message of a sampled
+   * exchange is traced, so its request and response are kept together.
+   */
+  default public WireTracer sampled(final double rate) {
+    return new SampledWireTracer(this, rate);
+  }
+
+  default public WireTracer channels(final IntPredicate channelFilter) {
+    return filter(channelFilter, msg -> true);
+  }
+
+  default public WireTracer messages(final Predicate<Object> messageFilter) {
+    return filter(channelId -> true, messageFilter);
+  }
+
+  default public WireTracer filter(final IntPredicate channelFilter,
+      final Predicate<Object> messageFilter) {
+    return new WireTracer() {
+      @Override
+      public final void sent(final int channelId, final ClientMessage msg) {
+        if (channelFilter.test(channelId) && messageFilter.test(msg))
+          WireTracer.this.sent(channelId, msg);
+      }
+
+      @Override
+      public final void received(final int channelId, final ServerMessage msg) {
+        if (channelFilter.test(channelId) && messageFilter.test(msg))
+          WireTracer.this.received(channelId, msg);
+      }
+    };
+  }
+}
@@ -4,8 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
@@ -113,6 +115,47 @@ public class ExchangeTest {
     assertEquals(msg, Exchange.receive(f).run(channel).get(timeout));
   }
 
+  @Test
+  public void receiveWhile() throws CheckedFutureException {
+    final TestServerMessage notice = new TestServerMessage() {
+      @Override
+      public boolean isNotice() {
+        return true;
+      }
+    };
+    final TestServerMessage msg1 = new TestServerMessage();
+    final TestServerMessage msg2 = new TestServerMessage();
+    final TestServerMessage last = new TestServerMessage();
+    final Channel channel = new TestChannel() {
+      Iterator<TestServerMessage> it = Arrays.asList(msg1, notice, msg2, last).iterator();
+
+      @Override
+      public Future<ServerMessage> receive() {
+        return Future.value(it.next());
+      }
+    };
+    final List<ServerMessage> received = new ArrayList<>();
+    Exchange.receiveWhile(m -> received.add(m) && m != last).run(channel).get(timeout);
+    assertEquals(Arrays.asList(msg1, msg2, last), received);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void receiveWhileError() throws CheckedFutureException {
+    final TestServerMessage msg = new TestServerMessage() {
+      @Override
+      public boolean isError() {
+        return true;
+      }
+    };
+    final Channel channel = new TestChannel() {
+      @Override
+      public Future<ServerMessage> receive() {
+        return Future.value(msg);
+      }
+    };
+    Exchange.receiveWhile(m -> true).run(channel).get(timeout);
+  }
+
   @Test
   public void send() throws CheckedFutureException {
     final ClientMessage msg = new ClientMessage() {
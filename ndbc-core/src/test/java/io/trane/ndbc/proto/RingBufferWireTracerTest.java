@@ -0,0 +1,84 @@
+package io.trane.ndbc.proto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RingBufferWireTracerTest {
+
+  class TestClientMessage implements ClientMessage {
+    private final int i;
+
+    public TestClientMessage(final int i) {
+      this.i = i;
+    }
+
+    @Override
+    public String toString() {
+      return "client " + i;
+    }
+  }
+
+  class TestServerMessage implements ServerMessage {
+    @Override
+    public String toString() {
+      return "server";
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidCapacity() {
+    new RingBufferWireTracer(0);
+  }
+
+  @Test
+  public void empty() {
+    assertTrue(new RingBufferWireTracer().dump().isEmpty());
+  }
+
+  @Test
+  public void dump() {
+    final RingBufferWireTracer t = new RingBufferWireTracer(10);
+    t.sent(1, new TestClientMessage(1));
+    t.received(2, new TestServerMessage());
+    final List<String> dump = t.dump();
+    assertEquals(2, dump.size());
+    assertTrue(dump.get(0).endsWith(" 1 sent: client 1"));
+    assertTrue(dump.get(1).endsWith(" 2 received: server"));
+  }
+
+  @Test
+  public void overwritesOldest() {
+    final RingBufferWireTracer t = new RingBufferWireTracer(2);
+    for (int i = 0; i < 5; i++)
+      t.sent(1, new TestClientMessage(i));
+    final List<String> dump = t.dump();
+    assertEquals(2, dump.size());
+    assertTrue(dump.get(0).endsWith("client 3"));
+    assertTrue(dump.get(1).endsWith("client 4"));
+  }
+
+  @Test
+  public void concurrent() throws InterruptedException {
+    final RingBufferWireTracer t = new RingBufferWireTracer(64);
+    final List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      final int channelId = i;
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < 10000; j++)
+          t.sent(channelId, new TestClientMessage(j));
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (final Thread thread : threads)
+      thread.join();
+    final List<String> dump = t.dump();
+    assertEquals(64, dump.size());
+    for (final String line : dump)
+      assertTrue(line.contains(" sent: client "));
+  }
+}
@@ -0,0 +1,101 @@
+package io.trane.ndbc.proto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class WireTracerTest {
+
+  private final ClientMessage clientMessage = new ClientMessage() {
+  };
+  private final ServerMessage serverMessage = new ServerMessage() {
+  };
+
+  private final List<Object>  traced        = new ArrayList<>();
+  private final WireTracer    tracer        = new TestWireTracer();
+
+  class TestWireTracer implements WireTracer {
+    @Override
+    public void sent(final int channelId, final ClientMessage msg) {
+      traced.add(msg);
+    }
+
+    @Override
+    public void received(final int channelId, final ServerMessage msg) {
+      traced.add(msg);
+    }
+  }
+
+  @Test
+  public void none() {
+    WireTracer.NONE.sent(1, clientMessage);
+    WireTracer.NONE.received(1, serverMessage);
+  }
+
+  @Test
+  public void sampledAll() {
+    final WireTracer t = tracer.sampled(1);
+    t.sent(1, clientMessage);
+    t.received(1, serverMessage);
+    assertEquals(Arrays.asList(clientMessage, serverMessage), traced);
+  }
+
+  @Test
+  public void sampledNone() {
+    final WireTracer t = tracer.sampled(0);
+    t.sent(1, clientMessage);
+    t.received(1, serverMessage);
+    assertEquals(Arrays.asList(), traced);
+  }
+
+  @Test
+  public void sampledKeepsExchangesWhole() {
+    final WireTracer t = tracer.sampled(0.5);
+    for (int i = 0; i < 1000; i++) {
+      traced.clear();
+      t.sent(1, clientMessage);
+      t.sent(1, clientMessage);
+      t.received(1, serverMessage);
+      t.received(1, serverMessage);
+      assertTrue(traced.isEmpty() || traced.size() == 4);
+    }
+  }
+
+  @Test
+  public void sampledIgnoresResponseOfUnknownExchange() {
+    final WireTracer t = tracer.sampled(1);
+    t.received(1, serverMessage);
+    assertEquals(Arrays.asList(), traced);
+  }
+
+  @Test
+  public void sampledChannelsIndependently() {
+    final WireTracer t = tracer.sampled(1);
+    t.sent(1, clientMessage);
+    t.sent(2, clientMessage);
+    t.received(1, serverMessage);
+    t.received(2, serverMessage);
+    assertEquals(4, traced.size());
+  }
+
+  @Test
+  public void channels() {
+    final WireTracer t = tracer.channels(id -> id == 2);
+    t.sent(1, clientMessage);
+    t.received(2, serverMessage);
+    assertEquals(Arrays.asList(serverMessage), traced);
+  }
+
+  @Test
+  public void messages() {
+    final WireTracer t = tracer.messages(msg -> msg instanceof ClientMessage);
+    t.sent(1, clientMessage);
+    t.received(1, serverMessage);
+    assertEquals(Arrays.asList(clientMessage), traced);
+  }
+}
@@ -3,6 +3,7 @@ package io.trane.ndbc.postgres.netty4;
 import java.nio.charset.Charset;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 
 final class BufferReader implements io.trane.ndbc.proto.BufferReader {
 
@@ -15,6 +16,16 @@ final class BufferReader implements io.trane.ndbc.proto.BufferReader {
     this.bb = bb;
   }
 
+  // decodes directly from the buffer's memory, without an intermediate byte[]
+  private final String decode(final int index, final int length) {
+    if (length == 0)
+      return "";
+    else if (bb.hasArray())
+      return new String(bb.array(), bb.arrayOffset() + index, length, charset);
+    else
+      return bb.toString(index, length, charset);
+  }
+
   @Override
   public final int readInt() {
     return bb.readInt();
@@ -47,9 +58,8 @@ final class BufferReader implements io.trane.ndbc.proto.BufferReader {
 
   @Override
   public final String readString(final int length) {
-    final byte[] b = new byte[length];
-    bb.readBytes(b);
-    final String string = new String(b, charset);
+    final String string = decode(bb.readerIndex(), length);
+    bb.skipBytes(length);
     return string;
   }
 
@@ -80,6 +90,12 @@ final class BufferReader implements io.trane.ndbc.proto.BufferReader {
     return new BufferReader(charset, bb.readSlice(length));
   }
 
+  // copies to the heap, so the pooled buffer goes back to the allocator on release
+  @Override
+  public final BufferReader unpooled() {
+    return new BufferReader(charset, Unpooled.wrappedBuffer(readBytes()));
+  }
+
   @Override
   public final int[] readInts() {
     return readInts(bb.readableBytes() / 4);
@@ -107,17 +123,17 @@ final class BufferReader implements io.trane.ndbc.proto.BufferReader {
   }
 
   @Override
-  public final Long readLong() {
+  public final long readLong() {
     return bb.readLong();
   }
 
   @Override
-  public final Float readFloat() {
+  public final float readFloat() {
     return bb.readFloat();
   }
 
   @Override
-  public final Double readDouble() {
+  public final double readDouble() {
     return bb.readDouble();
   }
 
@@ -131,6 +147,16 @@ final class BufferReader implements io.trane.ndbc.proto.BufferReader {
     bb.release();
   }
 
+  @Override
+  public final byte getByte(final int offset) {
+    return bb.getByte(bb.readerIndex() + offset);
+  }
+
+  @Override
+  public final void skipBytes(final int length) {
+    bb.skipBytes(length);
+  }
+
   @Override
   public final void markReaderIndex() {
     bb.markReaderIndex();
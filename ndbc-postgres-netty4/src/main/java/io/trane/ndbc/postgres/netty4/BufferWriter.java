@@ -1,5 +1,6 @@
 package io.trane.ndbc.postgres.netty4;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import io.netty.buffer.ByteBuf;
@@ -8,11 +9,13 @@ final class BufferWriter implements io.trane.ndbc.proto.BufferWriter {
 
   private final ByteBuf b;
   private final Charset charset;
+  private final int     start;
 
   public BufferWriter(final Charset charset, final ByteBuf b) {
     super();
     this.charset = charset;
     this.b = b;
+    this.start = b.writerIndex();
   }
 
   @Override
@@ -43,7 +46,7 @@ final class BufferWriter implements io.trane.ndbc.proto.BufferWriter {
 
   @Override
   public final void writeString(final String s) {
-    b.writeBytes(s.getBytes(charset));
+    b.writeCharSequence(s, charset);
   }
 
   @Override
@@ -51,6 +54,11 @@ final class BufferWriter implements io.trane.ndbc.proto.BufferWriter {
     b.writeBytes(a);
   }
 
+  @Override
+  public final void writeBytes(final ByteBuffer a) {
+    b.writeBytes(a.duplicate());
+  }
+
   @Override
   public final void writeInts(final int[] a) {
     for (final int i : a)
@@ -64,40 +72,32 @@ final class BufferWriter implements io.trane.ndbc.proto.BufferWriter {
   }
 
   @Override
-  public final void writeLong(final Long value) {
+  public final void writeLong(final long value) {
     b.writeLong(value);
   }
 
   @Override
-  public final void writeFloat(final Float value) {
+  public final void writeFloat(final float value) {
     b.writeFloat(value);
   }
 
   @Override
-  public final void writeDouble(final Double value) {
+  public final void writeDouble(final double value) {
     b.writeDouble(value);
   }
 
   @Override
   public final int writerIndex() {
-    return b.writerIndex();
+    return b.writerIndex() - start;
   }
 
   @Override
   public final void writeLength(final int position) {
-    final int length = b.writerIndex() - position;
-    b.markWriterIndex();
-    b.writerIndex(position);
-    b.writeInt(length);
-    b.resetWriterIndex();
+    b.setInt(start + position, b.writerIndex() - start - position);
   }
 
   @Override
   public final void writeLengthNoSelf(final int position) {
-    final int length = b.writerIndex() - position - 4;
-    b.markWriterIndex();
-    b.writerIndex(position);
-    b.writeInt(length);
-    b.resetWriterIndex();
+    b.setInt(start + position, b.writerIndex() - start - position - 4);
   }
 }
@@ -1,9 +1,18 @@
 package io.trane.ndbc.postgres.netty4;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
@@ -11,46 +20,119 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.handler.flow.FlowControlHandler;
+import io.netty.handler.flush.FlushConsolidationHandler;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import io.trane.future.Future;
+import io.trane.future.FuturePool;
 import io.trane.future.Promise;
+import io.trane.ndbc.postgres.ChannelFactory;
 import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
 import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
-import io.trane.ndbc.proto.ClientMessage;
+import io.trane.ndbc.proto.WireTracer;
 
-final class ChannelSupplier implements Supplier<Future<NettyChannel>> {
+final class ChannelSupplier implements ChannelFactory<NettyChannel> {
 
-  private final Marshaller     encoder;
-  private final Unmarshaller   decoder;
-  private final EventLoopGroup eventLoopGroup;
-  private final String         host;
-  private final int            port;
-  private final Charset        charset;
+  private static final Logger                         log                          = Logger
+      .getLogger(ChannelSupplier.class.getName());
+  private static final int                            EXPLICIT_FLUSH_AFTER_FLUSHES = 256;
+
+  private final Marshaller                            encoder;
+  private final Unmarshaller                          decoder;
+  private final EventLoopGroup                        eventLoopGroup;
+  private final Transport                             transport;
+  private final Charset                               charset;
+  private final WireTracer                            tracer;
+  private final WriteBufferWaterMark                  writeBufferWaterMark;
+  private final Optional<Duration>                    connectTimeout;
+  private final ExecutorService                       resolver;
+  private final FuturePool                            resolverPool;
+  private final Supplier<Future<List<SocketAddress>>> addresses;
 
   public ChannelSupplier(final Charset charset, final Marshaller encoder,
       final Unmarshaller decoder,
-      final EventLoopGroup eventLoopGroup, final String host, final int port) {
+      final Transport transport, final EventLoopGroup eventLoopGroup, final String host,
+      final int port, final WireTracer tracer, final WriteBufferWaterMark writeBufferWaterMark,
+      final Optional<Duration> connectTimeout) {
     super();
     this.charset = charset;
     this.encoder = encoder;
     this.decoder = decoder;
+    this.transport = transport;
     this.eventLoopGroup = eventLoopGroup;
-    this.host = host;
-    this.port = port;
+    this.tracer = tracer;
+    this.writeBufferWaterMark = writeBufferWaterMark;
+    this.connectTimeout = connectTimeout;
+    this.resolver = Executors.newCachedThreadPool(new DefaultThreadFactory("ndbc-resolver", true));
+    this.resolverPool = FuturePool.apply(resolver);
+    this.addresses = addresses(transport.address(host, port));
   }
 
   @Override
   public final Future<NettyChannel> get() {
-    final NettyChannel channel = new NettyChannel();
-    return bootstrap(channel).map(v -> channel);
+    return addresses.get().flatMap(l -> connect(l, 0));
+  }
+
+  /**
+   * Releases the resolver threads.
+   */
+  @Override
+  public final void close() {
+    resolver.shutdown();
+  }
+
+  /**
+   * Resolves unresolved addresses with the JDK resolver, so the system's
+   * configuration (hosts file, search domains, nsswitch) applies. Lookups block,
+   * so they run on the resolver threads instead of the event loop.
+   */
+  private final Supplier<Future<List<SocketAddress>>> addresses(final SocketAddress address) {
+    if (address instanceof InetSocketAddress && ((InetSocketAddress) address).isUnresolved()) {
+      final InetSocketAddress unresolved = (InetSocketAddress) address;
+      return () -> resolverPool.isolate(() -> {
+        try {
+          final InetAddress[] resolved = InetAddress.getAllByName(unresolved.getHostString());
+          final List<SocketAddress> l = new ArrayList<>(resolved.length);
+          for (final InetAddress a : resolved)
+            l.add(new InetSocketAddress(a, unresolved.getPort()));
+          return Future.value(l);
+        } catch (final Exception ex) {
+          return Future.exception(ex);
+        }
+      });
+    } else {
+      final Future<List<SocketAddress>> l = Future.value(Collections.singletonList(address));
+      return () -> l;
+    }
+  }
+
+  // tries each address in turn, failing with the last error if none connects
+  final Future<NettyChannel> connect(final List<SocketAddress> addresses, final int index) {
+    final NettyChannel channel = new NettyChannel(tracer);
+    final SocketAddress address = addresses.get(index);
+    final Promise<NettyChannel> p = Promise.apply();
+    bootstrap(channel).connect(address).addListener(future -> {
+      if (future.isSuccess())
+        p.setValue(channel);
+      else if (index + 1 < addresses.size()) {
+        log.info("Can't connect to " + address + ", trying the next address. Reason: "
+            + future.cause());
+        p.become(connect(addresses, index + 1));
+      } else
+        p.setException(future.cause());
+    });
+    return p;
   }
 
   private class MessageDecoder extends ByteToMessageDecoder {
     boolean firstMessage = true;
 
+    MessageDecoder() {
+      setCumulator(new MessageCumulator());
+    }
+
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out)
         throws Exception {
@@ -59,30 +141,22 @@ final class ChannelSupplier implements Supplier<Future<NettyChannel>> {
     }
   }
 
-  private class MessageEncoder extends MessageToByteEncoder<ClientMessage> {
-    @Override
-    protected void encode(final ChannelHandlerContext ctx, final ClientMessage msg,
-        final ByteBuf out)
-        throws Exception {
-      encoder.encode(msg, new BufferWriter(charset, out));
-    }
-  }
-
-  private final Future<Void> bootstrap(final NettyChannel channel) {
-    final Promise<Void> p = Promise.apply();
-    new Bootstrap().group(eventLoopGroup).channel(NioSocketChannel.class)
-        .option(ChannelOption.SO_KEEPALIVE, true)
+  private final Bootstrap bootstrap(final NettyChannel channel) {
+    final Bootstrap bootstrap = transport.channel(new Bootstrap().group(eventLoopGroup))
         .option(ChannelOption.AUTO_READ, false)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, writeBufferWaterMark)
         .handler(new ChannelInitializer<io.netty.channel.Channel>() {
           @Override
           protected void initChannel(final io.netty.channel.Channel ch) throws Exception {
-            ch.pipeline().addLast(new MessageDecoder(), new MessageEncoder(),
+            ch.pipeline().addLast(
+                new FlushConsolidationHandler(EXPLICIT_FLUSH_AFTER_FLUSHES, true),
+                new MessageDecoder(), new MessageEncoder(charset, encoder),
                 new FlowControlHandler(), channel);
           }
-        })
-        .connect(new InetSocketAddress(host, port))
-        .addListener(future -> p.become(Future.VOID));
-    return p;
+        });
+    connectTimeout.ifPresent(
+        t -> bootstrap.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) t.toMillis()));
+    return bootstrap;
   }
 
 }
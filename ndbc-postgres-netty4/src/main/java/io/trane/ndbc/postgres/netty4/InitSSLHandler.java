@@ -1,66 +1,82 @@
 package io.trane.ndbc.postgres.netty4;
 
-import java.io.FileInputStream;
-import java.security.KeyStore;
 import java.util.Optional;
+import java.util.logging.Logger;
 
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLParameters;
-import javax.net.ssl.TrustManagerFactory;
 
+import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import io.trane.future.Future;
 import io.trane.ndbc.Config;
 import io.trane.ndbc.Config.SSL.Mode;
 
+/**
+ * Builds the `SslContext` once per data source. Engines created from the same
+ * context share its session cache, so reconnections to the same host and port
+ * can resume the TLS session instead of doing a full handshake.
+ */
 public class InitSSLHandler {
 
+  private static final Logger        log = Logger.getLogger(InitSSLHandler.class.getName());
+
+  private final Optional<SslContext> sslContext;
+
+  public InitSSLHandler(final Optional<Config.SSL> ssl) {
+    this.sslContext = ssl.filter(cfg -> cfg.mode() != Mode.DISABLE).map(this::sslContext);
+  }
+
+  final Optional<SslContext> sslContext() {
+    return sslContext;
+  }
+
+  private final SslContext sslContext(final Config.SSL cfg) {
+    final SslContextBuilder ctxBuilder = SslContextBuilder.forClient()
+        .sslProvider(sslProvider(cfg.provider()));
+    if (cfg.mode() == Mode.VERIFY_CA || cfg.mode() == Mode.VERIFY_FULL)
+      // without a root certificate, the JDK's default trust store is used
+      cfg.rootCert().ifPresent(ctxBuilder::trustManager);
+    else
+      ctxBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+    try {
+      return ctxBuilder.build();
+    } catch (final SSLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private final SslProvider sslProvider(final Config.SSL.Provider provider) {
+    if (provider == Config.SSL.Provider.JDK)
+      return SslProvider.JDK;
+    else if (OpenSsl.isAvailable())
+      return SslProvider.OPENSSL;
+    else {
+      log.warning("OpenSSL not available, falling back to the JDK provider. Reason: "
+          + OpenSsl.unavailabilityCause());
+      return SslProvider.JDK;
+    }
+  }
+
   public Future<Void> apply(final String host, final int port, final Optional<Config.SSL> optCfg,
       final NettyChannel channel) {
     return optCfg.map(cfg -> {
-      final SslContextBuilder ctxBuilder = SslContextBuilder.forClient();
-      if (cfg.mode() == Mode.VERIFY_CA || cfg.mode() == Mode.VERIFY_FULL)
-        cfg.rootCert().map(ctxBuilder::trustManager).orElseGet(() -> {
-          try {
-            final TrustManagerFactory tmf = TrustManagerFactory
-                .getInstance(TrustManagerFactory.getDefaultAlgorithm());
-            final KeyStore ks = KeyStore.getInstance(KeyStore.getDefaultType());
-            final FileInputStream cacerts = new FileInputStream(
-                System.getProperty("java.home") + "/lib/security/cacerts");
-            try {
-              ks.load(cacerts, "changeit".toCharArray());
-            } finally {
-              cacerts.close();
-            }
-            tmf.init(ks);
-            return ctxBuilder.trustManager(tmf);
-          } catch (final Exception e) {
-            throw new RuntimeException(e);
-          }
-        });
-      else
-        ctxBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-
-      SslContext sslContext;
-      try {
-        sslContext = ctxBuilder.build();
-      } catch (final SSLException e) {
-        throw new RuntimeException(e);
-      }
-
-      return channel.ctx().onSuccess(ctx -> {
-        final SSLEngine sslEngine = sslContext.newEngine(ctx.alloc(), host, port);
+      final SslContext ctx = sslContext
+          .orElseThrow(() -> new IllegalStateException("SSL isn't configured."));
+      return channel.ctx().onSuccess(c -> {
+        final SSLEngine sslEngine = ctx.newEngine(c.alloc(), host, port);
         if (cfg.mode() == Mode.VERIFY_FULL) {
           final SSLParameters sslParams = sslEngine.getSSLParameters();
           sslParams.setEndpointIdentificationAlgorithm("HTTPS");
           sslEngine.setSSLParameters(sslParams);
         }
         final SslHandler handler = new SslHandler(sslEngine);
-        ctx.pipeline().addFirst(handler);
+        c.pipeline().addFirst(handler);
       }).voided();
     }).orElse(Future.VOID);
   }
@@ -0,0 +1,54 @@
+package io.trane.ndbc.postgres.netty4;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.handler.codec.ByteToMessageDecoder.Cumulator;
+
+/**
+ * Like Netty's merge cumulator, but when the cumulation has to grow it's
+ * allocated with enough capacity for the whole pending message, as announced
+ * by its header. A large DataRow is then copied once into its final buffer
+ * instead of again every time the cumulation expands.
+ */
+final class MessageCumulator implements Cumulator {
+
+  private static final int HEADER_SIZE = 5;
+
+  @Override
+  public final ByteBuf cumulate(final ByteBufAllocator alloc, final ByteBuf cumulation,
+      final ByteBuf in) {
+    try {
+      final ByteBuf buf;
+      if (cumulation.writableBytes() < in.readableBytes() || cumulation.refCnt() > 1
+          || cumulation.isReadOnly()) {
+        final int required = cumulation.readableBytes() + in.readableBytes();
+        buf = alloc.buffer(Math.max(required, messageSize(cumulation, in)));
+        buf.writeBytes(cumulation);
+        cumulation.release();
+      } else
+        buf = cumulation;
+      buf.writeBytes(in);
+      return buf;
+    } finally {
+      in.release();
+    }
+  }
+
+  // size of the message starting at the cumulation's reader index, or 0 if
+  // its header isn't complete yet
+  private static final int messageSize(final ByteBuf cumulation, final ByteBuf in) {
+    if (cumulation.readableBytes() + in.readableBytes() < HEADER_SIZE)
+      return 0;
+    int length = 0;
+    for (int i = 1; i < HEADER_SIZE; i++)
+      length = (length << 8) | (byteAt(cumulation, in, i) & 0xFF);
+    return 1 + length;
+  }
+
+  private static final byte byteAt(final ByteBuf cumulation, final ByteBuf in, final int i) {
+    if (i < cumulation.readableBytes())
+      return cumulation.getByte(cumulation.readerIndex() + i);
+    else
+      return in.getByte(in.readerIndex() + i - cumulation.readableBytes());
+  }
+}
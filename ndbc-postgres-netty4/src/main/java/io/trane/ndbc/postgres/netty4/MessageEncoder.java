@@ -0,0 +1,99 @@
+package io.trane.ndbc.postgres.netty4;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.proto.ClientMessage;
+
+/**
+ * Encodes all the client messages written between two flushes into a single
+ * buffer, so an exchange like Parse/Bind/Execute/Sync reaches the socket as
+ * one write instead of one buffer per message. Large batches are handed to the
+ * channel every `MAX_PENDING_BYTES`, so they count towards its writability.
+ */
+final class MessageEncoder extends ChannelOutboundHandlerAdapter {
+
+  private static final int           MAX_PENDING_BYTES = 64 * 1024;
+
+  private final Marshaller           encoder;
+  private final Charset              charset;
+  private final List<ChannelPromise> promises = new ArrayList<>();
+  private ByteBuf                    pending;
+
+  public MessageEncoder(final Charset charset, final Marshaller encoder) {
+    super();
+    this.charset = charset;
+    this.encoder = encoder;
+  }
+
+  @Override
+  public final void write(final ChannelHandlerContext ctx, final Object msg,
+      final ChannelPromise promise) throws Exception {
+    if (msg instanceof ClientMessage) {
+      if (pending == null)
+        pending = ctx.alloc().ioBuffer();
+      final int writerIndex = pending.writerIndex();
+      try {
+        encoder.encode((ClientMessage) msg, new BufferWriter(charset, pending));
+        promises.add(promise);
+        if (pending.readableBytes() >= MAX_PENDING_BYTES)
+          writePending(ctx);
+      } catch (final Throwable ex) {
+        pending.writerIndex(writerIndex);
+        promise.setFailure(ex);
+      }
+    } else
+      ctx.write(msg, promise);
+  }
+
+  @Override
+  public final void flush(final ChannelHandlerContext ctx) throws Exception {
+    writePending(ctx);
+    ctx.flush();
+  }
+
+  private final void writePending(final ChannelHandlerContext ctx) {
+    if (pending != null) {
+      final ByteBuf buf = pending;
+      final ChannelPromise[] ps = promises.toArray(new ChannelPromise[promises.size()]);
+      pending = null;
+      promises.clear();
+      ctx.write(buf).addListener(future -> {
+        for (final ChannelPromise p : ps)
+          if (future.isSuccess())
+            p.trySuccess();
+          else
+            p.tryFailure(future.cause());
+      });
+    }
+  }
+
+  @Override
+  public final void close(final ChannelHandlerContext ctx, final ChannelPromise promise)
+      throws Exception {
+    discard(new IllegalStateException("Channel closed."));
+    super.close(ctx, promise);
+  }
+
+  @Override
+  public final void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+    discard(new IllegalStateException("Encoder removed."));
+    super.handlerRemoved(ctx);
+  }
+
+  private final void discard(final Throwable cause) {
+    if (pending != null) {
+      pending.release();
+      pending = null;
+    }
+    for (final ChannelPromise p : promises)
+      p.tryFailure(cause);
+    promises.clear();
+  }
+}
@@ -1,6 +1,8 @@
 package io.trane.ndbc.postgres.netty4;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -10,12 +12,28 @@ import io.trane.future.Promise;
 import io.trane.ndbc.proto.Channel;
 import io.trane.ndbc.proto.ClientMessage;
 import io.trane.ndbc.proto.ServerMessage;
+import io.trane.ndbc.proto.WireTracer;
 
 final class NettyChannel extends SimpleChannelInboundHandler<ServerMessage> implements Channel {
 
+  private static final AtomicInteger                    nextId             = new AtomicInteger();
+
+  private final int                                     id                 = nextId
+      .incrementAndGet();
+  private final WireTracer                              tracer;
   private Promise<ChannelHandlerContext>                ctx                = Promise.apply();
   private final AtomicReference<Promise<ServerMessage>> nextMessagePromise = new AtomicReference<>(
       null);
+  private final AtomicReference<Handler>                handler            = new AtomicReference<>(
+      null);
+  private final AtomicReference<Promise<Void>>          writable           = new AtomicReference<>(
+      null);
+  private volatile Throwable                            writeFailure       = null;
+
+  public NettyChannel(final WireTracer tracer) {
+    super();
+    this.tracer = tracer;
+  }
 
   @Override
   public final void channelActive(final ChannelHandlerContext ctx) throws Exception {
@@ -27,13 +45,21 @@ final class NettyChannel extends SimpleChannelInboundHandler<ServerMessage> impl
   public final void channelInactive(final ChannelHandlerContext ctx) throws Exception {
     this.ctx = Promise.apply();
     this.ctx.setException(new IllegalStateException("Channel inactive."));
+    final Handler h = handler.getAndSet(null);
+    if (h != null)
+      h.promise.setException(new IllegalStateException("Channel inactive."));
     super.channelInactive(ctx);
   }
 
   @Override
   protected final void channelRead0(final ChannelHandlerContext ctx, final ServerMessage msg)
       throws Exception {
-    System.out.println(hashCode() + " received: " + msg);
+    tracer.received(id, msg);
+    final Handler h = handler.get();
+    if (h != null) {
+      handle(ctx, h, msg);
+      return;
+    }
     final Promise<ServerMessage> p = nextMessagePromise.get();
     if (p == null)
       throw new IllegalStateException("Unexpected server message: " + msg);
@@ -43,6 +69,51 @@ final class NettyChannel extends SimpleChannelInboundHandler<ServerMessage> impl
     p.setValue(msg);
   }
 
+  private final void handle(final ChannelHandlerContext ctx, final Handler h,
+      final ServerMessage msg) {
+    final boolean more;
+    try {
+      more = h.f.test(msg);
+    } catch (final Throwable ex) {
+      done(ctx, h);
+      h.promise.setException(ex);
+      return;
+    }
+    if (!more) {
+      done(ctx, h);
+      h.promise.become(Future.VOID);
+    }
+  }
+
+  // stops auto-read before completing, so the continuation can call `receive`
+  private final void done(final ChannelHandlerContext ctx, final Handler h) {
+    ctx.channel().config().setAutoRead(false);
+    handler.compareAndSet(h, null);
+  }
+
+  @Override
+  public final void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+    if (ctx.channel().isWritable()) {
+      final Promise<Void> p = writable.getAndSet(null);
+      if (p != null)
+        p.become(Future.VOID);
+    }
+    super.channelWritabilityChanged(ctx);
+  }
+
+  private final void writeFailed(final Throwable cause) {
+    writeFailure = cause;
+    final Promise<ServerMessage> p = nextMessagePromise.getAndSet(null);
+    if (p != null)
+      p.setException(cause);
+    final Handler h = handler.getAndSet(null);
+    if (h != null)
+      h.promise.setException(cause);
+    final Promise<Void> w = writable.getAndSet(null);
+    if (w != null)
+      w.setException(cause);
+  }
+
   public final Future<Void> addSSLHandler(final SslHandler h) {
     return ctx.onSuccess(c -> c.pipeline().addFirst(h)).voided();
   }
@@ -51,7 +122,9 @@ final class NettyChannel extends SimpleChannelInboundHandler<ServerMessage> impl
   public final Future<ServerMessage> receive() {
     return ctx.flatMap(c -> {
       final Promise<ServerMessage> p = Promise.apply();
-      if (nextMessagePromise.compareAndSet(null, p)) {
+      if (writeFailure != null)
+        return Future.exception(writeFailure);
+      else if (handler.get() == null && nextMessagePromise.compareAndSet(null, p)) {
         c.flush();
         c.read();
         return p;
@@ -60,15 +133,72 @@ final class NettyChannel extends SimpleChannelInboundHandler<ServerMessage> impl
     });
   }
 
+  /**
+   * Keeps auto-read enabled and invokes `f` synchronously on the event loop for
+   * each decoded message, until it returns false.
+   */
+  @Override
+  public final Future<Void> receiveWhile(final Predicate<ServerMessage> f) {
+    return ctx.flatMap(c -> {
+      final Handler h = new Handler(f);
+      if (writeFailure != null)
+        return Future.exception(writeFailure);
+      else if (nextMessagePromise.get() == null && handler.compareAndSet(null, h)) {
+        c.flush();
+        c.channel().config().setAutoRead(true);
+        return h.promise;
+      } else
+        return Future.exception(new IllegalStateException("Previous `receive` still pending."));
+    });
+  }
+
+  /**
+   * Returns immediately while the channel is writable. Otherwise, flushes and
+   * waits until the outbound buffer drains below the low water mark.
+   *
+   * Off the event loop, the write is only queued, so the writability is checked
+   * on the event loop after the message is added to the outbound buffer.
+   */
   @Override
   public final Future<Void> send(final ClientMessage msg) {
-    System.out.println(hashCode() + " sent: " + msg);
     return ctx.flatMap(c -> {
-      c.write(msg);// .addListener(future -> p.become(Future.VOID));
-      return Future.VOID;
+      if (writeFailure != null)
+        return Future.exception(writeFailure);
+      tracer.sent(id, msg);
+      if (c.executor().inEventLoop())
+        return write(c, msg);
+      else {
+        final Promise<Void> p = Promise.apply();
+        c.executor().execute(() -> p.become(write(c, msg)));
+        return p;
+      }
     });
   }
 
+  private final Future<Void> write(final ChannelHandlerContext c, final ClientMessage msg) {
+    c.write(msg).addListener(future -> {
+      if (!future.isSuccess())
+        writeFailed(future.cause());
+    });
+    if (c.channel().isWritable())
+      return Future.VOID;
+    else {
+      c.flush();
+      return writable(c);
+    }
+  }
+
+  private final Future<Void> writable(final ChannelHandlerContext c) {
+    final Promise<Void> p = Promise.apply();
+    final Promise<Void> previous = writable.getAndSet(p);
+    if (previous != null)
+      previous.become(p);
+    // the channel may have become writable before the promise was set
+    if (c.channel().isWritable() && writable.compareAndSet(p, null))
+      p.become(Future.VOID);
+    return p;
+  }
+
   @Override
   public final Future<Void> close() {
     return ctx.flatMap(c -> {
@@ -85,4 +215,13 @@ final class NettyChannel extends SimpleChannelInboundHandler<ServerMessage> impl
   public Future<ChannelHandlerContext> ctx() {
     return ctx;
   }
+
+  private static final class Handler {
+    final Predicate<ServerMessage> f;
+    final Promise<Void>            promise = Promise.apply();
+
+    Handler(final Predicate<ServerMessage> f) {
+      this.f = f;
+    }
+  }
 }
@@ -0,0 +1,150 @@
+package io.trane.ndbc.postgres.netty4;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Logger;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.trane.ndbc.Config;
+
+abstract class Transport {
+
+  private static final Logger log   = Logger.getLogger(Transport.class.getName());
+
+  public static final Transport NIO   = new NioTransport();
+  public static final Transport EPOLL = new EpollTransport();
+
+  public static final Transport apply(final Config config) {
+    if (config.unixSocket().isPresent())
+      if (Epoll.isAvailable())
+        return new EpollDomainSocketTransport(socketFile(config.unixSocket().get(), config.port()));
+      else
+        throw new IllegalStateException(
+            "Unix domain sockets require the native epoll transport, which is not available.",
+            Epoll.unavailabilityCause());
+    else if (config.transport().orElse(Config.Transport.NIO) == Config.Transport.NIO)
+      return NIO;
+    else if (Epoll.isAvailable())
+      return EPOLL;
+    else {
+      log.warning("Epoll transport not available, falling back to NIO. Reason: "
+          + Epoll.unavailabilityCause());
+      return NIO;
+    }
+  }
+
+  /**
+   * Picks the transport whose channels can be registered with the given,
+   * externally managed, event loop group. The configured transport is ignored.
+   */
+  public static final Transport apply(final Config config, final EventLoopGroup eventLoopGroup) {
+    if (eventLoopGroup instanceof EpollEventLoopGroup)
+      if (config.unixSocket().isPresent())
+        return new EpollDomainSocketTransport(socketFile(config.unixSocket().get(), config.port()));
+      else
+        return EPOLL;
+    else if (config.unixSocket().isPresent())
+      throw new IllegalArgumentException(
+          "Unix domain sockets require an EpollEventLoopGroup, got " + eventLoopGroup);
+    else if (eventLoopGroup instanceof NioEventLoopGroup)
+      return NIO;
+    else
+      throw new IllegalArgumentException("Unsupported event loop group " + eventLoopGroup);
+  }
+
+  private static final File socketFile(final String path, final int port) {
+    final File file = new File(path);
+    if (file.isDirectory())
+      return new File(file, ".s.PGSQL." + port);
+    else
+      return file;
+  }
+
+  public abstract EventLoopGroup eventLoopGroup(int threads, ThreadFactory threadFactory);
+
+  public abstract Bootstrap channel(Bootstrap bootstrap);
+
+  /**
+   * The address to connect to. TCP transports return an unresolved address, so
+   * the host can be resolved without blocking.
+   */
+  public abstract SocketAddress address(String host, int port);
+
+  private static final class NioTransport extends Transport {
+
+    @Override
+    public final EventLoopGroup eventLoopGroup(final int threads,
+        final ThreadFactory threadFactory) {
+      return new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    public final Bootstrap channel(final Bootstrap bootstrap) {
+      return bootstrap.channel(NioSocketChannel.class)
+          .option(ChannelOption.SO_KEEPALIVE, true);
+    }
+
+    @Override
+    public final SocketAddress address(final String host, final int port) {
+      return InetSocketAddress.createUnresolved(host, port);
+    }
+  }
+
+  private static final class EpollTransport extends Transport {
+
+    @Override
+    public final EventLoopGroup eventLoopGroup(final int threads,
+        final ThreadFactory threadFactory) {
+      return new EpollEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    public final Bootstrap channel(final Bootstrap bootstrap) {
+      return bootstrap.channel(EpollSocketChannel.class)
+          .option(ChannelOption.SO_KEEPALIVE, true)
+          .option(EpollChannelOption.TCP_QUICKACK, true);
+    }
+
+    @Override
+    public final SocketAddress address(final String host, final int port) {
+      return InetSocketAddress.createUnresolved(host, port);
+    }
+  }
+
+  private static final class EpollDomainSocketTransport extends Transport {
+
+    private final DomainSocketAddress address;
+
+    public EpollDomainSocketTransport(final File socketFile) {
+      this.address = new DomainSocketAddress(socketFile);
+    }
+
+    @Override
+    public final EventLoopGroup eventLoopGroup(final int threads,
+        final ThreadFactory threadFactory) {
+      return new EpollEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    public final Bootstrap channel(final Bootstrap bootstrap) {
+      return bootstrap.channel(EpollDomainSocketChannel.class);
+    }
+
+    @Override
+    public final SocketAddress address(final String host, final int port) {
+      return address;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+public class BufferReaderTest {
+
+  private final Charset charset = StandardCharsets.UTF_8;
+
+  @Test
+  public void readStringAsciiHeap() {
+    assertEquals("abc", reader(Unpooled.buffer(), "abc").readString());
+  }
+
+  @Test
+  public void readStringAsciiDirect() {
+    assertEquals("abc", reader(Unpooled.directBuffer(), "abc").readString());
+  }
+
+  @Test
+  public void readStringNonAsciiHeap() {
+    assertEquals("a\u00e7\u00e3o", reader(Unpooled.buffer(), "a\u00e7\u00e3o").readString());
+  }
+
+  @Test
+  public void readStringNonAsciiDirect() {
+    assertEquals("a\u00e7\u00e3o", reader(Unpooled.directBuffer(), "a\u00e7\u00e3o").readString());
+  }
+
+  @Test
+  public void readStringEmpty() {
+    assertEquals("", reader(Unpooled.buffer(), "").readString());
+  }
+
+  @Test
+  public void readStringFromSlice() {
+    final ByteBuf bb = Unpooled.buffer();
+    bb.writeBytes("xxabcxx".getBytes(charset));
+    final BufferReader r = new BufferReader(charset, bb).readSlice(7);
+    r.readBytes(2);
+    assertEquals("abc", r.readString(3));
+    assertEquals(2, r.readableBytes());
+  }
+
+  @Test
+  public void readCString() {
+    final ByteBuf bb = Unpooled.buffer();
+    bb.writeBytes("a\u00e7\u00e3o".getBytes(charset));
+    bb.writeByte(0);
+    bb.writeInt(42);
+    final BufferReader r = new BufferReader(charset, bb);
+    assertEquals("a\u00e7\u00e3o", r.readCString());
+    assertEquals(42, r.readInt());
+  }
+
+  @Test
+  public void readStringLatin1() {
+    final Charset latin1 = StandardCharsets.ISO_8859_1;
+    final ByteBuf bb = Unpooled.buffer();
+    bb.writeBytes("a\u00e7\u00e3o".getBytes(latin1));
+    assertEquals("a\u00e7\u00e3o", new BufferReader(latin1, bb).readString());
+  }
+
+  private final BufferReader reader(final ByteBuf bb, final String s) {
+    bb.writeBytes(s.getBytes(charset));
+    return new BufferReader(charset, bb);
+  }
+}
@@ -0,0 +1,58 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+public class BufferWriterTest {
+
+  private final Charset charset = StandardCharsets.UTF_8;
+
+  @Test
+  public void writeString() {
+    final ByteBuf bb = Unpooled.buffer();
+    new BufferWriter(charset, bb).writeString("a\u00e7\u00e3o");
+    assertArrayEquals("a\u00e7\u00e3o".getBytes(charset), ByteBufUtil.getBytes(bb));
+  }
+
+  @Test
+  public void writeCString() {
+    final ByteBuf bb = Unpooled.buffer();
+    new BufferWriter(charset, bb).writeCString("abc");
+    assertArrayEquals(new byte[] { 'a', 'b', 'c', 0 }, ByteBufUtil.getBytes(bb));
+  }
+
+  @Test
+  public void writeLength() {
+    final ByteBuf bb = Unpooled.buffer();
+    bb.writeByte(9);
+    final BufferWriter w = new BufferWriter(charset, bb);
+    w.writeChar('Q');
+    w.writeInt(0);
+    w.writeLong(1L);
+    w.writeLength(1);
+    assertEquals(12, bb.getInt(2));
+    assertEquals(14, bb.writerIndex());
+  }
+
+  @Test
+  public void writeLengthNoSelf() {
+    final ByteBuf bb = Unpooled.buffer();
+    final BufferWriter w = new BufferWriter(charset, bb);
+    w.writeInt(0);
+    w.writeDouble(1.5d);
+    w.writeFloat(2.5f);
+    w.writeLengthNoSelf(0);
+    assertEquals(12, bb.getInt(0));
+    assertEquals(1.5d, bb.getDouble(4), 0);
+    assertEquals(2.5f, bb.getFloat(12), 0);
+  }
+}
@@ -0,0 +1,118 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.UnknownHostException;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.trane.future.CheckedFutureException;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.WireTracer;
+
+public class ChannelSupplierTest {
+
+  private final Duration       timeout        = Duration.ofSeconds(5);
+  private final EventLoopGroup eventLoopGroup = Transport.NIO.eventLoopGroup(1,
+      r -> new Thread(r));
+  private final List<ChannelSupplier> suppliers = new ArrayList<>();
+
+  @After
+  public void shutdown() {
+    suppliers.forEach(ChannelSupplier::close);
+    eventLoopGroup.shutdownGracefully();
+  }
+
+  @Test
+  public void connectResolvingHost() throws IOException, CheckedFutureException {
+    try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      final NettyChannel channel = supplier("localhost",
+          server.getLocalPort()).get().get(timeout);
+      channel.close().get(timeout);
+    }
+  }
+
+  @Test
+  public void connectFailure() throws IOException {
+    final int port = closedPort();
+    try {
+      supplier("127.0.0.1", port).get().get(timeout);
+      fail();
+    } catch (final CheckedFutureException ex) {
+      assertTrue(ex.getCause() instanceof ConnectException);
+    }
+  }
+
+  @Test
+  public void connectUnknownHost() {
+    try {
+      supplier("unknown.invalid", 5432).get().get(timeout);
+      fail();
+    } catch (final CheckedFutureException ex) {
+      assertTrue(ex.getCause() instanceof UnknownHostException);
+    }
+  }
+
+  @Test
+  public void connectTriesTheNextAddress() throws IOException, CheckedFutureException {
+    final InetAddress loopback = InetAddress.getLoopbackAddress();
+    final int closed1 = closedPort();
+    final int closed2 = closedPort();
+    try (final ServerSocket server = new ServerSocket(0, 1, loopback)) {
+      final NettyChannel channel = supplier("localhost", server.getLocalPort())
+          .connect(Arrays.asList(new InetSocketAddress(loopback, closed1),
+              new InetSocketAddress(loopback, closed2),
+              new InetSocketAddress(loopback, server.getLocalPort())), 0)
+          .get(timeout);
+      channel.close().get(timeout);
+    }
+  }
+
+  @Test
+  public void connectFailsWithTheLastAddress() throws IOException {
+    final InetAddress loopback = InetAddress.getLoopbackAddress();
+    final int closed = closedPort();
+    try {
+      supplier("localhost", closed)
+          .connect(Arrays.asList(new InetSocketAddress("unknown.invalid", closed),
+              new InetSocketAddress(loopback, closed)), 0)
+          .get(timeout);
+      fail();
+    } catch (final CheckedFutureException ex) {
+      assertTrue(ex.getCause() instanceof ConnectException);
+    }
+  }
+
+  private final int closedPort() throws IOException {
+    try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      return server.getLocalPort();
+    }
+  }
+
+  private final ChannelSupplier supplier(final String host, final int port) {
+    final EncodingRegistry encoding = new EncodingRegistry(Optional.empty());
+    final Marshaller marshaller = Marshaller.apply(encoding);
+    final ChannelSupplier supplier = new ChannelSupplier(Charset.forName("UTF-8"), marshaller,
+        new Unmarshaller(), Transport.NIO, eventLoopGroup, host, port, WireTracer.NONE,
+        WriteBufferWaterMark.DEFAULT, Optional.of(timeout));
+    suppliers.add(supplier);
+    return supplier;
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -14,6 +15,7 @@ import org.junit.Test;
 
 import io.trane.future.CheckedFutureException;
 import io.trane.future.Future;
+import io.trane.ndbc.DataSource;
 import io.trane.ndbc.PreparedStatement;
 import io.trane.ndbc.Row;
 
@@ -70,6 +72,35 @@ public class DataSourceTest extends TestEnv {
     assertFalse(rows.hasNext());
   }
 
+  @Test
+  public void extendedQueryInList() throws CheckedFutureException {
+    ds.execute("INSERT INTO " + table + " VALUES ('u')").get(timeout);
+    ds.execute("INSERT INTO " + table + " VALUES ('v')").get(timeout);
+
+    final Iterator<Row> rows = ds
+        .query(PreparedStatement.apply("SELECT * FROM " + table + " WHERE s IN (?) ORDER BY s")
+            .setStringIn(Arrays.asList("s", "v")))
+        .get(timeout).iterator();
+    assertEquals(rows.next().column(0).getString(), "s");
+    assertEquals(rows.next().column(0).getString(), "v");
+    assertFalse(rows.hasNext());
+  }
+
+  @Test
+  public void warmupStatements() throws CheckedFutureException {
+    final PreparedStatement ps = PreparedStatement.apply("SELECT * FROM " + table + " WHERE s = ?")
+        .setString("s");
+    final DataSource warmed = DataSource.fromConfig(config.addWarmupStatement(ps)
+        .addWarmupStatement(PreparedStatement.apply("SELECT * FROM INVALID_TABLE")));
+    try {
+      final Iterator<Row> rows = warmed.query(ps).get(timeout).iterator();
+      assertEquals(rows.next().column(0).getString(), "s");
+      assertFalse(rows.hasNext());
+    } finally {
+      warmed.close().get(timeout);
+    }
+  }
+
   @Test
   public void simpleExecuteInsert() throws CheckedFutureException {
     ds.execute("INSERT INTO " + table + " VALUES ('u')").get(timeout);
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -204,6 +205,31 @@ public class EncodingTest extends TestEnv {
     }, (a, b) -> assertArrayEquals(a, b));
   }
 
+  @Test
+  public void json() throws CheckedFutureException {
+    test("json", (ps, v) -> ps.setJson(v.getBytes(StandardCharsets.UTF_8)), Value::getString,
+        r -> "{\"id\":" + r.nextInt() + ", \"s\": \"" + radomString(r, 10) + "\"}");
+  }
+
+  @Test
+  public void jsonb() throws CheckedFutureException {
+    test("jsonb", (ps, v) -> ps.setJsonb(v.getBytes(StandardCharsets.UTF_8)), Value::getString,
+        r -> "[" + r.nextInt() + ", " + r.nextInt() + "]");
+  }
+
+  @Test
+  public void offsetDateTime() throws CheckedFutureException {
+    test("timestamptz", (ps, v) -> ps.setOffsetDateTime(v), Value::getOffsetDateTime,
+        r -> randomLocalDateTime(r).atOffset(ZoneOffset.ofHours(r.nextInt(18 * 2) - 18)),
+        (a, b) -> assertTrue(a.isEqual(b)));
+  }
+
+  @Test
+  public void instant() throws CheckedFutureException {
+    test("timestamptz", (ps, v) -> ps.setInstant(v), Value::getInstant,
+        r -> randomLocalDateTime(r).toInstant(ZoneOffset.UTC));
+  }
+
   @Test
   public void short_() throws CheckedFutureException {
     test("int2", (ps, v) -> ps.setShort(v), Value::getShort, r -> (short) r.nextInt());
@@ -0,0 +1,50 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.netty.handler.ssl.JdkSslContext;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
+import io.trane.ndbc.Config;
+import io.trane.ndbc.Config.SSL.Mode;
+
+public class InitSSLHandlerTest {
+
+  @Test
+  public void noSSL() {
+    assertFalse(new InitSSLHandler(Optional.empty()).sslContext().isPresent());
+  }
+
+  @Test
+  public void disabled() {
+    final Config.SSL ssl = Config.SSL.apply(Mode.DISABLE);
+    assertFalse(new InitSSLHandler(Optional.of(ssl)).sslContext().isPresent());
+  }
+
+  @Test
+  public void require() {
+    final Config.SSL ssl = Config.SSL.apply(Mode.REQUIRE);
+    final SslContext ctx = new InitSSLHandler(Optional.of(ssl)).sslContext().get();
+    assertTrue(ctx.isClient());
+    assertTrue(ctx instanceof JdkSslContext);
+  }
+
+  @Test
+  public void verifyFullDefaultTrustStore() {
+    final Config.SSL ssl = Config.SSL.apply(Mode.VERIFY_FULL);
+    assertTrue(new InitSSLHandler(Optional.of(ssl)).sslContext().get().isClient());
+  }
+
+  @Test
+  public void openSsl() {
+    final Config.SSL ssl = Config.SSL.apply(Mode.REQUIRE).provider(Config.SSL.Provider.OPENSSL);
+    final SslContext ctx = new InitSSLHandler(Optional.of(ssl)).sslContext().get();
+    assertEquals(!OpenSsl.isAvailable(), ctx instanceof JdkSslContext);
+  }
+}
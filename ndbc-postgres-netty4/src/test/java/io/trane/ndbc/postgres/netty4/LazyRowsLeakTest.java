@@ -0,0 +1,154 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import io.trane.future.CheckedFutureException;
+import io.trane.future.Future;
+import io.trane.ndbc.Row;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.encoding.Oid;
+import io.trane.ndbc.postgres.proto.QueryResultExchange;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.Channel;
+import io.trane.ndbc.proto.ClientMessage;
+import io.trane.ndbc.proto.ServerMessage;
+
+public class LazyRowsLeakTest {
+
+  private final Charset              charset  = Charset.forName("UTF-8");
+  private final Duration             timeout  = Duration.ofSeconds(1);
+  private final QueryResultExchange  exchange = new QueryResultExchange(
+      new EncodingRegistry(Optional.empty()), true);
+  private ResourceLeakDetector.Level level;
+
+  @Before
+  public void paranoid() {
+    level = ResourceLeakDetector.getLevel();
+    ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+  }
+
+  @After
+  public void restore() {
+    ResourceLeakDetector.setLevel(level);
+  }
+
+  @Test
+  public void unreadRowsDontRetainTheMessageBuffer() throws CheckedFutureException {
+    final ByteBuf messages = PooledByteBufAllocator.DEFAULT.buffer();
+    rowDescription(messages);
+    dataRow(messages, 1, "a");
+    dataRow(messages, 2, "b");
+    commandComplete(messages);
+
+    final List<Row> rows = exchange.apply()
+        .run(new BufferChannel(new Unmarshaller(true), messages)).get(timeout);
+    assertEquals(1, rows.get(0).getInt(0));
+
+    assertTrue(messages.release());
+    assertEquals(0, messages.refCnt());
+
+    assertEquals("a", rows.get(0).column(1).getString());
+    assertEquals(2, rows.get(1).getInt("i"));
+    assertEquals("b", rows.get(1).column("s").getString());
+  }
+
+  @Test
+  public void eagerRowsDontRetainTheMessageBuffer() throws CheckedFutureException {
+    final ByteBuf messages = PooledByteBufAllocator.DEFAULT.buffer();
+    rowDescription(messages);
+    dataRow(messages, 1, "a");
+    commandComplete(messages);
+
+    final List<Row> rows = new QueryResultExchange(new EncodingRegistry(Optional.empty()), false)
+        .apply().run(new BufferChannel(new Unmarshaller(), messages)).get(timeout);
+
+    assertTrue(messages.release());
+    assertEquals("a", rows.get(0).column(1).getString());
+  }
+
+  private final void rowDescription(final ByteBuf b) {
+    final int start = message(b, 'T');
+    b.writeShort(2);
+    field(b, "i", Oid.INT4, 4, 1);
+    field(b, "s", Oid.TEXT, -1, 0);
+    length(b, start);
+  }
+
+  private final void field(final ByteBuf b, final String name, final int oid, final int size,
+      final int format) {
+    b.writeCharSequence(name, charset);
+    b.writeByte(0);
+    b.writeInt(0).writeShort(0).writeInt(oid).writeShort(size).writeInt(-1).writeShort(format);
+  }
+
+  private final void dataRow(final ByteBuf b, final int i, final String s) {
+    final int start = message(b, 'D');
+    b.writeShort(2);
+    b.writeInt(4).writeInt(i);
+    final byte[] bytes = s.getBytes(charset);
+    b.writeInt(bytes.length).writeBytes(bytes);
+    length(b, start);
+  }
+
+  private final void commandComplete(final ByteBuf b) {
+    final int start = message(b, 'C');
+    b.writeCharSequence("SELECT 2", charset);
+    b.writeByte(0);
+    length(b, start);
+  }
+
+  private final int message(final ByteBuf b, final char type) {
+    b.writeByte(type);
+    final int start = b.writerIndex();
+    b.writeInt(0);
+    return start;
+  }
+
+  private final void length(final ByteBuf b, final int start) {
+    b.setInt(start, b.writerIndex() - start);
+  }
+
+  // decodes the messages from a single buffer, like the channel's decoder does
+  private final class BufferChannel implements Channel {
+    private final Unmarshaller unmarshaller;
+    private final ByteBuf      messages;
+
+    BufferChannel(final Unmarshaller unmarshaller, final ByteBuf messages) {
+      this.unmarshaller = unmarshaller;
+      this.messages = messages;
+    }
+
+    @Override
+    public final Future<ServerMessage> receive() {
+      try {
+        return Future.value((ServerMessage) unmarshaller
+            .decode(false, new BufferReader(charset, messages)).get());
+      } catch (final Exception ex) {
+        return Future.exception(ex);
+      }
+    }
+
+    @Override
+    public final Future<Void> send(final ClientMessage msg) {
+      return Future.VOID;
+    }
+
+    @Override
+    public final Future<Void> close() {
+      return Future.VOID;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+public class MessageCumulatorTest {
+
+  private final ByteBufAllocator alloc      = UnpooledByteBufAllocator.DEFAULT;
+  private final MessageCumulator cumulator  = new MessageCumulator();
+  private final int              bodyLength = 1024 * 1024;
+
+  @Test
+  public void allocateWholeMessage() {
+    final ByteBuf header = alloc.buffer(5, 5);
+    header.writeByte('D').writeInt(4 + bodyLength);
+
+    ByteBuf cumulation = cumulator.cumulate(alloc, header, chunk(1000));
+    assertTrue(cumulation.capacity() >= 5 + bodyLength);
+
+    final ByteBuf allocated = cumulation;
+    int remaining = bodyLength - 1000;
+    while (remaining > 0) {
+      final int size = Math.min(remaining, 8192);
+      cumulation = cumulator.cumulate(alloc, cumulation, chunk(size));
+      remaining -= size;
+    }
+    assertSame(allocated, cumulation);
+    assertEquals(5 + bodyLength, cumulation.readableBytes());
+    assertEquals('D', cumulation.readByte());
+    assertEquals(4 + bodyLength, cumulation.readInt());
+    cumulation.release();
+  }
+
+  @Test
+  public void headerSplitAcrossBuffers() {
+    final ByteBuf first = alloc.buffer(2, 2);
+    first.writeByte('D').writeByte(0);
+    final ByteBuf second = alloc.buffer();
+    second.writeByte(1).writeShort(0);
+
+    final ByteBuf cumulation = cumulator.cumulate(alloc, first, second);
+    assertTrue(cumulation.capacity() >= 1 + 0x10000);
+    assertEquals(5, cumulation.readableBytes());
+    cumulation.release();
+  }
+
+  @Test
+  public void appendInPlace() {
+    final ByteBuf cumulation = alloc.buffer(64);
+    cumulation.writeByte('Z');
+    assertSame(cumulation, cumulator.cumulate(alloc, cumulation, chunk(10)));
+    assertEquals(11, cumulation.readableBytes());
+    cumulation.release();
+  }
+
+  private final ByteBuf chunk(final int size) {
+    final ByteBuf b = alloc.buffer(size);
+    b.writeZero(size);
+    return b;
+  }
+}
@@ -0,0 +1,89 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.proto.Message.Bind;
+import io.trane.ndbc.postgres.proto.Message.Execute;
+import io.trane.ndbc.postgres.proto.Message.Parse;
+import io.trane.ndbc.postgres.proto.Message.Sync;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.proto.ClientMessage;
+import io.trane.ndbc.value.IntegerValue;
+import io.trane.ndbc.value.Value;
+
+public class MessageEncoderTest {
+
+  private final Charset             charset = Charset.forName("UTF-8");
+  private final Marshaller          encoder = marshaller(new EncodingRegistry(Optional.empty()));
+  private final List<Value<?>>      params  = Arrays.asList(new IntegerValue(1));
+  private final List<ClientMessage> msgs    = Arrays.asList(
+      new Parse("1", "SELECT $1", params),
+      new Bind("", "1", new short[] { 1 }, params, new short[] { 1 }),
+      new Execute("", 0),
+      new Sync());
+
+  @Test
+  public void coalesceUntilFlush() {
+    final EmbeddedChannel ch = new EmbeddedChannel(new MessageEncoder(charset, encoder));
+    for (final ClientMessage msg : msgs)
+      ch.write(msg);
+    assertNull(ch.readOutbound());
+    ch.flush();
+
+    final ByteBuf out = ch.readOutbound();
+    assertNull(ch.readOutbound());
+    try {
+      assertEquals(encodeSeparately(), out);
+    } finally {
+      out.release();
+    }
+  }
+
+  @Test
+  public void completeWritePromises() {
+    final EmbeddedChannel ch = new EmbeddedChannel(new MessageEncoder(charset, encoder));
+    final ChannelFuture f = ch.write(new Sync());
+    assertFalse(f.isDone());
+    ch.flush();
+    assertTrue(f.isSuccess());
+    ch.<ByteBuf>readOutbound().release();
+  }
+
+  @Test
+  public void failWritePromisesOnClose() {
+    final EmbeddedChannel ch = new EmbeddedChannel(new MessageEncoder(charset, encoder));
+    final ChannelFuture f = ch.write(new Sync());
+    ch.close();
+    assertFalse(f.isSuccess());
+    assertNull(ch.readOutbound());
+  }
+
+  private final ByteBuf encodeSeparately() {
+    final ByteBuf expected = Unpooled.buffer();
+    for (final ClientMessage msg : msgs) {
+      final ByteBuf b = Unpooled.buffer();
+      encoder.encode(msg, new BufferWriter(charset, b));
+      expected.writeBytes(b);
+    }
+    return expected;
+  }
+
+  private final Marshaller marshaller(final EncodingRegistry encoding) {
+    return Marshaller.apply(encoding);
+  }
+}
@@ -0,0 +1,187 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.flow.FlowControlHandler;
+import io.netty.util.ReferenceCountUtil;
+import io.trane.future.CheckedFutureException;
+import io.trane.future.Future;
+import io.trane.ndbc.proto.ClientMessage;
+import io.trane.ndbc.proto.ServerMessage;
+import io.trane.ndbc.proto.WireTracer;
+
+public class NettyChannelTest {
+
+  private final Duration      timeout = Duration.ofSeconds(1);
+  private final NettyChannel  channel = new NettyChannel(WireTracer.NONE);
+  private final ServerMessage msg1    = new TestServerMessage();
+  private final ServerMessage msg2    = new TestServerMessage();
+  private final ServerMessage last    = new TestServerMessage();
+  private final ServerMessage next    = new TestServerMessage();
+
+  @Test
+  public void receiveWhile() throws CheckedFutureException {
+    final EmbeddedChannel ch = embeddedChannel();
+    final List<ServerMessage> received = new ArrayList<>();
+    final Future<Void> f = channel.receiveWhile(m -> received.add(m) && m != last);
+    assertTrue(ch.config().isAutoRead());
+
+    ch.writeInbound(msg1, msg2, last, next);
+    f.get(timeout);
+    assertEquals(Arrays.asList(msg1, msg2, last), received);
+    assertFalse(ch.config().isAutoRead());
+    assertEquals(next, channel.receive().get(timeout));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void receiveWhileHandlerFailure() throws CheckedFutureException {
+    final EmbeddedChannel ch = embeddedChannel();
+    final Future<Void> f = channel.receiveWhile(m -> {
+      throw new IllegalStateException();
+    });
+    ch.writeInbound(msg1);
+    try {
+      f.get(timeout);
+    } finally {
+      assertFalse(ch.config().isAutoRead());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void receiveWhilePending() throws CheckedFutureException {
+    embeddedChannel();
+    channel.receiveWhile(m -> true);
+    channel.receive().get(timeout);
+  }
+
+  @Test
+  public void sendWaitsUntilWritable() throws CheckedFutureException {
+    final HoldFlushes holdFlushes = new HoldFlushes();
+    final EmbeddedChannel ch = new EmbeddedChannel(holdFlushes, channel);
+    ch.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1, 4));
+
+    final Future<Void> f = channel.send(new TestClientMessage());
+    ch.runPendingTasks();
+    assertFalse(ch.isWritable());
+    assertFalse(f.isDefined());
+
+    holdFlushes.release();
+    ch.runPendingTasks();
+    assertTrue(ch.isWritable());
+    f.get(timeout);
+  }
+
+  @Test
+  public void sendOffTheEventLoopWaitsUntilWritable() throws Exception {
+    final DefaultEventLoopGroup group = new DefaultEventLoopGroup(1);
+    final LocalAddress address = new LocalAddress("sendOffTheEventLoopWaitsUntilWritable");
+    final HoldFlushes holdFlushes = new HoldFlushes();
+    try {
+      new ServerBootstrap().group(group).channel(LocalServerChannel.class)
+          .childHandler(new Discard()).bind(address).sync();
+      final Channel ch = new Bootstrap().group(group).channel(LocalChannel.class)
+          .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(500, 1000))
+          .handler(new ChannelInitializer<Channel>() {
+            @Override
+            protected final void initChannel(final Channel c) {
+              c.pipeline().addLast(holdFlushes, new LargeMessages(), channel);
+            }
+          }).connect(address).sync().channel();
+      channel.ctx().get(timeout);
+
+      final Future<Void> f = channel.send(new TestClientMessage());
+      ch.eventLoop().submit(() -> {
+      }).sync();
+      assertFalse(f.isDefined());
+
+      ch.eventLoop().execute(holdFlushes::release);
+      f.get(timeout);
+      ch.close().sync();
+    } finally {
+      group.shutdownGracefully().sync();
+    }
+  }
+
+  @Test(expected = CheckedFutureException.class)
+  public void writeFailure() throws CheckedFutureException {
+    final EmbeddedChannel ch = new EmbeddedChannel(new FailWrites(), channel);
+    ch.config().setAutoRead(false);
+    channel.send(new TestClientMessage()).get(timeout);
+    channel.receive().get(timeout);
+  }
+
+  private final EmbeddedChannel embeddedChannel() {
+    final EmbeddedChannel ch = new EmbeddedChannel(new FlowControlHandler(), channel);
+    ch.config().setAutoRead(false);
+    return ch;
+  }
+
+  private static final class TestServerMessage implements ServerMessage {
+  }
+
+  private static final class TestClientMessage implements ClientMessage {
+  }
+
+  private static final class HoldFlushes extends ChannelOutboundHandlerAdapter {
+    private ChannelHandlerContext ctx;
+
+    @Override
+    public final void flush(final ChannelHandlerContext ctx) {
+      this.ctx = ctx;
+    }
+
+    public final void release() {
+      ctx.flush();
+    }
+  }
+
+  private static final class LargeMessages extends MessageToByteEncoder<TestClientMessage> {
+    @Override
+    protected final void encode(final ChannelHandlerContext ctx, final TestClientMessage msg,
+        final ByteBuf out) {
+      out.writeZero(2000);
+    }
+  }
+
+  private static final class Discard extends ChannelInboundHandlerAdapter {
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+      ReferenceCountUtil.release(msg);
+    }
+  }
+
+  private static final class FailWrites extends ChannelOutboundHandlerAdapter {
+    @Override
+    public final void write(final ChannelHandlerContext ctx, final Object msg,
+        final ChannelPromise promise) {
+      promise.setFailure(new IOException("Write failed."));
+    }
+  }
+}
@@ -7,7 +7,7 @@ import io.trane.ndbc.DataSource;
 
 public class TestEnv {
 
-  private final Config config  = Config
+  protected final Config config = Config
       .apply("io.trane.ndbc.postgres.netty4.DataSourceSupplier", "localhost", 5432, "postgres")
       .password("postgres")
       .poolValidationInterval(Duration.ofSeconds(1))
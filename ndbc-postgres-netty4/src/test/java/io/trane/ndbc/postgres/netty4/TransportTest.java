@@ -0,0 +1,112 @@
+package io.trane.ndbc.postgres.netty4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.trane.ndbc.Config;
+
+public class TransportTest {
+
+  private final Config config = Config.apply("some.Class", "localhost", 5432, "user");
+
+  @Test
+  public void defaultTransport() {
+    assertEquals(Transport.NIO, Transport.apply(config));
+  }
+
+  @Test
+  public void nio() {
+    assertEquals(Transport.NIO, Transport.apply(config.transport(Config.Transport.NIO)));
+  }
+
+  @Test
+  public void epoll() {
+    final Transport expected = Epoll.isAvailable() ? Transport.EPOLL : Transport.NIO;
+    assertEquals(expected, Transport.apply(config.transport(Config.Transport.EPOLL)));
+  }
+
+  @Test
+  public void inetAddress() {
+    final InetSocketAddress address = (InetSocketAddress) Transport.apply(config)
+        .address("localhost", 5432);
+    assertTrue(address.isUnresolved());
+    assertEquals("localhost", address.getHostString());
+    assertEquals(5432, address.getPort());
+  }
+
+  @Test
+  public void unixSocketFile() {
+    Assume.assumeTrue(Epoll.isAvailable());
+    final String path = "/tmp/.s.PGSQL.5432";
+    final DomainSocketAddress address = (DomainSocketAddress) Transport
+        .apply(config.unixSocket(path)).address("localhost", 5432);
+    assertEquals(path, address.path());
+  }
+
+  @Test
+  public void unixSocketDirectory() throws IOException {
+    Assume.assumeTrue(Epoll.isAvailable());
+    final File dir = Files.createTempDirectory("ndbc").toFile();
+    try {
+      final DomainSocketAddress address = (DomainSocketAddress) Transport
+          .apply(config.unixSocket(dir.getPath())).address("localhost", 5432);
+      assertEquals(new File(dir, ".s.PGSQL.5432").getPath(), address.path());
+    } finally {
+      dir.delete();
+    }
+  }
+
+  @Test
+  public void sharedNioEventLoopGroup() {
+    final NioEventLoopGroup group = new NioEventLoopGroup(1);
+    try {
+      assertEquals(Transport.NIO, Transport.apply(config.transport(Config.Transport.EPOLL), group));
+    } finally {
+      group.shutdownGracefully();
+    }
+  }
+
+  @Test
+  public void sharedEpollEventLoopGroup() {
+    Assume.assumeTrue(Epoll.isAvailable());
+    final EpollEventLoopGroup group = new EpollEventLoopGroup(1);
+    try {
+      assertEquals(Transport.EPOLL, Transport.apply(config, group));
+    } finally {
+      group.shutdownGracefully();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void sharedNioEventLoopGroupUnixSocket() {
+    final NioEventLoopGroup group = new NioEventLoopGroup(1);
+    try {
+      Transport.apply(config.unixSocket("/tmp"), group);
+    } finally {
+      group.shutdownGracefully();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedEventLoopGroup() {
+    final DefaultEventLoopGroup group = new DefaultEventLoopGroup(1);
+    try {
+      Transport.apply(config, group);
+    } finally {
+      group.shutdownGracefully();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import io.trane.future.Future;
+import io.trane.future.FuturePool;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.Channel;
+import io.trane.ndbc.proto.ClientMessage;
+import io.trane.ndbc.proto.ServerMessage;
+import io.trane.ndbc.proto.WireTracer;
+
+/**
+ * A channel backed by blocking I/O. Sends are buffered and written together
+ * with the next receive, which runs as a task of the future pool; with a
+ * virtual thread executor, the blocking reads only park a virtual thread.
+ *
+ * Reads fill a reusable buffer with as many bytes as the socket has, and
+ * messages are decoded from slices of it. Only messages larger than the buffer
+ * get one of their own.
+ */
+final class BlockingChannel implements Channel {
+
+  static final int                   READ_BUFFER_SIZE = 64 * 1024;
+
+  private static final AtomicInteger nextId           = new AtomicInteger();
+
+  private final int                  id               = nextId.incrementAndGet();
+  private final ByteChannel          socket;
+  private final FuturePool           pool;
+  private final Charset              charset;
+  private final Marshaller           encoder;
+  private final Unmarshaller         decoder;
+  private final WireTracer           tracer;
+  private final BufferWriter         writer;
+  private final ByteBuffer           in;
+
+  public BlockingChannel(final ByteChannel socket, final FuturePool pool, final Charset charset,
+      final Marshaller encoder, final Unmarshaller decoder, final WireTracer tracer) {
+    super();
+    this.socket = socket;
+    this.pool = pool;
+    this.charset = charset;
+    this.encoder = encoder;
+    this.decoder = decoder;
+    this.tracer = tracer;
+    this.writer = new BufferWriter(charset, 1024);
+    this.in = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    this.in.flip();
+  }
+
+  @Override
+  public final Future<ServerMessage> receive() {
+    return async(() -> {
+      flush();
+      return read();
+    });
+  }
+
+  @Override
+  public final Future<Void> receiveWhile(final Predicate<ServerMessage> handler) {
+    return async(() -> {
+      flush();
+      boolean more = true;
+      while (more)
+        more = handler.test(read());
+      return null;
+    });
+  }
+
+  @Override
+  public final Future<Void> send(final ClientMessage msg) {
+    tracer.sent(id, msg);
+    writer.startMessage();
+    encoder.encode(msg, writer);
+    return Future.VOID;
+  }
+
+  @Override
+  public final Future<Void> close() {
+    return async(() -> {
+      try {
+        flush();
+      } finally {
+        socket.close();
+      }
+      return null;
+    });
+  }
+
+  private final void flush() throws IOException {
+    final ByteBuffer b = writer.flip();
+    try {
+      while (b.hasRemaining())
+        socket.write(b);
+    } finally {
+      writer.clear();
+    }
+  }
+
+  /**
+   * The decoded message can reference the read buffer, so it must be consumed
+   * before the next read.
+   */
+  private final ServerMessage read() throws Exception {
+    fill(5);
+    final int length = 1 + in.getInt(in.position() + 1);
+    final ByteBuffer b;
+    if (length <= in.capacity()) {
+      fill(length);
+      b = in.slice();
+      b.limit(length);
+      in.position(in.position() + length);
+    } else {
+      b = ByteBuffer.allocate(length);
+      b.put(in);
+      readFully(b);
+      b.flip();
+    }
+    final ServerMessage msg = (ServerMessage) decoder.decode(false, new BufferReader(charset, b))
+        .orElseThrow(() -> new IllegalStateException("Can't decode server message."));
+    tracer.received(id, msg);
+    return msg;
+  }
+
+  /**
+   * Makes sure at least `bytes` are buffered, reading whatever else the socket
+   * has available too.
+   */
+  private final void fill(final int bytes) throws IOException {
+    if (in.remaining() < bytes) {
+      in.compact();
+      try {
+        while (in.position() < bytes)
+          if (socket.read(in) < 0)
+            throw new IOException("Channel closed.");
+      } finally {
+        in.flip();
+      }
+    }
+  }
+
+  private final void readFully(final ByteBuffer b) throws IOException {
+    while (b.hasRemaining())
+      if (socket.read(b) < 0)
+        throw new IOException("Channel closed.");
+  }
+
+  private final <T> Future<T> async(final BlockingTask<T> task) {
+    return pool.isolate(() -> {
+      try {
+        return Future.value(task.run());
+      } catch (final Exception ex) {
+        return Future.exception(ex);
+      }
+    });
+  }
+
+  @FunctionalInterface
+  private static interface BlockingTask<T> {
+    T run() throws Exception;
+  }
+}
@@ -0,0 +1,165 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+final class BufferReader implements io.trane.ndbc.proto.BufferReader {
+
+  private final Charset    charset;
+  private final ByteBuffer bb;
+
+  public BufferReader(final Charset charset, final ByteBuffer bb) {
+    super();
+    this.charset = charset;
+    this.bb = bb;
+  }
+
+  @Override
+  public final int readInt() {
+    return bb.getInt();
+  }
+
+  @Override
+  public final short readShort() {
+    return bb.getShort();
+  }
+
+  @Override
+  public final String readCString() {
+    int end = bb.position();
+    while (bb.get(end) != 0)
+      end++;
+    final String string = readString(end - bb.position());
+    bb.get(); // skip 0
+    return string;
+  }
+
+  @Override
+  public final String readCString(final int length) {
+    final String string = readString(length);
+    bb.get(); // 0
+    return string;
+  }
+
+  @Override
+  public final String readString() {
+    return readString(bb.remaining());
+  }
+
+  @Override
+  public final String readString(final int length) {
+    final String string = new String(bb.array(), bb.arrayOffset() + bb.position(), length,
+        charset);
+    bb.position(bb.position() + length);
+    return string;
+  }
+
+  @Override
+  public final int readableBytes() {
+    return bb.remaining();
+  }
+
+  @Override
+  public final byte readByte() {
+    return bb.get();
+  }
+
+  @Override
+  public final byte[] readBytes() {
+    return readBytes(bb.remaining());
+  }
+
+  @Override
+  public final byte[] readBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    bb.get(bytes);
+    return bytes;
+  }
+
+  @Override
+  public final BufferReader readSlice(final int length) {
+    final ByteBuffer slice = bb.slice();
+    slice.limit(length);
+    bb.position(bb.position() + length);
+    return new BufferReader(charset, slice);
+  }
+
+  @Override
+  public final int[] readInts() {
+    return readInts(bb.remaining() / 4);
+  }
+
+  @Override
+  public final int[] readInts(final int length) {
+    final int[] ints = new int[length];
+    for (int i = 0; i < length; i++)
+      ints[i] = bb.getInt();
+    return ints;
+  }
+
+  @Override
+  public final short[] readShorts() {
+    return readShorts(bb.remaining() / 2);
+  }
+
+  @Override
+  public final short[] readShorts(final int length) {
+    final short[] shorts = new short[length];
+    for (int i = 0; i < length; i++)
+      shorts[i] = bb.getShort();
+    return shorts;
+  }
+
+  @Override
+  public final long readLong() {
+    return bb.getLong();
+  }
+
+  @Override
+  public final float readFloat() {
+    return bb.getFloat();
+  }
+
+  @Override
+  public final double readDouble() {
+    return bb.getDouble();
+  }
+
+  /**
+   * Messages are sliced out of the channel's read buffer, which is reused by
+   * the next read.
+   */
+  @Override
+  public final BufferReader unpooled() {
+    return new BufferReader(charset, ByteBuffer.wrap(readBytes()));
+  }
+
+  // buffers are heap allocated and reclaimed by the GC
+  @Override
+  public final void retain() {
+  }
+
+  @Override
+  public final void release() {
+  }
+
+  @Override
+  public final byte getByte(final int offset) {
+    return bb.get(bb.position() + offset);
+  }
+
+  @Override
+  public final void skipBytes(final int length) {
+    bb.position(bb.position() + length);
+  }
+
+  @Override
+  public final void markReaderIndex() {
+    bb.mark();
+  }
+
+  @Override
+  public final void resetReaderIndex() {
+    bb.reset();
+  }
+}
@@ -0,0 +1,198 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+final class BufferWriter implements io.trane.ndbc.proto.BufferWriter {
+
+  /**
+   * Buffers that grew beyond this are dropped on clear, so a single large
+   * message doesn't keep the connection's buffer large.
+   */
+  static final int           SHRINK_THRESHOLD = 64 * 1024;
+
+  private static final int   UTF8_CHUNK       = 1024;
+
+  private final Charset      charset;
+  private final boolean      utf8;
+  private final int          initialCapacity;
+  private ByteBuffer         b;
+  private int                start;
+
+  public BufferWriter(final Charset charset, final int initialCapacity) {
+    super();
+    this.charset = charset;
+    this.utf8 = StandardCharsets.UTF_8.equals(charset);
+    this.initialCapacity = initialCapacity;
+    this.b = ByteBuffer.allocate(initialCapacity);
+  }
+
+  /**
+   * Marks the start of a new message. Length positions are relative to it.
+   */
+  public final void startMessage() {
+    start = b.position();
+  }
+
+  /**
+   * Returns the written bytes ready to be sent. The buffer must be cleared
+   * after they are consumed.
+   */
+  public final ByteBuffer flip() {
+    b.flip();
+    return b;
+  }
+
+  public final void clear() {
+    if (b.capacity() > SHRINK_THRESHOLD)
+      b = ByteBuffer.allocate(initialCapacity);
+    else
+      b.clear();
+    start = 0;
+  }
+
+  final int capacity() {
+    return b.capacity();
+  }
+
+  private final void ensureWritable(final int bytes) {
+    if (b.remaining() < bytes) {
+      final ByteBuffer nb = ByteBuffer
+          .allocate(Math.max(b.capacity() * 2, b.position() + bytes));
+      b.flip();
+      nb.put(b);
+      b = nb;
+    }
+  }
+
+  @Override
+  public final void writeInt(final int i) {
+    ensureWritable(4);
+    b.putInt(i);
+  }
+
+  @Override
+  public final void writeByte(final byte v) {
+    ensureWritable(1);
+    b.put(v);
+  }
+
+  @Override
+  public final void writeChar(final char c) {
+    writeByte((byte) c);
+  }
+
+  @Override
+  public final void writeShort(final short s) {
+    ensureWritable(2);
+    b.putShort(s);
+  }
+
+  @Override
+  public final void writeCString(final String s) {
+    writeString(s);
+    writeByte((byte) 0);
+  }
+
+  @Override
+  public final void writeString(final String s) {
+    if (utf8)
+      writeUtf8(s);
+    else
+      writeBytes(s.getBytes(charset));
+  }
+
+  /**
+   * Encodes `s` straight into the buffer, reserving the worst case of three
+   * bytes per char for a chunk of chars at a time, plus one for a surrogate
+   * pair split by the chunk's end. Unpaired surrogates are written as `?`,
+   * like `String.getBytes` does.
+   */
+  private final void writeUtf8(final String s) {
+    final int length = s.length();
+    int chunkEnd = 0;
+    for (int i = 0; i < length; i++) {
+      if (i >= chunkEnd) {
+        chunkEnd = Math.min(length, i + UTF8_CHUNK);
+        ensureWritable((chunkEnd - i) * 3 + 1);
+      }
+      final char c = s.charAt(i);
+      if (c < 0x80)
+        b.put((byte) c);
+      else if (c < 0x800) {
+        b.put((byte) (0xC0 | (c >> 6)));
+        b.put((byte) (0x80 | (c & 0x3F)));
+      } else if (!Character.isSurrogate(c)) {
+        b.put((byte) (0xE0 | (c >> 12)));
+        b.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+        b.put((byte) (0x80 | (c & 0x3F)));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(s.charAt(i + 1))) {
+        final int cp = Character.toCodePoint(c, s.charAt(++i));
+        b.put((byte) (0xF0 | (cp >> 18)));
+        b.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+        b.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+        b.put((byte) (0x80 | (cp & 0x3F)));
+      } else
+        b.put((byte) '?');
+    }
+  }
+
+  @Override
+  public final void writeBytes(final byte[] a) {
+    ensureWritable(a.length);
+    b.put(a);
+  }
+
+  @Override
+  public final void writeBytes(final ByteBuffer a) {
+    ensureWritable(a.remaining());
+    b.put(a.duplicate());
+  }
+
+  @Override
+  public final void writeInts(final int[] a) {
+    for (final int i : a)
+      writeInt(i);
+  }
+
+  @Override
+  public final void writeShorts(final short[] a) {
+    for (final short i : a)
+      writeShort(i);
+  }
+
+  @Override
+  public final void writeLong(final long value) {
+    ensureWritable(8);
+    b.putLong(value);
+  }
+
+  @Override
+  public final void writeFloat(final float value) {
+    ensureWritable(4);
+    b.putFloat(value);
+  }
+
+  @Override
+  public final void writeDouble(final double value) {
+    ensureWritable(8);
+    b.putDouble(value);
+  }
+
+  @Override
+  public final int writerIndex() {
+    return b.position() - start;
+  }
+
+  @Override
+  public final void writeLength(final int position) {
+    b.putInt(start + position, b.position() - start - position);
+  }
+
+  @Override
+  public final void writeLengthNoSelf(final int position) {
+    b.putInt(start + position, b.position() - start - position - 4);
+  }
+}
@@ -0,0 +1,80 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import io.trane.future.Future;
+import io.trane.future.FuturePool;
+import io.trane.ndbc.postgres.ChannelFactory;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.WireTracer;
+
+final class ChannelSupplier implements ChannelFactory<BlockingChannel> {
+
+  private static final Logger      log = Logger.getLogger(ChannelSupplier.class.getName());
+
+  private final Charset            charset;
+  private final Marshaller         encoder;
+  private final Unmarshaller       decoder;
+  private final FuturePool         pool;
+  private final String             host;
+  private final int                port;
+  private final WireTracer         tracer;
+  private final Optional<Duration> connectTimeout;
+
+  public ChannelSupplier(final Charset charset, final Marshaller encoder,
+      final Unmarshaller decoder, final FuturePool pool, final String host, final int port,
+      final WireTracer tracer, final Optional<Duration> connectTimeout) {
+    super();
+    this.charset = charset;
+    this.encoder = encoder;
+    this.decoder = decoder;
+    this.pool = pool;
+    this.host = host;
+    this.port = port;
+    this.tracer = tracer;
+    this.connectTimeout = connectTimeout;
+  }
+
+  /**
+   * The host is resolved and connected on the pool's threads, trying each
+   * address in turn, so the caller never blocks.
+   */
+  @Override
+  public final Future<BlockingChannel> get() {
+    return pool.isolate(() -> {
+      try {
+        final SocketChannel socket = connect(InetAddress.getAllByName(host));
+        socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        socket.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+        return Future.value(new BlockingChannel(socket, pool, charset, encoder, decoder, tracer));
+      } catch (final Exception ex) {
+        return Future.exception(ex);
+      }
+    });
+  }
+
+  private final SocketChannel connect(final InetAddress[] addresses) throws IOException {
+    final int timeout = connectTimeout.map(t -> (int) t.toMillis()).orElse(0);
+    for (int i = 0;; i++) {
+      final SocketChannel socket = SocketChannel.open();
+      try {
+        socket.socket().connect(new InetSocketAddress(addresses[i], port), timeout);
+        return socket;
+      } catch (final IOException ex) {
+        socket.close();
+        if (i + 1 == addresses.length)
+          throw ex;
+        log.info("Can't connect to " + addresses[i] + ", trying the next address. Reason: " + ex);
+      }
+    }
+  }
+}
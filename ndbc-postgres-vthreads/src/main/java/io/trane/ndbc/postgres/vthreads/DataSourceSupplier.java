@@ -0,0 +1,114 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import io.trane.future.FuturePool;
+import io.trane.ndbc.Config;
+import io.trane.ndbc.postgres.AbstractDataSourceSupplier;
+import io.trane.ndbc.postgres.ChannelFactory;
+
+/**
+ * Creates data sources that use blocking socket I/O. By default, the I/O runs
+ * on virtual threads when the JVM supports them (JDK 21+) and on a cached pool
+ * of daemon threads otherwise.
+ *
+ * SSL and Unix domain sockets aren't supported, but the SSL modes that allow
+ * plain connections, `DISABLE` and `PREFER`, connect without it. The
+ * Netty-specific options, `nioThreads`, `transport` and the write buffer water
+ * marks, are ignored.
+ *
+ * The executors created by the supplier are shut down when its data source is
+ * closed; the ones passed in are left to the application.
+ */
+public final class DataSourceSupplier extends AbstractDataSourceSupplier<BlockingChannel> {
+
+  private static final Logger log = Logger.getLogger(DataSourceSupplier.class.getName());
+
+  private final FuturePool            pool;
+  private final List<ExecutorService> owned = new ArrayList<>(2);
+
+  public DataSourceSupplier(final Config config) {
+    this(config, defaultExecutor(), true, defaultScheduler(), true);
+  }
+
+  public DataSourceSupplier(final Config config, final ExecutorService executor) {
+    this(config, executor, false, defaultScheduler(), true);
+  }
+
+  public DataSourceSupplier(final Config config, final ExecutorService executor,
+      final ScheduledExecutorService scheduler) {
+    this(config, executor, false, scheduler, false);
+  }
+
+  private DataSourceSupplier(final Config config, final ExecutorService executor,
+      final boolean ownsExecutor, final ScheduledExecutorService scheduler,
+      final boolean ownsScheduler) {
+    super(validate(config), scheduler);
+    this.pool = FuturePool.apply(executor);
+    if (ownsExecutor)
+      owned.add(executor);
+    if (ownsScheduler)
+      owned.add(scheduler);
+  }
+
+  private static final Config validate(final Config config) {
+    final Config.SSL.Mode sslMode = config.ssl().map(Config.SSL::mode)
+        .orElse(Config.SSL.Mode.DISABLE);
+    if (sslMode != Config.SSL.Mode.DISABLE && sslMode != Config.SSL.Mode.PREFER)
+      throw new UnsupportedOperationException(
+          "SSL mode " + sslMode + " isn't supported by the vthreads transport.");
+    if (config.unixSocket().isPresent())
+      throw new UnsupportedOperationException(
+          "Unix domain sockets aren't supported by the vthreads transport.");
+    final List<String> ignored = new ArrayList<>();
+    config.nioThreads().ifPresent(v -> ignored.add("nioThreads"));
+    config.transport().ifPresent(v -> ignored.add("transport"));
+    config.writeBufferHighWaterMark().ifPresent(v -> ignored.add("writeBufferHighWaterMark"));
+    config.writeBufferLowWaterMark().ifPresent(v -> ignored.add("writeBufferLowWaterMark"));
+    if (!ignored.isEmpty())
+      log.warning("Ignoring options not supported by the vthreads transport: " + ignored);
+    return config;
+  }
+
+  private static final ExecutorService defaultExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (final ReflectiveOperationException e) {
+      log.info("Virtual threads not available, using platform threads.");
+      return Executors.newCachedThreadPool(threadFactory("ndbc-vthreads"));
+    }
+  }
+
+  private static final ScheduledExecutorService defaultScheduler() {
+    return Executors.newSingleThreadScheduledExecutor(threadFactory("ndbc-pool-scheduler"));
+  }
+
+  private static final ThreadFactory threadFactory(final String prefix) {
+    final AtomicInteger nextId = new AtomicInteger();
+    return r -> {
+      final Thread thread = new Thread(r, prefix + "-" + nextId.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @Override
+  protected final ChannelFactory<BlockingChannel> channelFactory() {
+    return new ChannelSupplier(config.charset(), marshaller(), unmarshaller(), pool,
+        config.host(), config.port(), wireTracer(), config.connectTimeout());
+  }
+
+  @Override
+  protected final void onClose() {
+    for (final ExecutorService executor : owned)
+      executor.shutdown();
+  }
+}
@@ -0,0 +1,143 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.trane.future.CheckedFutureException;
+import io.trane.future.Future;
+import io.trane.future.FuturePool;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.proto.Message.DataRow;
+import io.trane.ndbc.postgres.proto.Message.Parse;
+import io.trane.ndbc.postgres.proto.Message.ReadyForQuery;
+import io.trane.ndbc.postgres.proto.Message.Sync;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.ServerMessage;
+import io.trane.ndbc.proto.WireTracer;
+
+public class BlockingChannelTest {
+
+  private final Duration        timeout  = Duration.ofSeconds(1);
+  private final Charset         charset  = StandardCharsets.UTF_8;
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+  private ServerSocketChannel   server;
+  private SocketChannel         client;
+  private SocketChannel         backend;
+  private BlockingChannel       channel;
+
+  @Before
+  public void setUp() throws IOException {
+    server = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+    client = SocketChannel.open(server.getLocalAddress());
+    backend = server.accept();
+    channel = new BlockingChannel(client, FuturePool.apply(executor), charset, marshaller(),
+        new Unmarshaller(), WireTracer.NONE);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    client.close();
+    backend.close();
+    server.close();
+    executor.shutdown();
+  }
+
+  @Test
+  public void sendIsWrittenOnReceive() throws IOException, CheckedFutureException {
+    channel.send(new Parse("1", "SELECT 1", Arrays.asList()));
+    channel.send(new Sync());
+    backend.write(readyForQuery());
+    assertTrue(channel.receive().get(timeout) instanceof ReadyForQuery);
+
+    final ByteBuffer expected = ByteBuffer.allocate(64);
+    final byte[] query = "1\0SELECT 1\0".getBytes(charset);
+    expected.put((byte) 'P').putInt(4 + query.length + 2).put(query).putShort((short) 0);
+    expected.put((byte) 'S').putInt(4);
+    expected.flip();
+    final ByteBuffer received = ByteBuffer.allocate(expected.remaining());
+    while (received.hasRemaining())
+      backend.read(received);
+    assertArrayEquals(Arrays.copyOf(expected.array(), expected.limit()), received.array());
+  }
+
+  @Test
+  public void receiveWhile() throws IOException, CheckedFutureException {
+    backend.write(readyForQuery());
+    backend.write(readyForQuery());
+    backend.write(readyForQuery());
+    final List<ServerMessage> received = new ArrayList<>();
+    channel.receiveWhile(msg -> received.add(msg) && received.size() < 2).get(timeout);
+    assertEquals(2, received.size());
+    assertTrue(channel.receive().get(timeout) instanceof ReadyForQuery);
+  }
+
+  @Test
+  public void messageSplitAcrossReads() throws Exception {
+    final ByteBuffer b = readyForQuery();
+    b.limit(3);
+    backend.write(b);
+    final Future<ServerMessage> received = channel.receive();
+    Thread.sleep(50);
+    b.limit(b.capacity());
+    backend.write(b);
+    assertTrue(received.get(timeout) instanceof ReadyForQuery);
+  }
+
+  @Test
+  public void messagesLargerThanTheReadBuffer() throws Exception {
+    final int size = BlockingChannel.READ_BUFFER_SIZE * 2;
+    final ByteBuffer b = ByteBuffer.allocate(7 + 4 + size + 6);
+    b.put((byte) 'D').putInt(4 + 2 + 4 + size).putShort((short) 1).putInt(size);
+    for (int i = 0; i < size; i++)
+      b.put((byte) i);
+    b.put(readyForQuery());
+    b.flip();
+    executor.submit(() -> {
+      while (b.hasRemaining())
+        backend.write(b);
+      return null;
+    });
+    final DataRow row = (DataRow) channel.receive().get(timeout);
+    assertEquals(size, row.values[0].readableBytes());
+    assertEquals((byte) (size - 1), row.values[0].getByte(size - 1));
+    assertTrue(channel.receive().get(timeout) instanceof ReadyForQuery);
+  }
+
+  @Test(expected = CheckedFutureException.class)
+  public void receiveClosed() throws IOException, CheckedFutureException {
+    backend.close();
+    channel.receive().get(timeout);
+  }
+
+  private final ByteBuffer readyForQuery() {
+    final ByteBuffer b = ByteBuffer.allocate(6);
+    b.put((byte) 'Z').putInt(5).put((byte) 'I');
+    b.flip();
+    return b;
+  }
+
+  private final Marshaller marshaller() {
+    return Marshaller.apply(new EncodingRegistry(Optional.empty()));
+  }
+}
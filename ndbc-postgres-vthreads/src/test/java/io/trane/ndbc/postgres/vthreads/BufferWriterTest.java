@@ -0,0 +1,121 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class BufferWriterTest {
+
+  @Test
+  public void writeStringAscii() {
+    assertArrayEquals(bytes("abc", StandardCharsets.UTF_8), written("abc", StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeStringTwoAndThreeBytes() {
+    final String s = "a\u00e7\u00e3o \u20ac";
+    assertArrayEquals(bytes(s, StandardCharsets.UTF_8), written(s, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeStringSurrogatePair() {
+    final String s = "x\ud83d\ude00y";
+    assertArrayEquals(bytes(s, StandardCharsets.UTF_8), written(s, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeStringUnpairedSurrogates() {
+    final String s = "\ud83dx\ude00";
+    assertArrayEquals(bytes(s, StandardCharsets.UTF_8), written(s, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeStringOtherCharset() {
+    final String s = "a\u00e7\u00e3o";
+    assertArrayEquals(bytes(s, StandardCharsets.ISO_8859_1),
+        written(s, StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  public void writeStringGrows() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100; i++)
+      sb.append("\u00e7");
+    final String s = sb.toString();
+    assertArrayEquals(bytes(s, StandardCharsets.UTF_8), written(s, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeStringSurrogatePairAcrossChunks() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1023; i++)
+      sb.append("\u20ac");
+    sb.append("\ud83d\ude00");
+    for (int i = 0; i < 1023; i++)
+      sb.append("\u20ac");
+    final String s = sb.toString();
+    assertArrayEquals(bytes(s, StandardCharsets.UTF_8), written(s, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void writeStringDoesntReserveTheWorstCase() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 10000; i++)
+      sb.append('a');
+    final BufferWriter w = new BufferWriter(StandardCharsets.UTF_8, 8);
+    w.writeString(sb.toString());
+    assertTrue(w.capacity() < 2 * 10000);
+  }
+
+  @Test
+  public void clearShrinksLargeBuffers() {
+    final BufferWriter w = new BufferWriter(StandardCharsets.UTF_8, 8);
+    w.writeBytes(new byte[BufferWriter.SHRINK_THRESHOLD + 1]);
+    w.flip();
+    w.clear();
+    assertEquals(8, w.capacity());
+  }
+
+  @Test
+  public void clearKeepsSmallBuffers() {
+    final BufferWriter w = new BufferWriter(StandardCharsets.UTF_8, 8);
+    w.writeBytes(new byte[100]);
+    final int capacity = w.capacity();
+    w.flip();
+    w.clear();
+    assertEquals(capacity, w.capacity());
+  }
+
+  @Test
+  public void writeLength() {
+    final BufferWriter w = new BufferWriter(StandardCharsets.UTF_8, 4);
+    w.writeByte((byte) 9);
+    w.startMessage();
+    w.writeChar('Q');
+    w.writeInt(0);
+    w.writeLong(1L);
+    w.writeLength(1);
+    final ByteBuffer b = w.flip();
+    assertEquals(12, b.getInt(2));
+    assertEquals(14, b.limit());
+  }
+
+  private final byte[] bytes(final String s, final Charset charset) {
+    return s.getBytes(charset);
+  }
+
+  private final byte[] written(final String s, final Charset charset) {
+    final BufferWriter w = new BufferWriter(charset, 8);
+    w.writeString(s);
+    final ByteBuffer b = w.flip();
+    final byte[] result = new byte[b.remaining()];
+    b.get(result);
+    return result;
+  }
+}
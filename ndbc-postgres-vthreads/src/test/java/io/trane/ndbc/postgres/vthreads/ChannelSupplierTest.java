@@ -0,0 +1,66 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.trane.future.CheckedFutureException;
+import io.trane.future.FuturePool;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.WireTracer;
+
+public class ChannelSupplierTest {
+
+  private final Duration        timeout  = Duration.ofSeconds(1);
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void connect() throws IOException, CheckedFutureException {
+    try (final ServerSocketChannel server = ServerSocketChannel.open()
+        .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+      final int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+      supplier("127.0.0.1", port).get().get(timeout).close().get(timeout);
+    }
+  }
+
+  @Test
+  public void connectRefused() throws IOException {
+    final int port;
+    try (final ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = server.getLocalPort();
+    }
+    try {
+      supplier("127.0.0.1", port).get().get(timeout);
+      fail();
+    } catch (final CheckedFutureException ex) {
+      assertTrue(ex.getCause() instanceof ConnectException);
+    }
+  }
+
+  private final ChannelSupplier supplier(final String host, final int port) {
+    return new ChannelSupplier(StandardCharsets.UTF_8,
+        Marshaller.apply(new EncodingRegistry(Optional.empty())), new Unmarshaller(),
+        FuturePool.apply(executor), host, port, WireTracer.NONE, Optional.of(timeout));
+  }
+}
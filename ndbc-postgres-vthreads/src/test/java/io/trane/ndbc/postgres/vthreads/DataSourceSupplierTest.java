@@ -0,0 +1,60 @@
+package io.trane.ndbc.postgres.vthreads;
+
+import static org.junit.Assert.assertFalse;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.trane.future.CheckedFutureException;
+import io.trane.ndbc.Config;
+
+public class DataSourceSupplierTest {
+
+  private final ExecutorService          executor  = Executors.newCachedThreadPool();
+  private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+  private final Config                   config    = Config
+      .apply(DataSourceSupplier.class.getName(), "localhost", 5432, "user");
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+    scheduler.shutdown();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void ssl() {
+    new DataSourceSupplier(config.ssl(Config.SSL.apply(Config.SSL.Mode.REQUIRE)), executor);
+  }
+
+  @Test
+  public void sslModesThatAllowPlainConnections() {
+    new DataSourceSupplier(config.ssl(Config.SSL.apply(Config.SSL.Mode.DISABLE)), executor)
+        .get().close();
+    new DataSourceSupplier(config.ssl(Config.SSL.apply(Config.SSL.Mode.PREFER)), executor)
+        .get().close();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void unixSocket() {
+    new DataSourceSupplier(config.unixSocket("/tmp/.s.PGSQL.5432"), executor);
+  }
+
+  @Test
+  public void nettyOptionsAreIgnored() {
+    new DataSourceSupplier(config.nioThreads(2).transport(Config.Transport.NIO)
+        .writeBufferHighWaterMark(1024).writeBufferLowWaterMark(512), executor).get().close();
+  }
+
+  @Test
+  public void executorsPassedInArentShutDown() throws CheckedFutureException {
+    new DataSourceSupplier(config, executor, scheduler).get().close()
+        .get(Duration.ofSeconds(1));
+    assertFalse(executor.isShutdown());
+    assertFalse(scheduler.isShutdown());
+  }
+}
@@ -0,0 +1,175 @@
+package io.trane.ndbc.postgres;
+
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import io.trane.future.Future;
+import io.trane.ndbc.Config;
+import io.trane.ndbc.DataSource;
+import io.trane.ndbc.datasource.LockFreePool;
+import io.trane.ndbc.datasource.Pool;
+import io.trane.ndbc.datasource.PooledDataSource;
+import io.trane.ndbc.postgres.encoding.Encoding;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.encoding.StringCache;
+import io.trane.ndbc.postgres.proto.ExtendedExchange;
+import io.trane.ndbc.postgres.proto.ExtendedExecuteExchange;
+import io.trane.ndbc.postgres.proto.ExtendedQueryExchange;
+import io.trane.ndbc.postgres.proto.QueryResultExchange;
+import io.trane.ndbc.postgres.proto.SimpleExecuteExchange;
+import io.trane.ndbc.postgres.proto.SimpleQueryExchange;
+import io.trane.ndbc.postgres.proto.StartupExchange;
+import io.trane.ndbc.postgres.proto.TypeDiscoveryExchange;
+import io.trane.ndbc.postgres.proto.marshaller.Marshaller;
+import io.trane.ndbc.postgres.proto.unmarshaller.Unmarshaller;
+import io.trane.ndbc.proto.Channel;
+import io.trane.ndbc.proto.Exchange;
+import io.trane.ndbc.proto.WireTracer;
+
+/**
+ * Wires the parts of a data source that don't depend on the transport: the
+ * encodings, the connection startup and the pool. Transports provide the
+ * channels and can run a step on each new channel before the startup.
+ */
+public abstract class AbstractDataSourceSupplier<C extends Channel>
+    implements Supplier<DataSource> {
+
+  private static final Logger                   log     = Logger
+      .getLogger(AbstractDataSourceSupplier.class.getName());
+
+  protected final Config                        config;
+  private final ScheduledExecutorService        scheduler;
+  private final StartupExchange                 startup = new StartupExchange();
+  private final Optional<StringCache>           stringCache;
+  private final EncodingRegistry                encoding;
+  private final Optional<TypeDiscoveryExchange> typeDiscovery;
+  private final Marshaller                      marshaller;
+  private final Unmarshaller                    unmarshaller;
+  private final WireTracer                      wireTracer;
+
+  protected AbstractDataSourceSupplier(final Config config,
+      final ScheduledExecutorService scheduler) {
+    this.config = config;
+    this.scheduler = scheduler;
+    this.stringCache = config.stringCacheSize().map(StringCache::new);
+    this.encoding = new EncodingRegistry(
+        config.encodingClasses()
+            .map(l -> l.stream().map(AbstractDataSourceSupplier::loadEncoding)
+                .collect(Collectors.toList())),
+        stringCache, config.charset());
+    this.typeDiscovery = config.discoverTypes().orElse(false)
+        ? Optional.of(new TypeDiscoveryExchange(encoding))
+        : Optional.empty();
+    this.marshaller = Marshaller.apply(encoding);
+    this.unmarshaller = new Unmarshaller(config.lazyRows().orElse(false));
+    this.wireTracer = config.wireTracerClass().map(AbstractDataSourceSupplier::loadWireTracer)
+        .orElse(WireTracer.NONE);
+  }
+
+  /**
+   * Creates the channel factory of a new data source.
+   */
+  protected abstract ChannelFactory<C> channelFactory();
+
+  /**
+   * Runs on each new channel before the startup, e.g. to negotiate SSL.
+   */
+  protected Future<Void> init(final C channel) {
+    return Future.VOID;
+  }
+
+  /**
+   * Releases the resources owned by the supplier, like executors it created
+   * itself. It's invoked once the data source is closed.
+   */
+  protected void onClose() {
+  }
+
+  protected final Marshaller marshaller() {
+    return marshaller;
+  }
+
+  protected final Unmarshaller unmarshaller() {
+    return unmarshaller;
+  }
+
+  protected final WireTracer wireTracer() {
+    return wireTracer;
+  }
+
+  @Override
+  public final DataSource get() {
+    final ChannelFactory<C> channels = channelFactory();
+    final Optional<ScheduledFuture<?>> hitRateReport = stringCache.map(this::reportHitRate);
+    return new PooledDataSource(createPool(channels), () -> {
+      hitRateReport.ifPresent(r -> r.cancel(false));
+      channels.close();
+      onClose();
+    });
+  }
+
+  private static final WireTracer loadWireTracer(final String cls) {
+    try {
+      return (WireTracer) Class.forName(cls).newInstance();
+    } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+      throw new RuntimeException(
+          "Can't load wire tracer " + cls + ". Make sure to provide an empty constructor.", e);
+    }
+  }
+
+  private static final Encoding<?, ?> loadEncoding(final String cls) {
+    try {
+      return (Encoding<?, ?>) Class.forName(cls).newInstance();
+    } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+      throw new RuntimeException(
+          "Can't load encoding " + cls + ". Make sure to provide an empty constructor.", e);
+    }
+  }
+
+  private final ScheduledFuture<?> reportHitRate(final StringCache stringCache) {
+    return scheduler.scheduleAtFixedRate(() -> {
+      if (log.isLoggable(Level.FINE))
+        log.fine(stringCache.toString());
+    }, 1, 1, TimeUnit.MINUTES);
+  }
+
+  private final Supplier<Future<io.trane.ndbc.datasource.Connection>> createConnection(
+      final ChannelFactory<C> channels) {
+    final QueryResultExchange queryResultExchange = new QueryResultExchange(encoding,
+        config.lazyRows().orElse(false));
+    return () -> {
+      final ExtendedExchange extendedExchange = new ExtendedExchange();
+      return channels.get()
+          .flatMap(channel -> init(channel).flatMap(v -> startup
+              .apply(config.charset(), config.user(), config.password(), config.database())
+              .flatMap(backendKeyData -> discoverTypes().map(t -> backendKeyData))
+              .flatMap(backendKeyData -> warmup(extendedExchange).map(w -> backendKeyData))
+              .run(channel))
+              .map(backendKeyData -> new Connection(channel, channels, backendKeyData,
+                  new SimpleQueryExchange(queryResultExchange),
+                  new SimpleExecuteExchange(),
+                  new ExtendedQueryExchange(queryResultExchange, extendedExchange),
+                  new ExtendedExecuteExchange(extendedExchange))));
+    };
+  }
+
+  private final Exchange<Void> discoverTypes() {
+    return typeDiscovery.map(TypeDiscoveryExchange::apply).orElse(Exchange.VOID);
+  }
+
+  private final Exchange<Void> warmup(final ExtendedExchange extendedExchange) {
+    return config.warmupStatements().map(extendedExchange::prepare).orElse(Exchange.VOID);
+  }
+
+  private final Pool<io.trane.ndbc.datasource.Connection> createPool(
+      final ChannelFactory<C> channels) {
+    return LockFreePool.apply(createConnection(channels), config.poolMaxSize(),
+        config.poolMaxWaiters(), config.poolValidationInterval(), scheduler);
+  }
+}
@@ -0,0 +1,19 @@
+package io.trane.ndbc.postgres;
+
+import java.util.function.Supplier;
+
+import io.trane.future.Future;
+import io.trane.ndbc.proto.Channel;
+
+/**
+ * Opens the channels of a data source's connections.
+ */
+public interface ChannelFactory<C extends Channel> extends Supplier<Future<C>> {
+
+  /**
+   * Releases the resources shared by the channels, like a DNS resolver. It's
+   * invoked once the data source is closed.
+   */
+  default void close() {
+  }
+}
@@ -13,14 +13,19 @@ import io.trane.ndbc.value.BigDecimalValue;
  */
 final class BigDecimalEncoding extends Encoding<BigDecimal, BigDecimalValue> {
 
-  private static final BigInteger BI_BASE           = BigInteger.valueOf(10000);
-  private static final short[]    EMPTY_SHORT_ARRAY = new short[0];
-  private static final short      NUMERIC_POS       = 0x0000;
-  private static final short      NUMERIC_NEG       = 0x4000;
-  private static final int        NUMERIC_NAN       = 0xC000;
-  private static final int        NUMERIC_NULL      = 0xF000;
-  private static final int        EXPONENT          = 4;
-  private static final BigDecimal ZERO              = new BigDecimal(0);
+  private static final short  NUMERIC_POS        = 0x0000;
+  private static final short  NUMERIC_NEG        = 0x4000;
+  private static final int    NUMERIC_NAN        = 0xC000;
+  private static final int    EXPONENT           = 4;
+  private static final int    BASE               = 10000;
+  private static final int    MAX_LONG_PRECISION = 18;
+  private static final long[] POW10              = new long[MAX_LONG_PRECISION + 1];
+
+  static {
+    POW10[0] = 1;
+    for (int i = 1; i < POW10.length; i++)
+      POW10[i] = POW10[i - 1] * 10;
+  }
 
   @Override
   public final Integer oid() {
@@ -54,111 +59,133 @@ final class BigDecimalEncoding extends Encoding<BigDecimal, BigDecimalValue> {
 
   @Override
   public final void encodeBinary(final BigDecimal value, final BufferWriter b) {
-    final BigDecimal minimized = value.stripTrailingZeros();
-    final BigInteger unscaled = minimized.abs().unscaledValue();
-    final int sign = minimized.signum();
+    final int scale = value.scale();
+    final short displayScale = (short) Math.max(scale, 0);
+    final short sign = value.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+    // pad the unscaled value so the decimal point aligns on a base-10000 digit
+    final int pad = Math.floorMod(-scale, EXPONENT);
+    final int fractionDigits = (scale + pad) / EXPONENT;
+
+    if (value.signum() == 0)
+      writeHeader(b, 0, 0, NUMERIC_POS, displayScale);
+    else if (value.precision() <= MAX_LONG_PRECISION)
+      encodeLong(value.unscaledValue().abs().longValue(), pad, fractionDigits, sign,
+          displayScale, b);
+    else
+      encodeBigInteger(value.unscaledValue().abs(), pad, fractionDigits, sign, displayScale, b);
+  }
 
-    final int beforeDecimal = minimized.precision() - minimized.scale();
-    // the decimal point must align on a base-10000 digit
-    final int padZeroes = 4 - minimized.scale() % 4;
+  /**
+   * The lowest base-10000 digit holds the last `4 - pad` decimal digits of the
+   * unscaled value, and each digit above it four more.
+   */
+  private final void encodeLong(final long unscaled, final int pad, final int fractionDigits,
+      final short sign, final short displayScale, final BufferWriter b) {
+    final int lowDigits = EXPONENT - pad;
+    int top = 0;
+    while (top * EXPONENT + lowDigits <= MAX_LONG_PRECISION
+        && unscaled >= POW10[top * EXPONENT + lowDigits])
+      top++;
+    int bottom = 0;
+    while (digit(unscaled, bottom, lowDigits, pad) == 0)
+      bottom++;
+
+    writeHeader(b, top - bottom + 1, top - fractionDigits, sign, displayScale);
+    for (int i = top; i >= bottom; i--)
+      b.writeShort(digit(unscaled, i, lowDigits, pad));
+  }
 
-    BigInteger paddedUnscaled;
-    if (padZeroes == 0)
-      paddedUnscaled = unscaled;
+  private final short digit(final long unscaled, final int index, final int lowDigits,
+      final int pad) {
+    if (index == 0)
+      return (short) (unscaled % POW10[lowDigits] * POW10[pad]);
     else
-      paddedUnscaled = unscaled.multiply(BigInteger.valueOf(10).pow(padZeroes));
-
-    final short[] digits = findDigits(paddedUnscaled, EMPTY_SHORT_ARRAY);
-
-    int weight;
-    if (digits.length != 0) {
-      int firstDigitSize;
-      if (digits[0] < 10)
-        firstDigitSize = 1;
-      else if (digits[0] < 100)
-        firstDigitSize = 2;
-      else if (digits[0] < 1000)
-        firstDigitSize = 3;
-      else
-        firstDigitSize = 4;
-      weight = (beforeDecimal - firstDigitSize) / 4;
-    } else
-      weight = 0;
-
-    b.writeShort((short) digits.length);
+      return (short) (unscaled / POW10[(index - 1) * EXPONENT + lowDigits] % BASE);
+  }
+
+  private final void encodeBigInteger(final BigInteger unscaled, final int pad,
+      final int fractionDigits, final short sign, final short displayScale,
+      final BufferWriter b) {
+    final String decimal = unscaled.multiply(BigInteger.TEN.pow(pad)).toString();
+    final int length = decimal.length();
+    final int count = (length + EXPONENT - 1) / EXPONENT;
+    final int first = length - (count - 1) * EXPONENT;
+
+    int last = count - 1;
+    while (last > 0 && parseDigit(decimal, first + (last - 1) * EXPONENT, EXPONENT) == 0)
+      last--;
+
+    writeHeader(b, last + 1, count - 1 - fractionDigits, sign, displayScale);
+    b.writeShort(parseDigit(decimal, 0, first));
+    for (int i = 1; i <= last; i++)
+      b.writeShort(parseDigit(decimal, first + (i - 1) * EXPONENT, EXPONENT));
+  }
+
+  private final short parseDigit(final String decimal, final int start, final int length) {
+    int digit = 0;
+    for (int i = start; i < start + length; i++)
+      digit = digit * 10 + decimal.charAt(i) - '0';
+    return (short) digit;
+  }
+
+  private final void writeHeader(final BufferWriter b, final int digits, final int weight,
+      final short sign, final short displayScale) {
+    b.writeShort((short) digits);
     b.writeShort((short) weight);
-    b.writeShort(sign < 0 ? NUMERIC_NEG : NUMERIC_POS);
-    b.writeShort((short) value.scale());
-    for (final short digit : digits)
-      b.writeShort(digit);
+    b.writeShort(sign);
+    b.writeShort(displayScale);
   }
 
   @Override
   public final BigDecimal decodeBinary(final BufferReader b) {
-
-    final int len = getUnsignedShort(b);
+    final int digits = b.readShort() & 0xFFFF;
     final short weight = b.readShort();
-    final int sign = getUnsignedShort(b);
-    final int displayScale = getUnsignedShort(b);
-
-    // digits are actually unsigned base-10000 numbers (not straight up bytes)
-    final short[] digits = new short[len];
-    final BigDecimal[] bdDigits = new BigDecimal[digits.length];
-    for (int i = 0; i < len; i++) {
-      final short value = b.readShort();
-      digits[i] = value;
-      bdDigits[i] = new BigDecimal(value);
-    }
-
-    if (digits.length > 0) {
-      BigDecimal unscaled = bdDigits[0];
-      for (int j = 1; j < bdDigits.length; j++)
-        unscaled = unscaled.scaleByPowerOfTen(EXPONENT).add(bdDigits[j]);
-
-      int firstDigitSize;
-      if (digits[0] < 10)
-        firstDigitSize = 1;
-      else if (digits[0] < 100)
-        firstDigitSize = 2;
-      else if (digits[0] < 1000)
-        firstDigitSize = 3;
-      else
-        firstDigitSize = 4;
-
-      final int scaleFactor = weight * EXPONENT + firstDigitSize;
-      final BigDecimal unsigned = unscaled.movePointLeft(unscaled.precision()).movePointRight(scaleFactor)
-          .setScale(displayScale);
-
-      switch (sign) {
-        case NUMERIC_POS:
-          return unsigned;
-        case NUMERIC_NEG:
-          return unsigned.negate();
-        case NUMERIC_NAN:
-          throw new NumberFormatException("Decimal is NaN");
-        case NUMERIC_NULL:
-          throw new NumberFormatException("Decimal is NUMERIC_NULL");
-        default:
-          throw new NumberFormatException("Invalid sign");
-      }
-    } else
-      return ZERO;
+    final int sign = b.readShort() & 0xFFFF;
+    final int displayScale = b.readShort() & 0xFFFF;
+
+    if (sign == NUMERIC_NAN)
+      throw new NumberFormatException("Decimal is NaN");
+    else if (sign != NUMERIC_POS && sign != NUMERIC_NEG)
+      throw new NumberFormatException("Invalid sign: " + sign);
+    else if (digits == 0)
+      return BigDecimal.valueOf(0, displayScale);
+    else if ((weight + 1) * EXPONENT + displayScale <= MAX_LONG_PRECISION)
+      return decodeLong(b, digits, weight, sign, displayScale);
+    else
+      return decodeBigInteger(b, digits, weight, sign, displayScale);
   }
 
-  private short[] findDigits(final BigInteger i, final short[] current) {
-    if (i.signum() != 0) {
-      final BigInteger[] array = i.divideAndRemainder(BI_BASE);
-      final short[] next = new short[current.length + 1];
-      next[0] = (short) array[1].intValue();
-      System.arraycopy(current, 0, next, 1, current.length);
-      return findDigits(array[0], next);
-    } else
-      return current;
+  /**
+   * Accumulates the digits as the unscaled value at `displayScale`, which has at
+   * most 18 decimal digits. Digits past the display scale are always zero.
+   */
+  private final BigDecimal decodeLong(final BufferReader b, final int digits, final int weight,
+      final int sign, final int displayScale) {
+    long unscaled = 0;
+    for (int i = 0; i < digits; i++) {
+      final int digit = b.readShort();
+      final int exponent = (weight - i) * EXPONENT + displayScale;
+      if (exponent >= 0)
+        unscaled += digit * POW10[exponent];
+      else if (exponent > -EXPONENT)
+        unscaled += digit / POW10[-exponent];
+    }
+    return BigDecimal.valueOf(sign == NUMERIC_NEG ? -unscaled : unscaled, displayScale);
   }
 
-  private int getUnsignedShort(final BufferReader b) {
-    final int high = b.readByte();
-    final byte low = b.readByte();
-    return high << 8 | low;
+  private final BigDecimal decodeBigInteger(final BufferReader b, final int digits,
+      final int weight, final int sign, final int displayScale) {
+    final char[] decimal = new char[digits * EXPONENT];
+    for (int i = 0; i < digits; i++) {
+      int digit = b.readShort();
+      for (int j = EXPONENT - 1; j >= 0; j--) {
+        decimal[i * EXPONENT + j] = (char) ('0' + digit % 10);
+        digit /= 10;
+      }
+    }
+    final BigInteger unscaled = new BigInteger(new String(decimal));
+    final BigDecimal unsigned = new BigDecimal(unscaled, (digits - weight - 1) * EXPONENT)
+        .setScale(displayScale);
+    return sign == NUMERIC_NEG ? unsigned.negate() : unsigned;
   }
 }
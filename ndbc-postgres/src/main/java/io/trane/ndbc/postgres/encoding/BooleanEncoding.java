@@ -4,7 +4,8 @@ import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
 import io.trane.ndbc.value.BooleanValue;
 
-final class BooleanEncoding extends Encoding<Boolean, BooleanValue> {
+final class BooleanEncoding extends Encoding<Boolean, BooleanValue>
+    implements PrimitiveEncoding {
 
 
   @Override
@@ -33,6 +34,14 @@ final class BooleanEncoding extends Encoding<Boolean, BooleanValue> {
     b.writeByte((byte) (value ? 1 : 0));
   }
 
+  @Override
+  public final void encodePrimitive(final Format format, final long bits, final BufferWriter b) {
+    if (format == Format.TEXT)
+      b.writeString(bits != 0 ? "T" : "F");
+    else
+      b.writeByte((byte) (bits != 0 ? 1 : 0));
+  }
+
   @Override
   public final Boolean decodeBinary(final BufferReader b) {
     return b.readByte() != 0;
@@ -4,7 +4,8 @@ import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
 import io.trane.ndbc.value.DoubleValue;
 
-final class DoubleEncoding extends Encoding<Double, DoubleValue> {
+final class DoubleEncoding extends Encoding<Double, DoubleValue>
+    implements PrimitiveEncoding {
 
   @Override
   public final Integer oid() {
@@ -31,6 +32,14 @@ final class DoubleEncoding extends Encoding<Double, DoubleValue> {
     b.writeDouble(value);
   }
 
+  @Override
+  public final void encodePrimitive(final Format format, final long bits, final BufferWriter b) {
+    if (format == Format.TEXT)
+      b.writeString(Double.toString(Double.longBitsToDouble(bits)));
+    else
+      b.writeDouble(Double.longBitsToDouble(bits));
+  }
+
   @Override
   public final Double decodeBinary(final BufferReader b) {
     return b.readDouble();
@@ -1,13 +1,17 @@
 package io.trane.ndbc.postgres.encoding;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import io.trane.ndbc.PreparedStatement.Params;
 import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.RecordValue;
 import io.trane.ndbc.value.Value;
 
 public final class EncodingRegistry {
@@ -16,6 +20,7 @@ public final class EncodingRegistry {
       new BooleanEncoding(), new ByteArrayEncoding(), new DoubleEncoding(), new FloatEncoding(), new IntegerEncoding(),
       new LocalDateEncoding(), new LocalDateTimeEncoding(), new LocalTimeEncoding(), new LongEncoding(),
       new UUIDEncoding(), new OffsetTimeEncoding(), new ByteEncoding(), new ShortEncoding(), new StringEncoding(),
+      new OffsetDateTimeEncoding(), new JsonEncoding(), new JsonbEncoding(),
 
       new BigDecimalArrayEncoding(new BigDecimalEncoding()), new BooleanArrayEncoding(new BooleanEncoding()),
       new ByteArrayArrayEncoding(new ByteArrayEncoding()), new DoubleArrayEncoding(new DoubleEncoding()),
@@ -23,31 +28,129 @@ public final class EncodingRegistry {
       new LocalDateArrayEncoding(new LocalDateEncoding()), new LocalDateTimeArrayEncoding(new LocalDateTimeEncoding()),
       new LocalTimeArrayEncoding(new LocalTimeEncoding()), new LongArrayEncoding(new LongEncoding()),
       new UUIDArrayEncoding(new UUIDEncoding()), new OffsetTimeArrayEncoding(new OffsetTimeEncoding()),
+      new OffsetDateTimeArrayEncoding(new OffsetDateTimeEncoding()),
       new ShortArrayEncoding(new ShortEncoding()), new StringArrayEncoding(new StringEncoding()));
 
-  private final Map<Class<?>, Encoding<?, ?>> byValueClass;
-  private final Map<Integer, Encoding<?, ?>> byOid;
+  /**
+   * Bind primitive array values, but don't take over the oids of the boxed
+   * array encodings, so columns keep decoding to the same value classes.
+   */
+  private static final List<Encoding<?, ?>> defaultEncoders = Arrays.asList(
+      new PrimitiveArrayEncoding.Ints(), new PrimitiveArrayEncoding.Longs(),
+      new PrimitiveArrayEncoding.Floats(), new PrimitiveArrayEncoding.Doubles());
+
+  /**
+   * Decodes the cells of a column whose encoding was resolved upfront.
+   */
+  public static interface Decoder {
+    Value<?> decode(BufferReader reader);
+  }
+
+  private final Map<Class<?>, Encoding<?, ?>>        byValueClass;
+  private volatile OidMap<Encoding<?, ?>>            byOid;
+  private final ClassValue<Optional<Encoding<?, ?>>> byValueClassCache;
 
   public EncodingRegistry(final Optional<List<Encoding<?, ?>>> customEncodings) {
+    this(customEncodings, Optional.empty());
+  }
+
+  public EncodingRegistry(final Optional<List<Encoding<?, ?>>> customEncodings,
+      final Optional<StringCache> stringCache) {
+    this(customEncodings, stringCache, StandardCharsets.UTF_8);
+  }
+
+  public EncodingRegistry(final Optional<List<Encoding<?, ?>>> customEncodings,
+      final Optional<StringCache> stringCache, final Charset charset) {
     byValueClass = new HashMap<>();
-    byOid = new HashMap<>();
+    byOid = new OidMap<>();
+    for (final Encoding<?, ?> enc : defaultEncoders)
+      byValueClass.put(enc.valueClass(), enc);
     registerEncodings(defaultEncodings);
+    stringCache.ifPresent(c -> registerEncodings(Arrays.asList(new StringEncoding(stringCache))));
+    if (!StandardCharsets.UTF_8.equals(charset))
+      registerEncodings(Arrays.asList(new JsonEncoding(charset), new JsonbEncoding(charset)));
     customEncodings.ifPresent(this::registerEncodings);
+    byValueClassCache = new ClassValue<Optional<Encoding<?, ?>>>() {
+      @Override
+      protected Optional<Encoding<?, ?>> computeValue(final Class<?> cls) {
+        return Optional.ofNullable(byValueClass.get(cls));
+      }
+    };
   }
 
   @SuppressWarnings("unchecked")
   public final <T> void encode(final Format format, final Value<T> value, final BufferWriter writer) {
-    Encoding<T, Value<T>> enc;
-    if ((enc = (Encoding<T, Value<T>>) byValueClass.get(value.getClass())) != null)
-      enc.encode(format, value, writer);
+    ((Encoding<T, Value<T>>) encoder(value)).encode(format, value, writer);
+  }
+
+  /**
+   * Encodes the parameter at `index`. The primitives of a
+   * `PreparedStatement.Params` are encoded without boxing them.
+   */
+  public final void encode(final Format format, final List<Value<?>> params, final int index,
+      final BufferWriter writer) {
+    final Encoding<?, ?> enc = primitiveEncoder(params, index);
+    if (enc != null)
+      ((PrimitiveEncoding) enc).encodePrimitive(format, ((Params) params).primitive(index), writer);
     else
-      throw new UnsupportedOperationException("Can't encode value: " + value);
+      encode(format, params.get(index), writer);
   }
 
   public final Value<?> decode(final int oid, final Format format, final BufferReader reader) {
-    Encoding<?, ?> enc;
-    if ((enc = byOid.get(oid)) != null)
-      return enc.decode(format, reader);
+    return decoder(oid, format).decode(reader);
+  }
+
+  /**
+   * Resolves the encoding of a column once, so decoding each of its cells is a
+   * direct call. Unsupported types only fail when a non-null cell is decoded.
+   */
+  public final Decoder decoder(final int oid, final Format format) {
+    final Encoding<?, ?> enc = byOid.get(oid);
+    if (enc != null)
+      return reader -> enc.decode(format, reader);
+    else
+      return reader -> {
+        throw new UnsupportedOperationException("Can't decode value of type " + oid);
+      };
+  }
+
+  /**
+   * Decodes the enum `oid` and its array type as strings.
+   */
+  public final void registerEnum(final int oid, final int arrayOid) {
+    alias(oid, Oid.VARCHAR);
+    alias(arrayOid, Oid.VARCHAR_ARRAY);
+  }
+
+  /**
+   * Decodes the composite type `oid` as records with the given field names and
+   * types. Records are only registered by oid, so they can't be bound as
+   * parameters.
+   */
+  public final void registerComposite(final int oid, final List<String> fieldNames,
+      final int[] fieldOids) {
+    register(oid, new RecordEncoding(this, oid, fieldNames, fieldOids));
+  }
+
+  /**
+   * Decodes the domain `oid` and its array type like their base types. Returns
+   * false if the base type isn't known.
+   */
+  public final boolean registerDomain(final int oid, final int arrayOid, final int baseOid,
+      final int baseArrayOid) {
+    if (byOid.get(baseOid) == null)
+      return false;
+    else {
+      alias(oid, baseOid);
+      alias(arrayOid, baseArrayOid);
+      return true;
+    }
+  }
+
+  final Value<?> decodeText(final int oid, final String value) {
+    final Encoding<?, ?> enc = byOid.get(oid);
+    if (enc != null)
+      return decodeText(enc, value);
     else
       throw new UnsupportedOperationException("Can't decode value of type " + oid);
   }
@@ -56,7 +159,79 @@ public final class EncodingRegistry {
     if (value.isNull())
       return Oid.UNSPECIFIED;
     else
-      return byValueClass.get(value.getClass()).oid();
+      return encoder(value).oid();
+  }
+
+  public final Integer oid(final List<Value<?>> params, final int index) {
+    final Encoding<?, ?> enc = primitiveEncoder(params, index);
+    if (enc != null)
+      return enc.oid();
+    else
+      return oid(params.get(index));
+  }
+
+  public static final boolean isNull(final List<Value<?>> params, final int index) {
+    if (params instanceof Params && ((Params) params).isPrimitive(index))
+      return false;
+    else {
+      final Value<?> value = params.get(index);
+      return value == null || value.isNull();
+    }
+  }
+
+  /**
+   * The class of the parameter at `index`, without boxing it.
+   */
+  public static final Class<?> valueClass(final List<Value<?>> params, final int index) {
+    if (params instanceof Params)
+      return ((Params) params).valueClass(index);
+    else
+      return params.get(index).getClass();
+  }
+
+  // null if the parameter isn't an unboxed primitive or its encoding can't
+  // encode it unboxed, like custom encodings
+  private final Encoding<?, ?> primitiveEncoder(final List<Value<?>> params, final int index) {
+    if (params instanceof Params && ((Params) params).isPrimitive(index)) {
+      final Encoding<?, ?> enc = byValueClassCache.get(((Params) params).valueClass(index))
+          .orElse(null);
+      return enc instanceof PrimitiveEncoding ? enc : null;
+    } else
+      return null;
+  }
+
+  private final Encoding<?, ?> encoder(final Value<?> value) {
+    final Optional<Encoding<?, ?>> enc = byValueClassCache.get(value.getClass());
+    if (enc.isPresent())
+      return enc.get();
+    else if (value instanceof RecordValue)
+      throw new UnsupportedOperationException(
+          "Can't bind records as parameters, bind their fields instead: " + value);
+    else
+      throw new UnsupportedOperationException("Can't encode value: " + value);
+  }
+
+  private final <T, V extends Value<T>> V decodeText(final Encoding<T, V> enc,
+      final String value) {
+    return enc.box(enc.decodeText(value));
+  }
+
+  private final void alias(final int oid, final int existingOid) {
+    final Encoding<?, ?> enc = byOid.get(existingOid);
+    if (enc != null)
+      register(oid, enc);
+  }
+
+  /**
+   * Replaces the oid map instead of updating it, so decoders can be resolved
+   * concurrently with the registration of discovered types.
+   */
+  private final synchronized void register(final int oid, final Encoding<?, ?> enc) {
+    if (oid != Oid.UNSPECIFIED) {
+      final OidMap<Encoding<?, ?>> copy = byOid.copy();
+      copy.put(oid, enc);
+      byOid = copy;
+    }
   }
 
   private void registerEncodings(final List<Encoding<?, ?>> encodings) {
@@ -4,7 +4,8 @@ import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
 import io.trane.ndbc.value.FloatValue;
 
-final class FloatEncoding extends Encoding<Float, FloatValue> {
+final class FloatEncoding extends Encoding<Float, FloatValue>
+    implements PrimitiveEncoding {
 
   @Override
   public final Integer oid() {
@@ -31,6 +32,14 @@ final class FloatEncoding extends Encoding<Float, FloatValue> {
     b.writeFloat(value);
   }
 
+  @Override
+  public final void encodePrimitive(final Format format, final long bits, final BufferWriter b) {
+    if (format == Format.TEXT)
+      b.writeString(Float.toString(Float.intBitsToFloat((int) bits)));
+    else
+      b.writeFloat(Float.intBitsToFloat((int) bits));
+  }
+
   @Override
   public final Float decodeBinary(final BufferReader b) {
     return b.readFloat();
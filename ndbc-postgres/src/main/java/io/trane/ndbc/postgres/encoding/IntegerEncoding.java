@@ -4,7 +4,8 @@ import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
 import io.trane.ndbc.value.IntegerValue;
 
-final class IntegerEncoding extends Encoding<Integer, IntegerValue> {
+final class IntegerEncoding extends Encoding<Integer, IntegerValue>
+    implements PrimitiveEncoding {
 
   @Override
   public final Integer oid() {
@@ -31,6 +32,14 @@ final class IntegerEncoding extends Encoding<Integer, IntegerValue> {
     b.writeInt(value);
   }
 
+  @Override
+  public final void encodePrimitive(final Format format, final long bits, final BufferWriter b) {
+    if (format == Format.TEXT)
+      b.writeString(Integer.toString((int) bits));
+    else
+      b.writeInt((int) bits);
+  }
+
   @Override
   public final Integer decodeBinary(final BufferReader b) {
     return b.readInt();
@@ -0,0 +1,84 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.JsonValue;
+
+/**
+ * The text and binary formats of `json` are the same bytes, in the connection
+ * charset. With UTF-8, the default, both are read into the value as they are,
+ * without decoding a `String`; other charsets are converted from and to the
+ * UTF-8 bytes of the value.
+ */
+final class JsonEncoding extends Encoding<ByteBuffer, JsonValue> {
+
+  private final boolean utf8;
+
+  public JsonEncoding() {
+    this(StandardCharsets.UTF_8);
+  }
+
+  public JsonEncoding(final Charset charset) {
+    this.utf8 = StandardCharsets.UTF_8.equals(charset);
+  }
+
+  @Override
+  public final Integer oid() {
+    return Oid.JSON;
+  }
+
+  @Override
+  public final Class<JsonValue> valueClass() {
+    return JsonValue.class;
+  }
+
+  @Override
+  public final void encode(final Format format, final JsonValue value, final BufferWriter writer) {
+    if (utf8)
+      encodeBinary(value.get(), writer);
+    else
+      writer.writeString(encodeText(value.get()));
+  }
+
+  @Override
+  public final JsonValue decode(final Format format, final BufferReader reader) {
+    if (utf8)
+      return box(decodeBinary(reader));
+    else
+      return box(decodeText(reader.readString()));
+  }
+
+  @Override
+  public final String encodeText(final ByteBuffer value) {
+    return StandardCharsets.UTF_8.decode(value.duplicate()).toString();
+  }
+
+  @Override
+  public final ByteBuffer decodeText(final String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public final void encodeBinary(final ByteBuffer value, final BufferWriter b) {
+    b.writeBytes(value);
+  }
+
+  @Override
+  public final ByteBuffer decodeBinary(final BufferReader b) {
+    return ByteBuffer.wrap(b.readBytes());
+  }
+
+  @Override
+  protected JsonValue box(final ByteBuffer value) {
+    return new JsonValue(value);
+  }
+
+  @Override
+  protected ByteBuffer unbox(final JsonValue value) {
+    return value.get();
+  }
+}
@@ -0,0 +1,106 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.JsonbValue;
+
+/**
+ * The binary format of `jsonb` is the text document preceded by a version
+ * byte. The document is in the connection charset, which is converted from and
+ * to the UTF-8 bytes of the value unless it's UTF-8 already.
+ */
+final class JsonbEncoding extends Encoding<ByteBuffer, JsonbValue> {
+
+  private static final byte VERSION = 1;
+
+  private final boolean     utf8;
+
+  public JsonbEncoding() {
+    this(StandardCharsets.UTF_8);
+  }
+
+  public JsonbEncoding(final Charset charset) {
+    this.utf8 = StandardCharsets.UTF_8.equals(charset);
+  }
+
+  @Override
+  public final Integer oid() {
+    return Oid.JSONB;
+  }
+
+  @Override
+  public final Class<JsonbValue> valueClass() {
+    return JsonbValue.class;
+  }
+
+  @Override
+  public final void encode(final Format format, final JsonbValue value,
+      final BufferWriter writer) {
+    if (format == Format.BINARY)
+      writer.writeByte(VERSION);
+    writeDocument(value.get(), writer);
+  }
+
+  @Override
+  public final JsonbValue decode(final Format format, final BufferReader reader) {
+    if (format == Format.BINARY)
+      readVersion(reader);
+    return box(readDocument(reader));
+  }
+
+  @Override
+  public final String encodeText(final ByteBuffer value) {
+    return StandardCharsets.UTF_8.decode(value.duplicate()).toString();
+  }
+
+  @Override
+  public final ByteBuffer decodeText(final String value) {
+    return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public final void encodeBinary(final ByteBuffer value, final BufferWriter b) {
+    b.writeByte(VERSION);
+    b.writeBytes(value);
+  }
+
+  @Override
+  public final ByteBuffer decodeBinary(final BufferReader b) {
+    readVersion(b);
+    return ByteBuffer.wrap(b.readBytes());
+  }
+
+  private final void writeDocument(final ByteBuffer value, final BufferWriter writer) {
+    if (utf8)
+      writer.writeBytes(value);
+    else
+      writer.writeString(encodeText(value));
+  }
+
+  private final ByteBuffer readDocument(final BufferReader reader) {
+    if (utf8)
+      return ByteBuffer.wrap(reader.readBytes());
+    else
+      return decodeText(reader.readString());
+  }
+
+  private final void readVersion(final BufferReader b) {
+    final byte version = b.readByte();
+    if (version != VERSION)
+      throw new IllegalStateException("Unsupported jsonb version: " + version);
+  }
+
+  @Override
+  protected JsonbValue box(final ByteBuffer value) {
+    return new JsonbValue(value);
+  }
+
+  @Override
+  protected ByteBuffer unbox(final JsonbValue value) {
+    return value.get();
+  }
+}
@@ -4,7 +4,8 @@ import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
 import io.trane.ndbc.value.LongValue;
 
-final class LongEncoding extends Encoding<Long, LongValue> {
+final class LongEncoding extends Encoding<Long, LongValue>
+    implements PrimitiveEncoding {
 
   @Override
   public final Integer oid() {
@@ -31,6 +32,14 @@ final class LongEncoding extends Encoding<Long, LongValue> {
     b.writeLong(value);
   }
 
+  @Override
+  public final void encodePrimitive(final Format format, final long bits, final BufferWriter b) {
+    if (format == Format.TEXT)
+      b.writeString(Long.toString(bits));
+    else
+      b.writeLong(bits);
+  }
+
   @Override
   public final Long decodeBinary(final BufferReader b) {
     return b.readLong();
@@ -0,0 +1,50 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.time.OffsetDateTime;
+
+import io.trane.ndbc.value.OffsetDateTimeArrayValue;
+
+final class OffsetDateTimeArrayEncoding extends ArrayEncoding<OffsetDateTime, OffsetDateTimeArrayValue> {
+
+  private final OffsetDateTimeEncoding offsetDateTimeEncoding;
+  private final OffsetDateTime[]       emptyArray = new OffsetDateTime[0];
+
+  public OffsetDateTimeArrayEncoding(OffsetDateTimeEncoding offsetDateTimeEncoding) {
+    this.offsetDateTimeEncoding = offsetDateTimeEncoding;
+  }
+
+  @Override
+  public final Integer oid() {
+    return Oid.TIMESTAMPTZ_ARRAY;
+  }
+
+  @Override
+  public final Class<OffsetDateTimeArrayValue> valueClass() {
+    return OffsetDateTimeArrayValue.class;
+  }
+
+  @Override
+  protected OffsetDateTime[] newArray(int length) {
+    return new OffsetDateTime[length];
+  }
+
+  @Override
+  protected OffsetDateTime[] emptyArray() {
+    return emptyArray;
+  }
+
+  @Override
+  protected Encoding<OffsetDateTime, ?> itemEncoding() {
+    return offsetDateTimeEncoding;
+  }
+
+  @Override
+  protected OffsetDateTimeArrayValue box(OffsetDateTime[] value) {
+    return new OffsetDateTimeArrayValue(value);
+  }
+
+  @Override
+  protected OffsetDateTime[] unbox(OffsetDateTimeArrayValue value) {
+    return value.getOffsetDateTimeArray();
+  }
+}
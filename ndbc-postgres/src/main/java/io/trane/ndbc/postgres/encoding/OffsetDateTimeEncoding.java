@@ -0,0 +1,55 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.OffsetDateTimeValue;
+
+/**
+ * Postgres stores `timestamptz` as UTC, so binary values are decoded at the
+ * UTC offset while text values keep the session time zone offset.
+ */
+final class OffsetDateTimeEncoding extends Encoding<OffsetDateTime, OffsetDateTimeValue> {
+
+  @Override
+  public final Integer oid() {
+    return Oid.TIMESTAMPTZ;
+  }
+
+  @Override
+  public final Class<OffsetDateTimeValue> valueClass() {
+    return OffsetDateTimeValue.class;
+  }
+
+  @Override
+  public final String encodeText(final OffsetDateTime value) {
+    return Timestamps.format(value);
+  }
+
+  @Override
+  public final OffsetDateTime decodeText(final String value) {
+    return Timestamps.parseOffsetDateTime(value);
+  }
+
+  @Override
+  public final void encodeBinary(final OffsetDateTime value, final BufferWriter b) {
+    b.writeLong(Timestamps.toMicros(value));
+  }
+
+  @Override
+  public final OffsetDateTime decodeBinary(final BufferReader b) {
+    return OffsetDateTime.of(Timestamps.fromMicros(b.readLong()), ZoneOffset.UTC);
+  }
+
+  @Override
+  protected OffsetDateTimeValue box(final OffsetDateTime value) {
+    return new OffsetDateTimeValue(value);
+  }
+
+  @Override
+  protected OffsetDateTime unbox(final OffsetDateTimeValue value) {
+    return value.getOffsetDateTime();
+  }
+}
@@ -63,6 +63,7 @@ public interface Oid {
   public static final int POINT             = 600;
   public static final int POINT_ARRAY       = 1017;
   public static final int BOX               = 603;
+  public static final int JSONB             = 3802;
   public static final int JSONB_ARRAY       = 3807;
   public static final int JSON              = 114;
   public static final int JSON_ARRAY        = 199;
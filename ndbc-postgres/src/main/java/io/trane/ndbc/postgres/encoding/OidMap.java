@@ -0,0 +1,73 @@
+package io.trane.ndbc.postgres.encoding;
+
+/**
+ * An open-addressing map keyed by a primitive oid, so lookups don't box.
+ */
+final class OidMap<V> {
+
+  private static final int FREE = 0;
+
+  private int[]            keys;
+  private Object[]         values;
+  private int              size;
+
+  public OidMap() {
+    keys = new int[64];
+    values = new Object[64];
+  }
+
+  @SuppressWarnings("unchecked")
+  public final V get(final int oid) {
+    if (oid == FREE)
+      return null;
+    final int mask = keys.length - 1;
+    for (int i = hash(oid) & mask;; i = (i + 1) & mask)
+      if (keys[i] == oid)
+        return (V) values[i];
+      else if (keys[i] == FREE)
+        return null;
+  }
+
+  /**
+   * Oid 0 stands for an unspecified type and is never stored.
+   */
+  public final void put(final int oid, final V value) {
+    if (oid == FREE)
+      throw new IllegalArgumentException("Invalid oid: " + oid);
+    if ((size + 1) * 2 > keys.length)
+      resize();
+    final int mask = keys.length - 1;
+    int i = hash(oid) & mask;
+    while (keys[i] != FREE && keys[i] != oid)
+      i = (i + 1) & mask;
+    if (keys[i] == FREE)
+      size++;
+    keys[i] = oid;
+    values[i] = value;
+  }
+
+  public final OidMap<V> copy() {
+    final OidMap<V> copy = new OidMap<>();
+    copy.keys = keys.clone();
+    copy.values = values.clone();
+    copy.size = size;
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private final void resize() {
+    final int[] oldKeys = keys;
+    final Object[] oldValues = values;
+    keys = new int[oldKeys.length * 2];
+    values = new Object[oldValues.length * 2];
+    size = 0;
+    for (int i = 0; i < oldKeys.length; i++)
+      if (oldKeys[i] != FREE)
+        put(oldKeys[i], (V) oldValues[i]);
+  }
+
+  private final int hash(final int oid) {
+    final int h = oid * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -0,0 +1,353 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.PrimitiveArrayValue;
+import io.trane.ndbc.value.PrimitiveDoubleArrayValue;
+import io.trane.ndbc.value.PrimitiveFloatArrayValue;
+import io.trane.ndbc.value.PrimitiveIntArrayValue;
+import io.trane.ndbc.value.PrimitiveLongArrayValue;
+
+/**
+ * Encodes one-dimensional arrays of fixed-size elements straight from and to a
+ * primitive array, without boxing or dispatching each element to an item
+ * `Encoding`. Null elements are tracked by a side bitmap. Multi-dimensional
+ * arrays and lower bounds other than 1 aren't supported.
+ *
+ * The registry uses these encodings to bind primitive array values, but
+ * `int4[]`, `int8[]`, `float4[]` and `float8[]` columns still decode to the
+ * boxed array values, which can be read as primitive arrays too. To decode
+ * columns to primitive arrays instead, add the nested encodings to the
+ * configured encoding classes, e.g. `PrimitiveArrayEncoding$Ints`.
+ */
+public abstract class PrimitiveArrayEncoding<T, V extends PrimitiveArrayValue<T>>
+    extends Encoding<T, V> {
+
+  private static final int                         HAS_NULLS = 1;
+  private static final String                      NULL      = "NULL";
+
+  private final int                                oid;
+  private final int                                elementOid;
+  private final int                                elementSize;
+  private final Class<V>                           valueClass;
+  private final IntFunction<T>                     newArray;
+  private final BiFunction<T, Optional<BitSet>, V> box;
+
+  private PrimitiveArrayEncoding(final int oid, final int elementOid, final int elementSize,
+      final Class<V> valueClass, final IntFunction<T> newArray,
+      final BiFunction<T, Optional<BitSet>, V> box) {
+    super();
+    this.oid = oid;
+    this.elementOid = elementOid;
+    this.elementSize = elementSize;
+    this.valueClass = valueClass;
+    this.newArray = newArray;
+    this.box = box;
+  }
+
+  public static final class Ints extends PrimitiveArrayEncoding<int[], PrimitiveIntArrayValue> {
+
+    public Ints() {
+      super(Oid.INT4_ARRAY, Oid.INT4, 4, PrimitiveIntArrayValue.class, int[]::new,
+          PrimitiveIntArrayValue::new);
+    }
+
+    @Override
+    protected final int length(final int[] array) {
+      return array.length;
+    }
+
+    @Override
+    protected final void writeElement(final int[] array, final int index, final BufferWriter b) {
+      b.writeInt(array[index]);
+    }
+
+    @Override
+    protected final void readElement(final int[] array, final int index, final BufferReader b) {
+      array[index] = b.readInt();
+    }
+
+    @Override
+    protected final String elementToString(final int[] array, final int index) {
+      return Integer.toString(array[index]);
+    }
+
+    @Override
+    protected final void parseElement(final int[] array, final int index, final String value) {
+      array[index] = Integer.parseInt(value);
+    }
+  }
+
+  public static final class Longs
+      extends PrimitiveArrayEncoding<long[], PrimitiveLongArrayValue> {
+
+    public Longs() {
+      super(Oid.INT8_ARRAY, Oid.INT8, 8, PrimitiveLongArrayValue.class, long[]::new,
+          PrimitiveLongArrayValue::new);
+    }
+
+    @Override
+    protected final int length(final long[] array) {
+      return array.length;
+    }
+
+    @Override
+    protected final void writeElement(final long[] array, final int index, final BufferWriter b) {
+      b.writeLong(array[index]);
+    }
+
+    @Override
+    protected final void readElement(final long[] array, final int index, final BufferReader b) {
+      array[index] = b.readLong();
+    }
+
+    @Override
+    protected final String elementToString(final long[] array, final int index) {
+      return Long.toString(array[index]);
+    }
+
+    @Override
+    protected final void parseElement(final long[] array, final int index, final String value) {
+      array[index] = Long.parseLong(value);
+    }
+  }
+
+  public static final class Floats
+      extends PrimitiveArrayEncoding<float[], PrimitiveFloatArrayValue> {
+
+    public Floats() {
+      super(Oid.FLOAT4_ARRAY, Oid.FLOAT4, 4, PrimitiveFloatArrayValue.class, float[]::new,
+          PrimitiveFloatArrayValue::new);
+    }
+
+    @Override
+    protected final int length(final float[] array) {
+      return array.length;
+    }
+
+    @Override
+    protected final void writeElement(final float[] array, final int index,
+        final BufferWriter b) {
+      b.writeFloat(array[index]);
+    }
+
+    @Override
+    protected final void readElement(final float[] array, final int index,
+        final BufferReader b) {
+      array[index] = b.readFloat();
+    }
+
+    @Override
+    protected final String elementToString(final float[] array, final int index) {
+      return Float.toString(array[index]);
+    }
+
+    @Override
+    protected final void parseElement(final float[] array, final int index, final String value) {
+      array[index] = Float.parseFloat(value);
+    }
+  }
+
+  public static final class Doubles
+      extends PrimitiveArrayEncoding<double[], PrimitiveDoubleArrayValue> {
+
+    public Doubles() {
+      super(Oid.FLOAT8_ARRAY, Oid.FLOAT8, 8, PrimitiveDoubleArrayValue.class, double[]::new,
+          PrimitiveDoubleArrayValue::new);
+    }
+
+    @Override
+    protected final int length(final double[] array) {
+      return array.length;
+    }
+
+    @Override
+    protected final void writeElement(final double[] array, final int index,
+        final BufferWriter b) {
+      b.writeDouble(array[index]);
+    }
+
+    @Override
+    protected final void readElement(final double[] array, final int index,
+        final BufferReader b) {
+      array[index] = b.readDouble();
+    }
+
+    @Override
+    protected final String elementToString(final double[] array, final int index) {
+      return Double.toString(array[index]);
+    }
+
+    @Override
+    protected final void parseElement(final double[] array, final int index,
+        final String value) {
+      array[index] = Double.parseDouble(value);
+    }
+  }
+
+  protected abstract int length(T array);
+
+  protected abstract void writeElement(T array, int index, BufferWriter b);
+
+  protected abstract void readElement(T array, int index, BufferReader b);
+
+  protected abstract String elementToString(T array, int index);
+
+  protected abstract void parseElement(T array, int index, String value);
+
+  @Override
+  public final Integer oid() {
+    return oid;
+  }
+
+  @Override
+  public final Class<V> valueClass() {
+    return valueClass;
+  }
+
+  @Override
+  public final void encode(final Format format, final V value, final BufferWriter writer) {
+    if (format == Format.TEXT)
+      writer.writeString(toText(value.get(), value.nulls()));
+    else
+      write(value.get(), value.nulls(), writer);
+  }
+
+  @Override
+  public final V decode(final Format format, final BufferReader reader) {
+    if (format == Format.TEXT)
+      return fromText(reader.readString());
+    else
+      return read(reader);
+  }
+
+  @Override
+  public final String encodeText(final T value) {
+    return toText(value, Optional.empty());
+  }
+
+  @Override
+  public final T decodeText(final String value) {
+    return nonNull(fromText(value));
+  }
+
+  @Override
+  public final void encodeBinary(final T value, final BufferWriter b) {
+    write(value, Optional.empty(), b);
+  }
+
+  @Override
+  public final T decodeBinary(final BufferReader b) {
+    return nonNull(read(b));
+  }
+
+  @Override
+  protected final V box(final T value) {
+    return box.apply(value, Optional.empty());
+  }
+
+  @Override
+  protected final T unbox(final V value) {
+    return value.get();
+  }
+
+  private final String toText(final T value, final Optional<BitSet> nulls) {
+    final int length = length(value);
+    final StringBuilder sb = new StringBuilder(length * 8 + 2).append('{');
+    for (int i = 0; i < length; i++) {
+      if (i > 0)
+        sb.append(',');
+      if (nulls.isPresent() && nulls.get().get(i))
+        sb.append(NULL);
+      else
+        sb.append(elementToString(value, i));
+    }
+    return sb.append('}').toString();
+  }
+
+  private final V fromText(final String value) {
+    if (value.startsWith("["))
+      throw new UnsupportedOperationException(
+          "Arrays with a lower bound other than 1 aren't supported: " + value);
+    final String content = value.substring(1, value.length() - 1);
+    if (content.startsWith("{"))
+      throw multiDimensional(value);
+    else if (content.isEmpty())
+      return box.apply(newArray.apply(0), Optional.empty());
+    else {
+      final String[] elements = content.split(",");
+      final T result = newArray.apply(elements.length);
+      BitSet nulls = null;
+      for (int i = 0; i < elements.length; i++)
+        if (NULL.equals(elements[i])) {
+          if (nulls == null)
+            nulls = new BitSet(elements.length);
+          nulls.set(i);
+        } else
+          parseElement(result, i, elements[i]);
+      return box.apply(result, Optional.ofNullable(nulls));
+    }
+  }
+
+  private final void write(final T value, final Optional<BitSet> nulls, final BufferWriter b) {
+    final boolean hasNulls = nulls.isPresent() && !nulls.get().isEmpty();
+    final int length = length(value);
+    b.writeInt(1); // dimensions
+    b.writeInt(hasNulls ? HAS_NULLS : 0); // flags
+    b.writeInt(elementOid);
+    b.writeInt(length);
+    b.writeInt(1); // lbound
+    for (int i = 0; i < length; i++)
+      if (hasNulls && nulls.get().get(i))
+        b.writeInt(-1);
+      else {
+        b.writeInt(elementSize);
+        writeElement(value, i, b);
+      }
+  }
+
+  private final V read(final BufferReader b) {
+    final int dimensions = b.readInt();
+    if (dimensions > 1)
+      throw multiDimensional(dimensions + " dimensions");
+    b.readInt(); // flags, the null elements are found anyway
+    b.readInt(); // elementOid
+    if (dimensions == 0)
+      return box.apply(newArray.apply(0), Optional.empty());
+    else {
+      final int length = b.readInt();
+      final int lbound = b.readInt();
+      if (lbound != 1)
+        throw new UnsupportedOperationException(
+            "Arrays with a lower bound other than 1 aren't supported: " + lbound);
+      final T result = newArray.apply(length);
+      BitSet nulls = null;
+      for (int i = 0; i < length; i++)
+        if (b.readInt() != -1)
+          readElement(result, i, b);
+        else {
+          if (nulls == null)
+            nulls = new BitSet(length);
+          nulls.set(i);
+        }
+      return box.apply(result, Optional.ofNullable(nulls));
+    }
+  }
+
+  private final UnsupportedOperationException multiDimensional(final String array) {
+    return new UnsupportedOperationException(
+        "Multi-dimensional arrays aren't supported: " + array);
+  }
+
+  private final T nonNull(final V value) {
+    if (value.nulls().isPresent())
+      throw new NullPointerException(
+          "Array contains null elements, which a primitive array can't hold.");
+    return value.get();
+  }
+}
@@ -0,0 +1,12 @@
+package io.trane.ndbc.postgres.encoding;
+
+import io.trane.ndbc.proto.BufferWriter;
+
+/**
+ * Encodes the unboxed parameters of a `PreparedStatement.Params`, whose bits
+ * are described by `Params.primitive`.
+ */
+interface PrimitiveEncoding {
+
+  void encodePrimitive(Format format, long bits, BufferWriter b);
+}
@@ -0,0 +1,143 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.trane.ndbc.Row;
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.RecordValue;
+import io.trane.ndbc.value.Value;
+
+/**
+ * Decodes a composite type discovered at startup. Each field is decoded by the
+ * registry, using the type oid sent with it in the binary format or the one
+ * looked up for the type in the text format. The registry doesn't look up
+ * records to bind parameters, so they're never encoded.
+ */
+final class RecordEncoding extends Encoding<Row, RecordValue> {
+
+  private final EncodingRegistry     registry;
+  private final int                  oid;
+  private final Map<String, Integer> positions;
+  private final int[]                fieldOids;
+
+  public RecordEncoding(final EncodingRegistry registry, final int oid,
+      final List<String> fieldNames, final int[] fieldOids) {
+    this.registry = registry;
+    this.oid = oid;
+    this.fieldOids = fieldOids;
+    final Map<String, Integer> positions = new HashMap<>(fieldNames.size());
+    for (int i = 0; i < fieldNames.size(); i++)
+      positions.put(fieldNames.get(i), i);
+    this.positions = Collections.unmodifiableMap(positions);
+  }
+
+  @Override
+  public final Integer oid() {
+    return oid;
+  }
+
+  @Override
+  public final Class<RecordValue> valueClass() {
+    return RecordValue.class;
+  }
+
+  @Override
+  public final String encodeText(final Row value) {
+    throw new UnsupportedOperationException("Can't encode records.");
+  }
+
+  @Override
+  public final Row decodeText(final String value) {
+    final List<String> fields = split(value);
+    if (fields.size() != fieldOids.length)
+      throw new IllegalStateException("Record " + value + " of type " + oid + " has "
+          + fields.size() + " fields, expected " + fieldOids.length + ".");
+    final Value<?>[] columns = new Value<?>[fields.size()];
+    for (int i = 0; i < columns.length; i++) {
+      final String field = fields.get(i);
+      columns[i] = field == null ? Value.NULL : registry.decodeText(fieldOids[i], field);
+    }
+    return Row.apply(positions, columns);
+  }
+
+  @Override
+  public final void encodeBinary(final Row value, final BufferWriter b) {
+    throw new UnsupportedOperationException("Can't encode records.");
+  }
+
+  @Override
+  public final Row decodeBinary(final BufferReader b) {
+    final int count = b.readInt();
+    if (count != fieldOids.length)
+      throw new IllegalStateException("Record of type " + oid + " has " + count
+          + " fields, expected " + fieldOids.length + ".");
+    final Value<?>[] columns = new Value<?>[count];
+    for (int i = 0; i < columns.length; i++) {
+      final int fieldOid = b.readInt();
+      final int length = b.readInt();
+      if (length == -1)
+        columns[i] = Value.NULL;
+      else
+        columns[i] = registry.decode(fieldOid, Format.BINARY, b.readSlice(length));
+    }
+    return Row.apply(positions, columns);
+  }
+
+  @Override
+  protected RecordValue box(final Row value) {
+    return new RecordValue(value);
+  }
+
+  @Override
+  protected Row unbox(final RecordValue value) {
+    return value.getRecord();
+  }
+
+  /**
+   * Splits `(a,"b c",)` into its fields. Unquoted empty fields are null, and
+   * quotes and backslashes are escaped by doubling them or with a backslash.
+   * `()` is a record without fields or with a single null one.
+   */
+  private final List<String> split(final String value) {
+    final List<String> fields = new ArrayList<>(fieldOids.length);
+    final int end = value.length() - 1;
+    if (end <= 1) {
+      if (fieldOids.length == 1)
+        fields.add(null);
+      return fields;
+    }
+    final StringBuilder field = new StringBuilder();
+    boolean present = false;
+    boolean quoted = false;
+    for (int i = 1; i < end; i++) {
+      final char c = value.charAt(i);
+      if (c == '\\') {
+        field.append(value.charAt(++i));
+        present = true;
+      } else if (quoted && c == '"') {
+        if (value.charAt(i + 1) == '"')
+          field.append(value.charAt(++i));
+        else
+          quoted = false;
+      } else if (quoted)
+        field.append(c);
+      else if (c == '"')
+        quoted = present = true;
+      else if (c == ',') {
+        fields.add(present ? field.toString() : null);
+        field.setLength(0);
+        present = false;
+      } else {
+        field.append(c);
+        present = true;
+      }
+    }
+    fields.add(present ? field.toString() : null);
+    return fields;
+  }
+}
@@ -4,7 +4,8 @@ import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
 import io.trane.ndbc.value.ShortValue;
 
-final class ShortEncoding extends Encoding<Short, ShortValue> {
+final class ShortEncoding extends Encoding<Short, ShortValue>
+    implements PrimitiveEncoding {
 
   @Override
   public final Integer oid() {
@@ -31,6 +32,14 @@ final class ShortEncoding extends Encoding<Short, ShortValue> {
     b.writeShort(value);
   }
 
+  @Override
+  public final void encodePrimitive(final Format format, final long bits, final BufferWriter b) {
+    if (format == Format.TEXT)
+      b.writeString(Short.toString((short) bits));
+    else
+      b.writeShort((short) bits);
+  }
+
   @Override
   public final Short decodeBinary(final BufferReader b) {
     return b.readShort();
@@ -0,0 +1,113 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.value.StringValue;
+
+/**
+ * A bounded cache that deduplicates decoded strings. Lookups compare the raw
+ * bytes with the cached string, so a hit doesn't allocate and a miss allocates
+ * no more than decoding without the cache. It's direct-mapped: each slot keeps
+ * one string, and values are immutable, so concurrent readers and writers need
+ * no locking. Only short ASCII strings are cached.
+ *
+ * A slot already in use is only replaced by a value that missed it twice in a
+ * row, so values seen once, like those of high-cardinality columns, don't evict
+ * the frequent ones.
+ */
+public final class StringCache {
+
+  private static final int    MAX_LENGTH = 64;
+
+  private final StringValue[] entries;
+  private final int[]         candidates;
+  private final int           mask;
+  private final LongAdder     hits       = new LongAdder();
+  private final LongAdder     misses     = new LongAdder();
+
+  /**
+   * @param size
+   *          the number of entries, rounded up to a power of two
+   */
+  public StringCache(final int size) {
+    if (size <= 0)
+      throw new IllegalArgumentException("Invalid string cache size: " + size);
+    final int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+    this.entries = new StringValue[capacity];
+    this.candidates = new int[capacity];
+    this.mask = capacity - 1;
+  }
+
+  public final StringValue decode(final BufferReader b) {
+    final int length = b.readableBytes();
+    if (length > MAX_LENGTH)
+      return new StringValue(b.readString());
+
+    int hash = 1;
+    for (int i = 0; i < length; i++)
+      hash = 31 * hash + b.getByte(i);
+
+    final int index = (hash ^ (hash >>> 16)) & mask;
+    final StringValue entry = entries[index];
+    if (entry != null && matches(entry.get(), b, length)) {
+      b.skipBytes(length);
+      hits.increment();
+      return entry;
+    } else {
+      misses.increment();
+      final StringValue value = new StringValue(b.readString());
+      if (admit(entry, index, hash) && isAscii(value.get(), length))
+        entries[index] = value;
+      return value;
+    }
+  }
+
+  public final long hits() {
+    return hits.sum();
+  }
+
+  public final long misses() {
+    return misses.sum();
+  }
+
+  public final double hitRate() {
+    final long h = hits();
+    final long total = h + misses();
+    return total == 0 ? 0 : (double) h / total;
+  }
+
+  private final boolean admit(final StringValue entry, final int index, final int hash) {
+    if (entry == null || candidates[index] == hash)
+      return true;
+    else {
+      candidates[index] = hash;
+      return false;
+    }
+  }
+
+  // ASCII bytes decode to the same chars in any charset Postgres supports
+  private final boolean isAscii(final String value, final int length) {
+    if (value.length() != length)
+      return false;
+    for (int i = 0; i < length; i++)
+      if (value.charAt(i) >= 0x80)
+        return false;
+    return true;
+  }
+
+  private final boolean matches(final String value, final BufferReader b, final int length) {
+    if (value.length() != length)
+      return false;
+    for (int i = 0; i < length; i++)
+      if (value.charAt(i) != b.getByte(i))
+        return false;
+    return true;
+  }
+
+  @Override
+  public final String toString() {
+    return "StringCache [size=" + entries.length + ", hits=" + hits() + ", misses=" + misses()
+        + ", hitRate=" + hitRate() + "]";
+  }
+}
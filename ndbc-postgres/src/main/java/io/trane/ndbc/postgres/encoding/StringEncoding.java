@@ -1,5 +1,6 @@
 package io.trane.ndbc.postgres.encoding;
 
+import java.util.Optional;
 import java.util.Set;
 
 import io.trane.ndbc.proto.BufferReader;
@@ -9,6 +10,16 @@ import io.trane.ndbc.value.StringValue;
 
 final class StringEncoding extends Encoding<String, StringValue> {
 
+  private final Optional<StringCache> cache;
+
+  public StringEncoding() {
+    this(Optional.empty());
+  }
+
+  public StringEncoding(final Optional<StringCache> cache) {
+    this.cache = cache;
+  }
+
   @Override
   public Integer oid() {
     return Oid.VARCHAR;
@@ -24,6 +35,15 @@ final class StringEncoding extends Encoding<String, StringValue> {
     return StringValue.class;
   }
 
+  // text and binary strings have the same bytes, so both formats can be cached
+  @Override
+  public final StringValue decode(final Format format, final BufferReader reader) {
+    if (cache.isPresent())
+      return cache.get().decode(reader);
+    else
+      return super.decode(format, reader);
+  }
+
   @Override
   public final String encodeText(final String value) {
     return value;
@@ -0,0 +1,243 @@
+package io.trane.ndbc.postgres.encoding;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Converts Postgres timestamps from and to `java.time` without going through
+ * `java.sql` or intermediate `Instant`s. The text format is the ISO one
+ * Postgres outputs: `yyyy-MM-dd HH:mm:ss[.ffffff][+HH[:MM[:SS]]][ BC]`.
+ */
+public final class Timestamps {
+
+  /**
+   * Microseconds between the Unix epoch and the Postgres epoch, 2000-01-01.
+   */
+  public static final long POSTGRES_EPOCH_MICROS = 946684800000000L;
+
+  private static final String BC = " BC";
+
+  private Timestamps() {
+  }
+
+  /**
+   * Converts a binary Postgres timestamp to microseconds since the Unix epoch.
+   * `infinity` and `-infinity`, `Long.MAX_VALUE` and `Long.MIN_VALUE` on the
+   * wire, are kept as they are instead of overflowing. The `java.time` forms
+   * of infinity are `LocalDateTime.MAX` and `LocalDateTime.MIN`.
+   */
+  public static final long toEpochMicros(final long value) {
+    return isInfinite(value) ? value : value + POSTGRES_EPOCH_MICROS;
+  }
+
+  static final long toMicros(final LocalDateTime value) {
+    if (value.equals(LocalDateTime.MAX))
+      return Long.MAX_VALUE;
+    else if (value.equals(LocalDateTime.MIN))
+      return Long.MIN_VALUE;
+    else
+      return micros(value.toEpochSecond(ZoneOffset.UTC), value.getNano());
+  }
+
+  static final long toMicros(final OffsetDateTime value) {
+    final LocalDateTime local = value.toLocalDateTime();
+    if (local.equals(LocalDateTime.MAX) || local.equals(LocalDateTime.MIN))
+      return toMicros(local);
+    else
+      return micros(value.toEpochSecond(), value.getNano());
+  }
+
+  static final LocalDateTime fromMicros(final long value) {
+    if (value == Long.MAX_VALUE)
+      return LocalDateTime.MAX;
+    else if (value == Long.MIN_VALUE)
+      return LocalDateTime.MIN;
+    final long micros = value + POSTGRES_EPOCH_MICROS;
+    final long seconds = Math.floorDiv(micros, 1000000L);
+    final int nanos = (int) Math.floorMod(micros, 1000000L) * 1000;
+    return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+  }
+
+  static final String format(final LocalDateTime value) {
+    final StringBuilder sb = new StringBuilder(32);
+    appendDateTime(sb, value);
+    return appendEra(sb, value).toString();
+  }
+
+  static final String format(final OffsetDateTime value) {
+    final StringBuilder sb = new StringBuilder(40);
+    appendDateTime(sb, value.toLocalDateTime());
+    final int offset = value.getOffset().getTotalSeconds();
+    final int abs = Math.abs(offset);
+    sb.append(offset < 0 ? '-' : '+');
+    append(sb, abs / 3600, 2).append(':');
+    append(sb, abs / 60 % 60, 2);
+    if (abs % 60 != 0)
+      append(sb.append(':'), abs % 60, 2);
+    return appendEra(sb, value.toLocalDateTime()).toString();
+  }
+
+  static final LocalDateTime parseLocalDateTime(final String value) {
+    final int end = end(value);
+    final int fractionEnd = fractionEnd(value);
+    if (fractionEnd != end)
+      throw invalid(value, fractionEnd);
+    return dateTime(value, fractionEnd, end != value.length());
+  }
+
+  static final OffsetDateTime parseOffsetDateTime(final String value) {
+    final int end = end(value);
+    final int fractionEnd = fractionEnd(value);
+    final LocalDateTime dateTime = dateTime(value, fractionEnd, end != value.length());
+    return OffsetDateTime.of(dateTime, offset(value, fractionEnd, end));
+  }
+
+  private static final boolean isInfinite(final long value) {
+    return value == Long.MAX_VALUE || value == Long.MIN_VALUE;
+  }
+
+  private static final long micros(final long epochSeconds, final int nanos) {
+    return epochSeconds * 1000000L + nanos / 1000 - POSTGRES_EPOCH_MICROS;
+  }
+
+  private static final void appendDateTime(final StringBuilder sb, final LocalDateTime value) {
+    final int year = value.getYear();
+    append(sb, year > 0 ? year : 1 - year, 4).append('-');
+    append(sb, value.getMonthValue(), 2).append('-');
+    append(sb, value.getDayOfMonth(), 2).append(' ');
+    append(sb, value.getHour(), 2).append(':');
+    append(sb, value.getMinute(), 2).append(':');
+    append(sb, value.getSecond(), 2);
+    final int nanos = value.getNano();
+    if (nanos != 0) {
+      append(sb.append('.'), nanos, 9);
+      int length = sb.length();
+      while (sb.charAt(length - 1) == '0')
+        length--;
+      sb.setLength(length);
+    }
+  }
+
+  private static final StringBuilder appendEra(final StringBuilder sb,
+      final LocalDateTime value) {
+    return value.getYear() > 0 ? sb : sb.append(BC);
+  }
+
+  private static final StringBuilder append(final StringBuilder sb, final int value,
+      final int width) {
+    for (int i = 1, limit = 10; i < width; i++, limit *= 10)
+      if (value < limit)
+        sb.append('0');
+    return sb.append(value);
+  }
+
+  private static final int end(final String value) {
+    return value.endsWith(BC) ? value.length() - BC.length() : value.length();
+  }
+
+  /**
+   * The date-time part has a fixed layout once the variable length year is
+   * known, so only the fraction has to be scanned.
+   */
+  private static final int fractionEnd(final String value) {
+    final int secondsEnd = yearEnd(value) + 15;
+    int i = secondsEnd;
+    if (i < value.length() && value.charAt(i) == '.')
+      do
+        i++;
+      while (i < value.length() && isDigit(value.charAt(i)));
+    return i;
+  }
+
+  private static final LocalDateTime dateTime(final String value, final int fractionEnd,
+      final boolean bc) {
+    final int yearEnd = yearEnd(value);
+    final int year = digits(value, 0, yearEnd);
+    expect(value, yearEnd, '-');
+    final int month = digits(value, yearEnd + 1, yearEnd + 3);
+    expect(value, yearEnd + 3, '-');
+    final int day = digits(value, yearEnd + 4, yearEnd + 6);
+    if (value.charAt(yearEnd + 6) != ' ' && value.charAt(yearEnd + 6) != 'T')
+      throw invalid(value, yearEnd + 6);
+    final int hour = digits(value, yearEnd + 7, yearEnd + 9);
+    expect(value, yearEnd + 9, ':');
+    final int minute = digits(value, yearEnd + 10, yearEnd + 12);
+    expect(value, yearEnd + 12, ':');
+    final int second = digits(value, yearEnd + 13, yearEnd + 15);
+    final int nanos = nanos(value, yearEnd + 16, fractionEnd);
+    return LocalDateTime.of(bc ? 1 - year : year, month, day, hour, minute, second, nanos);
+  }
+
+  private static final int nanos(final String value, final int from, final int to) {
+    if (from >= to)
+      return 0;
+    else if (to - from > 9)
+      throw invalid(value, from + 9);
+    else {
+      int nanos = digits(value, from, to);
+      for (int i = to - from; i < 9; i++)
+        nanos *= 10;
+      return nanos;
+    }
+  }
+
+  private static final ZoneOffset offset(final String value, final int from, final int to) {
+    if (from == to - 1 && value.charAt(from) == 'Z')
+      return ZoneOffset.UTC;
+    if (to - from < 3)
+      throw invalid(value, from);
+    final char sign = value.charAt(from);
+    if (sign != '+' && sign != '-')
+      throw invalid(value, from);
+    int seconds = digits(value, from + 1, from + 3) * 3600;
+    int i = from + 3;
+    if (i < to) {
+      expect(value, i, ':');
+      seconds += digits(value, i + 1, i + 3) * 60;
+      i += 3;
+    }
+    if (i < to) {
+      expect(value, i, ':');
+      seconds += digits(value, i + 1, i + 3);
+      i += 3;
+    }
+    if (i != to)
+      throw invalid(value, i);
+    return ZoneOffset.ofTotalSeconds(sign == '-' ? -seconds : seconds);
+  }
+
+  private static final int yearEnd(final String value) {
+    final int yearEnd = value.indexOf('-');
+    if (yearEnd < 4 || value.length() < yearEnd + 15)
+      throw invalid(value, 0);
+    return yearEnd;
+  }
+
+  private static final int digits(final String value, final int from, final int to) {
+    if (to > value.length())
+      throw invalid(value, value.length());
+    int result = 0;
+    for (int i = from; i < to; i++) {
+      final char c = value.charAt(i);
+      if (!isDigit(c))
+        throw invalid(value, i);
+      result = result * 10 + (c - '0');
+    }
+    return result;
+  }
+
+  private static final boolean isDigit(final char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static final void expect(final String value, final int index, final char c) {
+    if (index >= value.length() || value.charAt(index) != c)
+      throw invalid(value, index);
+  }
+
+  private static final DateTimeParseException invalid(final String value, final int index) {
+    return new DateTimeParseException("Invalid timestamp: " + value, value, index);
+  }
+}
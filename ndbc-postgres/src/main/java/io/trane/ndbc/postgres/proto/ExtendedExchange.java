@@ -4,7 +4,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.logging.Logger;
 
+import io.trane.ndbc.Placeholders;
+import io.trane.ndbc.PreparedStatement;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
 import io.trane.ndbc.postgres.encoding.Format;
 import io.trane.ndbc.postgres.proto.Message.Bind;
 import io.trane.ndbc.postgres.proto.Message.BindComplete;
@@ -17,10 +21,13 @@ import io.trane.ndbc.postgres.proto.Message.ParseComplete;
 import io.trane.ndbc.postgres.proto.Message.ReadyForQuery;
 import io.trane.ndbc.postgres.proto.Message.Sync;
 import io.trane.ndbc.proto.Exchange;
+import io.trane.ndbc.proto.ServerErrorException;
 import io.trane.ndbc.value.Value;
 
 public final class ExtendedExchange {
 
+  private static final Logger log = Logger.getLogger(ExtendedExchange.class.getName());
+
   private final short[]      binary      = { Format.BINARY.getCode() };
   private final Sync         sync        = new Sync();
   private final Set<Integer> prepared    = new HashSet<>();
@@ -38,6 +45,41 @@ public final class ExtendedExchange {
                 .thenWaitFor(ReadyForQuery.class);
   }
 
+  /**
+   * Prepares the statements in a single round trip. Each Parse is followed by
+   * its own Sync, so a statement the server rejects doesn't make it skip the
+   * next ones. Rejected statements are logged and left unprepared; any other
+   * failure fails the exchange.
+   */
+  public final Exchange<Void> prepare(final List<PreparedStatement> statements) {
+    final Set<Integer> ids = new HashSet<>();
+    Exchange<Void> parse = Exchange.VOID;
+    Exchange<Void> parseComplete = Exchange.VOID;
+    for (final PreparedStatement ps : statements) {
+      final int id = id(ps.query(), ps.params());
+      if (!prepared.contains(id) && ids.add(id)) {
+        parse = parse
+            .thenSend(new Parse(Integer.toString(id), Placeholders.positional(ps.query()),
+                ps.params()))
+            .thenSend(sync);
+        parseComplete = parseComplete.then(parseComplete(id, ps.query()));
+      }
+    }
+    return ids.isEmpty() ? Exchange.VOID : parse.then(parseComplete);
+  }
+
+  private final Exchange<Void> parseComplete(final int id, final String query) {
+    return Exchange.VOID.thenReceive(ParseComplete.class)
+        .onSuccess(ign -> Exchange.value(prepared.add(id)))
+        .thenWaitFor(ReadyForQuery.class)
+        .rescue(ex -> {
+          if (!(ex instanceof ServerErrorException))
+            return Exchange.fail(ex);
+          log.warning("Can't prepare statement `" + query + "`: " + ex.getMessage());
+          return Exchange.VOID;
+        });
+  }
+
   private final <T> Exchange<T> withParsing(final String query, final List<Value<?>> params,
       final Function<String, Exchange<T>> f) {
     final int id = id(query, params);
@@ -45,7 +87,7 @@ public final class ExtendedExchange {
     if (prepared.contains(id))
       return f.apply(idString);
     else
-      return Exchange.send(new Parse(Integer.toString(id), positional(query), params))
+      return Exchange.send(new Parse(Integer.toString(id), Placeholders.positional(query), params))
           .then(f.apply(idString))
           .thenReceive(ParseComplete.class)
           .onSuccess(ign -> Exchange.value(prepared.add(id)));
@@ -53,24 +95,8 @@ public final class ExtendedExchange {
   
   private final int id(final String query, final List<Value<?>> params) {
     int id = query.hashCode();
-    for(Value<?> v : params) 
-      id = 31 * id + v.getClass().hashCode();
+    for (int i = 0; i < params.size(); i++)
+      id = 31 * id + EncodingRegistry.valueClass(params, i).hashCode();
     return id;
   }
-
-  // TODO handle quotes, comments, etc.
-  private final String positional(final String query) {
-    int idx = 0;
-    final StringBuilder sb = new StringBuilder();
-    for (int i = 0; i < query.length(); i++) {
-      final char c = query.charAt(i);
-      if (c == '?') {
-        idx += 1;
-        sb.append("$");
-        sb.append(idx);
-      } else
-        sb.append(c);
-    }
-    return sb.toString();
-  }
 }
@@ -0,0 +1,163 @@
+package io.trane.ndbc.postgres.proto;
+
+import io.trane.ndbc.Row;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.encoding.Format;
+import io.trane.ndbc.postgres.encoding.Oid;
+import io.trane.ndbc.postgres.encoding.Timestamps;
+import io.trane.ndbc.postgres.proto.Message.DataRow;
+import io.trane.ndbc.postgres.proto.Message.RowDescription;
+import io.trane.ndbc.proto.BufferReader;
+import io.trane.ndbc.value.Value;
+
+/**
+ * Decodes the columns of a `DataRow` on demand. Binary integer, floating point,
+ * boolean and timestamp columns are read directly as primitives; any other
+ * column falls back to its `Value`, which is kept so later reads of the column
+ * don't decode it again.
+ */
+final class LazyRowDecoder implements Row.Decoder {
+
+  private final EncodingRegistry.Decoder[] decoders;
+  private final RowDescription.Field[]     fields;
+  private final BufferReader[]             values;
+  private Value<?>[]                       fallbacks;
+
+  public LazyRowDecoder(final EncodingRegistry.Decoder[] decoders, final RowDescription desc,
+      final DataRow data) {
+    super();
+    this.decoders = decoders;
+    this.fields = desc.fields;
+    this.values = data.values;
+  }
+
+  @Override
+  public final Value<?> decode(final int position) {
+    final BufferReader reader = values[position];
+    if (reader == null)
+      return Value.NULL;
+    else {
+      values[position] = null;
+      try {
+        return fallbacks != null && fallbacks[position] != null ? fallbacks[position]
+            : decode(position, reader);
+      } finally {
+        reader.release();
+      }
+    }
+  }
+
+  @Override
+  public final boolean isNull(final int position) {
+    return values[position] == null;
+  }
+
+  @Override
+  public final int decodeInt(final int position) {
+    final BufferReader reader = reader(position);
+    try {
+      if (binary(position, Oid.INT4))
+        return reader.readInt();
+      else if (binary(position, Oid.INT2))
+        return reader.readShort();
+      else
+        return fallback(position, reader).getInteger();
+    } finally {
+      reader.resetReaderIndex();
+    }
+  }
+
+  @Override
+  public final long decodeLong(final int position) {
+    final BufferReader reader = reader(position);
+    try {
+      if (binary(position, Oid.INT8))
+        return reader.readLong();
+      else if (binary(position, Oid.INT4))
+        return reader.readInt();
+      else if (binary(position, Oid.INT2))
+        return reader.readShort();
+      else
+        return fallback(position, reader).getLong();
+    } finally {
+      reader.resetReaderIndex();
+    }
+  }
+
+  @Override
+  public final double decodeDouble(final int position) {
+    final BufferReader reader = reader(position);
+    try {
+      if (binary(position, Oid.FLOAT8))
+        return reader.readDouble();
+      else if (binary(position, Oid.FLOAT4))
+        return reader.readFloat();
+      else
+        return fallback(position, reader).getDouble();
+    } finally {
+      reader.resetReaderIndex();
+    }
+  }
+
+  @Override
+  public final boolean decodeBoolean(final int position) {
+    final BufferReader reader = reader(position);
+    try {
+      if (binary(position, Oid.BOOL))
+        return reader.readByte() != 0;
+      else
+        return fallback(position, reader).getBoolean();
+    } finally {
+      reader.resetReaderIndex();
+    }
+  }
+
+  @Override
+  public final long decodeEpochMicros(final int position) {
+    final BufferReader reader = reader(position);
+    try {
+      if (binary(position, Oid.TIMESTAMPTZ) || binary(position, Oid.TIMESTAMP))
+        return Timestamps.toEpochMicros(reader.readLong());
+      else
+        return fallback(position, reader).getEpochMicros();
+    } finally {
+      reader.resetReaderIndex();
+    }
+  }
+
+  @Override
+  public final void release() {
+    for (int i = 0; i < values.length; i++)
+      if (values[i] != null) {
+        values[i].release();
+        values[i] = null;
+      }
+    fallbacks = null;
+  }
+
+  private final BufferReader reader(final int position) {
+    final BufferReader reader = values[position];
+    reader.markReaderIndex();
+    return reader;
+  }
+
+  private final boolean binary(final int position, final int oid) {
+    final RowDescription.Field field = fields[position];
+    return field.dataType == oid && field.formatCode == Format.BINARY.getCode();
+  }
+
+  private final Value<?> decode(final int position, final BufferReader reader) {
+    return decoders[position].decode(reader);
+  }
+
+  private final Value<?> fallback(final int position, final BufferReader reader) {
+    if (fallbacks == null)
+      fallbacks = new Value<?>[values.length];
+    Value<?> value = fallbacks[position];
+    if (value == null) {
+      value = decode(position, reader);
+      fallbacks[position] = value;
+    }
+    return value;
+  }
+}
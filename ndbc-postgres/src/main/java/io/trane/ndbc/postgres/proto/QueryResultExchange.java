@@ -21,35 +21,31 @@ import io.trane.ndbc.value.Value;
 public final class QueryResultExchange {
 
   private final EncodingRegistry encoding;
+  private final boolean          lazyRows;
 
-  public QueryResultExchange(final EncodingRegistry encoding) {
+  public QueryResultExchange(final EncodingRegistry encoding, final boolean lazyRows) {
     super();
     this.encoding = encoding;
+    this.lazyRows = lazyRows;
   }
 
   public final Exchange<List<Row>> apply() {
-    return Exchange.receive(rowDescription)
-        .flatMap(desc -> gatherDataRows(new ArrayList<>()).map(rows -> toResultSet(desc, rows)));
+    return Exchange.receive(rowDescription).flatMap(this::gatherRows);
   }
 
-  private final Row toRow(final EncodingRegistry encoding, final RowDescription desc,
-      final DataRow data) {
+  private final Row toRow(final EncodingRegistry.Decoder[] decoders,
+      final Map<String, Integer> positions, final DataRow data) {
 
-    final RowDescription.Field[] fields = desc.fields;
     final BufferReader[] values = data.values;
-
-    final int length = fields.length;
-    final Map<String, Integer> positions = new HashMap<>(length);
+    final int length = decoders.length;
     final Value<?>[] columns = new Value<?>[length];
 
     for (int i = 0; i < length; i++) {
-      final RowDescription.Field field = fields[i];
-      positions.put(field.name, i);
       final BufferReader reader = values[i];
       if (reader == null)
         columns[i] = Value.NULL;
       else {
-        columns[i] = encoding.decode(field.dataType, Format.fromCode(field.formatCode), reader);
+        columns[i] = decoders[i].decode(reader);
         reader.release();
       }
     }
@@ -57,21 +53,42 @@ public final class QueryResultExchange {
     return Row.apply(positions, columns);
   }
 
-  private final Exchange<List<DataRow>> gatherDataRows(final List<DataRow> rows) {
-    return Exchange.receive(PartialFunction.<ServerMessage, Exchange<List<DataRow>>>apply()
-        .orElse(EmptyQueryResponse.class, msg -> Exchange.value(rows))
-        .orElse(CommandComplete.class, msg -> Exchange.value(rows)).orElse(DataRow.class, row -> {
-          rows.add(row);
-          return gatherDataRows(rows);
-        }));
+  private final Map<String, Integer> positions(final RowDescription desc) {
+    final RowDescription.Field[] fields = desc.fields;
+    final Map<String, Integer> positions = new HashMap<>(fields.length);
+    for (int i = 0; i < fields.length; i++)
+      positions.put(fields[i].name, i);
+    return positions;
+  }
+
+  private final EncodingRegistry.Decoder[] decoders(final RowDescription desc) {
+    final RowDescription.Field[] fields = desc.fields;
+    final EncodingRegistry.Decoder[] decoders = new EncodingRegistry.Decoder[fields.length];
+    for (int i = 0; i < fields.length; i++)
+      decoders[i] = encoding.decoder(fields[i].dataType, Format.fromCode(fields[i].formatCode));
+    return decoders;
   }
 
-  private final List<Row> toResultSet(final RowDescription desc, final List<DataRow> dataRows) {
-    final int size = dataRows.size();
-    final List<Row> rows = new ArrayList<>(size);
-    for (final DataRow dr : dataRows)
-      rows.add(toRow(encoding, desc, dr));
-    return rows;
+  // the column positions and decoders are resolved once and shared by all rows
+  private final Exchange<List<Row>> gatherRows(final RowDescription desc) {
+    return channel -> {
+      final List<Row> rows = new ArrayList<>();
+      final Map<String, Integer> positions = positions(desc);
+      final EncodingRegistry.Decoder[] decoders = decoders(desc);
+      return Exchange.receiveWhile(msg -> {
+        if (msg instanceof DataRow) {
+          if (lazyRows)
+            rows.add(Row.lazy(positions, decoders.length,
+                new LazyRowDecoder(decoders, desc, (DataRow) msg)));
+          else
+            rows.add(toRow(decoders, positions, (DataRow) msg));
+          return true;
+        } else if (msg instanceof CommandComplete || msg instanceof EmptyQueryResponse)
+          return false;
+        else
+          throw new RuntimeException("Unexpected server message: " + msg);
+      }).run(channel).map(v -> rows);
+    };
   }
 
   private final PartialFunction<ServerMessage, Exchange<RowDescription>> rowDescription = PartialFunction
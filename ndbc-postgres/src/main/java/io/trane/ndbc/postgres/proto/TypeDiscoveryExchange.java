@@ -0,0 +1,128 @@
+package io.trane.ndbc.postgres.proto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.trane.future.Future;
+import io.trane.future.Promise;
+import io.trane.ndbc.Row;
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.proto.Exchange;
+
+/**
+ * Queries the user-defined enums, composite types and domains and registers
+ * them in the encoding registry. The query runs on the first connection that
+ * applies the exchange; connections created meanwhile wait for it. If it
+ * fails, it's logged and retried by the next connection.
+ */
+public final class TypeDiscoveryExchange {
+
+  private static final Logger log   = Logger.getLogger(TypeDiscoveryExchange.class.getName());
+
+  private static final String QUERY = "SELECT t.oid::int4, t.typtype::text, t.typarray::int4, "
+      + "t.typbasetype::int4, b.typarray::int4, a.attname::text, a.atttypid::int4 "
+      + "FROM pg_type t JOIN pg_namespace n ON n.oid = t.typnamespace "
+      + "LEFT JOIN pg_type b ON b.oid = t.typbasetype "
+      + "LEFT JOIN pg_attribute a ON a.attrelid = t.typrelid AND a.attnum > 0 "
+      + "AND NOT a.attisdropped "
+      + "WHERE t.typtype IN ('e', 'c', 'd') "
+      + "AND n.nspname NOT IN ('pg_catalog', 'information_schema') "
+      + "AND n.nspname NOT LIKE 'pg_toast%' "
+      + "ORDER BY t.oid, a.attnum";
+
+  private final EncodingRegistry              encoding;
+  private final SimpleQueryExchange           query;
+  private final AtomicReference<Future<Void>> discovered = new AtomicReference<>();
+
+  public TypeDiscoveryExchange(final EncodingRegistry encoding) {
+    super();
+    this.encoding = encoding;
+    this.query = new SimpleQueryExchange(new QueryResultExchange(encoding, false));
+  }
+
+  public final Exchange<Void> apply() {
+    return channel -> {
+      final Future<Void> current = discovered.get();
+      if (current != null)
+        return current;
+      final Promise<Void> p = Promise.apply();
+      if (!discovered.compareAndSet(null, p))
+        return discovered.get();
+      p.become(query.apply(QUERY).map(this::register).run(channel).rescue(ex -> {
+        log.log(Level.WARNING, "Can't discover types.", ex);
+        discovered.compareAndSet(p, null);
+        return Future.VOID;
+      }));
+      return p;
+    };
+  }
+
+  private final Void register(final List<Row> rows) {
+    final List<Row> domains = new ArrayList<>();
+    for (int i = 0; i < rows.size();) {
+      final Row row = rows.get(i);
+      final int oid = row.getInt(0);
+      switch (row.column(1).getString()) {
+        case "e":
+          encoding.registerEnum(oid, row.getInt(2));
+          i++;
+          break;
+        case "c":
+          i = registerComposite(rows, i);
+          break;
+        default:
+          domains.add(row);
+          i++;
+      }
+    }
+    registerDomains(domains);
+    return null;
+  }
+
+  /**
+   * A composite type has a row per field. Returns the index of the next type.
+   */
+  private final int registerComposite(final List<Row> rows, final int start) {
+    final int oid = rows.get(start).getInt(0);
+    int end = start;
+    while (end < rows.size() && rows.get(end).getInt(0) == oid)
+      end++;
+    final List<String> names = new ArrayList<>(end - start);
+    final int[] oids = new int[end - start];
+    for (int i = start; i < end; i++) {
+      final Row row = rows.get(i);
+      if (!row.isNull(5)) {
+        oids[names.size()] = row.getInt(6);
+        names.add(row.column(5).getString());
+      }
+    }
+    encoding.registerComposite(oid, names, Arrays.copyOf(oids, names.size()));
+    return end;
+  }
+
+  /**
+   * A domain can be based on another domain, so they're registered until no
+   * more base types are found.
+   */
+  private final void registerDomains(final List<Row> domains) {
+    boolean registered = true;
+    while (registered) {
+      registered = false;
+      for (final Iterator<Row> it = domains.iterator(); it.hasNext();) {
+        final Row row = it.next();
+        final int baseArrayOid = row.isNull(4) ? 0 : row.getInt(4);
+        if (encoding.registerDomain(row.getInt(0), row.getInt(2), row.getInt(3), baseArrayOid)) {
+          it.remove();
+          registered = true;
+        }
+      }
+    }
+    for (final Row row : domains)
+      log.fine("Can't decode domain " + row.getInt(0) + " of unsupported type " + row.getInt(3));
+  }
+}
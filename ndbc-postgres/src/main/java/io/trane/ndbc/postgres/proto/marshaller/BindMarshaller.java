@@ -4,7 +4,6 @@ import io.trane.ndbc.postgres.encoding.EncodingRegistry;
 import io.trane.ndbc.postgres.encoding.Format;
 import io.trane.ndbc.postgres.proto.Message.Bind;
 import io.trane.ndbc.proto.BufferWriter;
-import io.trane.ndbc.value.Value;
 
 public final class BindMarshaller {
 
@@ -28,17 +27,16 @@ public final class BindMarshaller {
 
     b.writeShort((short) msg.fields.size());
 
-    int i = 0;
-    for (final Value<?> field : msg.fields) {
-      if (field == null || field.isNull())
+    final int size = msg.fields.size();
+    for (int i = 0; i < size; i++) {
+      if (EncodingRegistry.isNull(msg.fields, i))
         b.writeInt(-1);
       else {
         final int lengthPosition = b.writerIndex();
         b.writeInt(0);
-        encoding.encode(format(msg, i), field, b);
+        encoding.encode(format(msg, i), msg.fields, i, b);
         b.writeLengthNoSelf(lengthPosition);
       }
-      i++;
     }
 
     b.writeShort((short) msg.resultColumnFormatCodes.length);
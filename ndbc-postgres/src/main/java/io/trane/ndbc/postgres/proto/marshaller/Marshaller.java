@@ -3,6 +3,7 @@ package io.trane.ndbc.postgres.proto.marshaller;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
 import io.trane.ndbc.postgres.proto.Message.Bind;
 import io.trane.ndbc.postgres.proto.Message.CancelRequest;
 import io.trane.ndbc.postgres.proto.Message.Close;
@@ -41,6 +42,14 @@ public class Marshaller {
   private final TerminateMarshaller       terminateMarshaller;
   private final SSLRequestMarshaller      sslRequestMarshaller;
 
+  public static final Marshaller apply(final EncodingRegistry encoding) {
+    return new Marshaller(new BindMarshaller(encoding), new CancelRequestMarshaller(),
+        new CloseMarshaller(), new DescribeMarshaller(), new ExecuteMarshaller(),
+        new FlushMarshaller(), new ParseMarshaller(encoding), new QueryMarshaller(),
+        new PasswordMessageMarshaller(), new StartupMessageMarshaller(), new SyncMarshaller(),
+        new TerminateMarshaller(), new SSLRequestMarshaller());
+  }
+
   public Marshaller(final BindMarshaller bindMarshaller,
       final CancelRequestMarshaller cancelRequestMarshaller,
       final CloseMarshaller closeMarshaller, final DescribeMarshaller describeMarshaller,
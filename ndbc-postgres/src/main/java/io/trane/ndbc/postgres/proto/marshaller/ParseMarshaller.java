@@ -3,7 +3,6 @@ package io.trane.ndbc.postgres.proto.marshaller;
 import io.trane.ndbc.postgres.encoding.EncodingRegistry;
 import io.trane.ndbc.postgres.proto.Message.Parse;
 import io.trane.ndbc.proto.BufferWriter;
-import io.trane.ndbc.value.Value;
 
 public final class ParseMarshaller {
 
@@ -19,10 +18,11 @@ public final class ParseMarshaller {
 
     b.writeCString(msg.destinationName);
     b.writeCString(msg.query);
-    b.writeShort((short) msg.params.size());
+    final int size = msg.params.size();
+    b.writeShort((short) size);
 
-    for (final Value<?> v : msg.params)
-      b.writeInt(encoding.oid(v));
+    for (int i = 0; i < size; i++)
+      b.writeInt(encoding.oid(msg.params, i));
 
     b.writeLength(1);
   }
@@ -1,11 +1,23 @@
 package io.trane.ndbc.postgres.proto.unmarshaller;
 
 import io.trane.ndbc.postgres.proto.Message.DataRow;
-import io.trane.ndbc.proto.BufferReader;;
+import io.trane.ndbc.proto.BufferReader;
 
 final class DataRowUnmarshaller {
 
-  public final DataRow decode(final BufferReader b) {
+  private final boolean unpooled;
+
+  /**
+   * Lazy rows outlive the exchange that reads them, so with `unpooled` each
+   * row is copied out of the network buffer before its columns are sliced.
+   */
+  public DataRowUnmarshaller(final boolean unpooled) {
+    super();
+    this.unpooled = unpooled;
+  }
+
+  public final DataRow decode(final BufferReader message) {
+    final BufferReader b = unpooled ? message.unpooled() : message;
     final short columns = b.readShort();
     final BufferReader[] values = new BufferReader[columns];
     for (short i = 0; i < columns; i++) {
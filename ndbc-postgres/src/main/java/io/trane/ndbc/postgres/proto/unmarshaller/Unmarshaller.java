@@ -45,10 +45,18 @@ public final class Unmarshaller {
   private final PortalSuspended                   portalSuspended    = new PortalSuspended();
 
   public Unmarshaller() {
+    this(false);
+  }
+
+  /**
+   * With `lazyRows`, data rows don't reference the network buffers, so rows that
+   * are never fully read or released don't leak them.
+   */
+  public Unmarshaller(final boolean lazyRows) {
     super();
     authenticationRequestUnmarshaller = new AuthenticationRequestUnmarshaller();
     commandCompleteUnmarshaller = new CommandCompleteUnmarshaller();
-    dataRowUnmarshaller = new DataRowUnmarshaller();
+    dataRowUnmarshaller = new DataRowUnmarshaller(lazyRows);
     infoResponseFieldsUnmarshaller = new InfoResponseFieldsUnmarshaller();
     rowDescriptionUnmarshaller = new RowDescriptionUnmarshaller();
   }
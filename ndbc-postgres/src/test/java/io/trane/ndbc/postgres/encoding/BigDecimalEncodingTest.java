@@ -1,11 +1,19 @@
 package io.trane.ndbc.postgres.encoding;
 
+import static org.junit.Assert.assertEquals;
+
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.Test;
 
 import io.trane.ndbc.value.BigDecimalValue;
 
 public class BigDecimalEncodingTest extends EncodingTest<BigDecimalValue, BigDecimalEncoding> {
 
+  private final BigDecimalEncoding enc = new BigDecimalEncoding();
+
   public BigDecimalEncodingTest() {
     super(
         new BigDecimalEncoding(),
@@ -14,4 +22,63 @@ public class BigDecimalEncodingTest extends EncodingTest<BigDecimalValue, BigDec
         r -> new BigDecimalValue(BigDecimal.valueOf(r.nextLong(), r.nextInt(100))));
   }
 
+  @Test
+  public void smallPrecision() {
+    final Random r = new Random(1);
+    for (int i = 0; i < 1000; i++) {
+      final long unscaled = r.nextLong() % 1000000000000000000L;
+      roundTrip(BigDecimal.valueOf(unscaled, r.nextInt(40) - 10));
+    }
+  }
+
+  @Test
+  public void edgeCases() {
+    roundTrip(new BigDecimal("0"));
+    roundTrip(new BigDecimal("0.00"));
+    roundTrip(new BigDecimal("1E+5"));
+    roundTrip(new BigDecimal("-12.34"));
+    roundTrip(new BigDecimal("0.0001"));
+    roundTrip(new BigDecimal("1E-30"));
+    roundTrip(new BigDecimal("10000.00001000"));
+    roundTrip(new BigDecimal("999999999999999999"));
+    roundTrip(new BigDecimal("-0.999999999999999999"));
+    roundTrip(new BigDecimal("1000000000000000000"));
+    roundTrip(new BigDecimal("123456789012345678901234567890.0987654321"));
+  }
+
+  @Test
+  public void postgresDigits() {
+    // 1234.5 as sent by postgres: ndigits, weight, sign, dscale, digits
+    final BigDecimal decoded = decode(2, 0, 0x0000, 1, 1234, 5000);
+    assertEquals(new BigDecimal("1234.5"), decoded);
+  }
+
+  @Test
+  public void negativeWeight() {
+    // -0.00012
+    final BigDecimal decoded = decode(2, -1, 0x4000, 5, 1, 2000);
+    assertEquals(new BigDecimal("-0.00012"), decoded);
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void nan() {
+    decode(0, 0, 0xC000, 0);
+  }
+
+  private final BigDecimal decode(final int... shorts) {
+    final ByteBuffer buf = ByteBuffer.allocate(shorts.length * 2);
+    for (final int s : shorts)
+      buf.putShort((short) s);
+    buf.flip();
+    return enc.decodeBinary(new TestBufferReader(buf));
+  }
+
+  private final void roundTrip(final BigDecimal value) {
+    final ByteBuffer buf = ByteBuffer.allocate(1000);
+    enc.encodeBinary(value, new TestBufferWriter(buf));
+    buf.flip();
+    final BigDecimal decoded = enc.decodeBinary(new TestBufferReader(buf));
+    assertEquals(value.compareTo(decoded), 0);
+    assertEquals(Math.max(value.scale(), 0), decoded.scale());
+  }
 }
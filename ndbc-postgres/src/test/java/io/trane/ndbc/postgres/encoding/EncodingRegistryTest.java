@@ -1,16 +1,27 @@
 package io.trane.ndbc.postgres.encoding;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Optional;
 
 import org.junit.Test;
 
+import io.trane.ndbc.PreparedStatement;
+import io.trane.ndbc.Row;
 import io.trane.ndbc.proto.BufferReader;
 import io.trane.ndbc.proto.BufferWriter;
+import io.trane.ndbc.value.IntegerArrayValue;
 import io.trane.ndbc.value.IntegerValue;
+import io.trane.ndbc.value.PrimitiveIntArrayValue;
+import io.trane.ndbc.value.RecordValue;
+import io.trane.ndbc.value.StringValue;
 import io.trane.ndbc.value.Value;
 
 public class EncodingRegistryTest {
@@ -46,6 +57,126 @@ public class EncodingRegistryTest {
     assertEquals(value, decoded);
   }
 
+  @Test
+  public void primitiveArraysEncodeButDontDecode() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    final PrimitiveIntArrayValue value = new PrimitiveIntArrayValue(new int[] { 1, 2 });
+    assertEquals(Integer.valueOf(Oid.INT4_ARRAY), reg.oid(value));
+    final ByteBuffer buf = ByteBuffer.allocate(1000);
+    reg.encode(Format.BINARY, value, new TestBufferWriter(buf));
+    buf.flip();
+    final Value<?> decoded = reg.decode(Oid.INT4_ARRAY, Format.BINARY, new TestBufferReader(buf));
+    assertTrue(decoded instanceof IntegerArrayValue);
+    assertArrayEquals(new int[] { 1, 2 }, decoded.getPrimitiveIntArray());
+  }
+
+  @Test
+  public void primitiveArraysDecodeWhenConfigured() {
+    final EncodingRegistry reg = new EncodingRegistry(
+        Optional.of(Arrays.asList(new PrimitiveArrayEncoding.Ints())));
+    final ByteBuffer buf = ByteBuffer.allocate(1000);
+    reg.encode(Format.BINARY, new IntegerArrayValue(new Integer[] { 1, null }),
+        new TestBufferWriter(buf));
+    buf.flip();
+    final BitSet nulls = new BitSet();
+    nulls.set(1);
+    assertEquals(new PrimitiveIntArrayValue(new int[] { 1, 0 }, Optional.of(nulls)),
+        reg.decode(Oid.INT4_ARRAY, Format.BINARY, new TestBufferReader(buf)));
+  }
+
+  @Test
+  public void registerEnum() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    reg.registerEnum(100000, 100001);
+    final ByteBuffer buf = ByteBuffer.wrap("happy".getBytes());
+    assertEquals(new StringValue("happy"),
+        reg.decode(100000, Format.BINARY, new TestBufferReader(buf)));
+    final ByteBuffer array = ByteBuffer.allocate(100);
+    final String[] labels = { "happy", "sad" };
+    new StringArrayEncoding(new StringEncoding()).encodeBinary(labels,
+        new TestBufferWriter(array));
+    array.flip();
+    assertArrayEquals(labels,
+        reg.decode(100001, Format.BINARY, new TestBufferReader(array)).getStringArray());
+  }
+
+  @Test
+  public void registerDomain() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    assertFalse(reg.registerDomain(100001, 0, 100000, 0));
+    assertTrue(reg.registerDomain(100000, 100002, Oid.INT4, Oid.INT4_ARRAY));
+    assertTrue(reg.registerDomain(100001, 0, 100000, 100002));
+    final ByteBuffer buf = ByteBuffer.allocate(4);
+    buf.putInt(42).flip();
+    assertEquals(new IntegerValue(42),
+        reg.decode(100001, Format.BINARY, new TestBufferReader(buf)));
+  }
+
+  @Test
+  public void registerComposite() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    reg.registerComposite(100000, Arrays.asList("id", "name"), new int[] { Oid.INT4, Oid.TEXT });
+    final Row record = reg.decodeText(100000, "(1,\"a b\")").getRecord();
+    assertEquals(1, record.getInt("id"));
+    assertEquals("a b", record.column("name").getString());
+  }
+
+  @Test
+  public void recordsCantBeBound() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    reg.registerComposite(100000, Arrays.asList("id"), new int[] { Oid.INT4 });
+    final RecordValue value = new RecordValue(reg.decodeText(100000, "(1)").getRecord());
+    try {
+      reg.oid(value);
+      fail();
+    } catch (final UnsupportedOperationException ex) {
+      assertTrue(ex.getMessage().startsWith("Can't bind records as parameters"));
+    }
+    try {
+      reg.encode(Format.BINARY, value, new TestBufferWriter(ByteBuffer.allocate(100)));
+      fail();
+    } catch (final UnsupportedOperationException ex) {
+      assertTrue(ex.getMessage().startsWith("Can't bind records as parameters"));
+    }
+  }
+
+  @Test
+  public void encodePrimitivesLikeBoxed() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    final PreparedStatement.Params params = PreparedStatement.builder("").setInt(1).setLong(2L)
+        .setShort((short) 3).setDouble(4.5D).setFloat(5.5F).setBoolean(true).build().params();
+    for (final Format format : Format.values())
+      for (int i = 0; i < params.size(); i++) {
+        final Value<?> boxed = params.get(i);
+        final ByteBuffer expected = ByteBuffer.allocate(100);
+        reg.encode(format, boxed, new TestBufferWriter(expected));
+        final ByteBuffer actual = ByteBuffer.allocate(100);
+        reg.encode(format, params, i, new TestBufferWriter(actual));
+        assertEquals(expected.flip(), actual.flip());
+        assertEquals(reg.oid(boxed), reg.oid(params, i));
+        assertEquals(boxed.getClass(), EncodingRegistry.valueClass(params, i));
+        assertFalse(EncodingRegistry.isNull(params, i));
+      }
+  }
+
+  @Test
+  public void decoder() {
+    final IntegerValue value = new IntegerValue(213);
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    final EncodingRegistry.Decoder decoder = reg.decoder(Oid.INT4, Format.BINARY);
+    final ByteBuffer buf = ByteBuffer.allocate(1000);
+    (new IntegerEncoding()).encode(Format.BINARY, value, new TestBufferWriter(buf));
+    buf.rewind();
+    assertEquals(value, decoder.decode(new TestBufferReader(buf)));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void decoderUnsupported() {
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+    final EncodingRegistry.Decoder decoder = reg.decoder(99999, Format.BINARY);
+    decoder.decode(new TestBufferReader(ByteBuffer.allocate(100)));
+  }
+
   @Test(expected = UnsupportedOperationException.class)
   public void decodeUnsupported() {
     final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
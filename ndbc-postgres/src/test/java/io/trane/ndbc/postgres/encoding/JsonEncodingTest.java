@@ -0,0 +1,35 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.trane.ndbc.value.JsonValue;
+
+public class JsonEncodingTest extends EncodingTest<JsonValue, JsonEncoding> {
+
+  public JsonEncodingTest() {
+    super(
+        new JsonEncoding(),
+        Oid.JSON,
+        JsonValue.class,
+        r -> new JsonValue("{\"id\": " + r.nextInt() + ", \"tags\": [\"a\", \"\\u00e7\"]}"));
+  }
+
+  @Test
+  public void connectionCharset() {
+    final JsonEncoding enc = new JsonEncoding(StandardCharsets.ISO_8859_1);
+    final JsonValue value = new JsonValue("[\"a\u00e7\u00e3o\"]");
+    final ByteBuffer buf = ByteBuffer.allocate(100);
+    enc.encode(Format.BINARY, value, new TestBufferWriter(buf, StandardCharsets.ISO_8859_1));
+    buf.flip();
+    assertEquals(8, buf.remaining());
+    final JsonValue decoded = enc.decode(Format.BINARY,
+        new TestBufferReader(buf, StandardCharsets.ISO_8859_1));
+    assertEquals(value, decoded);
+    assertEquals(value.get(), decoded.get());
+  }
+}
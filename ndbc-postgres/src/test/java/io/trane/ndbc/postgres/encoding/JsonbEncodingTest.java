@@ -0,0 +1,51 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import io.trane.ndbc.value.JsonbValue;
+
+public class JsonbEncodingTest extends EncodingTest<JsonbValue, JsonbEncoding> {
+
+  public JsonbEncodingTest() {
+    super(
+        new JsonbEncoding(),
+        Oid.JSONB,
+        JsonbValue.class,
+        r -> new JsonbValue("{\"id\": " + r.nextInt() + ", \"name\": \"a\u00e7\u00e3o\"}"));
+  }
+
+  @Test
+  public void skipVersion() {
+    final ByteBuffer buf = ByteBuffer.allocate(10);
+    buf.put((byte) 1).put("[1, 2]".getBytes(StandardCharsets.UTF_8)).flip();
+    final JsonbValue value = new JsonbEncoding().decode(Format.BINARY, new TestBufferReader(buf));
+    assertEquals("[1, 2]", value.getString());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void unsupportedVersion() {
+    final ByteBuffer buf = ByteBuffer.wrap(new byte[] { 2, '{', '}' });
+    new JsonbEncoding().decode(Format.BINARY, new TestBufferReader(buf));
+  }
+
+  @Test
+  public void connectionCharset() {
+    final JsonbEncoding enc = new JsonbEncoding(StandardCharsets.ISO_8859_1);
+    final JsonbValue value = new JsonbValue("[\"a\u00e7\u00e3o\"]");
+    for (final Format format : Format.values()) {
+      final ByteBuffer buf = ByteBuffer.allocate(100);
+      enc.encode(format, value, new TestBufferWriter(buf, StandardCharsets.ISO_8859_1));
+      buf.flip();
+      assertEquals(format == Format.BINARY ? 9 : 8, buf.remaining());
+      final JsonbValue decoded = enc.decode(format,
+          new TestBufferReader(buf, StandardCharsets.ISO_8859_1));
+      assertEquals(value.getString(), decoded.getString());
+      assertEquals(value.get(), decoded.get());
+    }
+  }
+}
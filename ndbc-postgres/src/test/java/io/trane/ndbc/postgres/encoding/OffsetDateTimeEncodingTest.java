@@ -0,0 +1,21 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertTrue;
+
+import java.time.ZoneOffset;
+
+import io.trane.ndbc.value.OffsetDateTimeValue;
+
+public class OffsetDateTimeEncodingTest
+    extends EncodingTest<OffsetDateTimeValue, OffsetDateTimeEncoding> {
+
+  public OffsetDateTimeEncodingTest() {
+    super(
+        new OffsetDateTimeEncoding(),
+        Oid.TIMESTAMPTZ,
+        OffsetDateTimeValue.class,
+        r -> new OffsetDateTimeValue(randomLocalDateTime(r)
+            .atOffset(ZoneOffset.ofTotalSeconds((r.nextInt(18 * 2) - 18) * 3600))),
+        (a, b) -> assertTrue(a.get().isEqual(b.get())));
+  }
+}
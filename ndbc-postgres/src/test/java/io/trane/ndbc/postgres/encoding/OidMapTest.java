@@ -0,0 +1,57 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class OidMapTest {
+
+  @Test
+  public void putAndGet() {
+    final OidMap<String> map = new OidMap<>();
+    map.put(Oid.INT4, "int4");
+    map.put(Oid.INT8, "int8");
+    assertEquals("int4", map.get(Oid.INT4));
+    assertEquals("int8", map.get(Oid.INT8));
+    assertNull(map.get(Oid.TEXT));
+  }
+
+  @Test
+  public void replace() {
+    final OidMap<String> map = new OidMap<>();
+    map.put(Oid.INT4, "a");
+    map.put(Oid.INT4, "b");
+    assertEquals("b", map.get(Oid.INT4));
+  }
+
+  @Test
+  public void copy() {
+    final OidMap<String> map = new OidMap<>();
+    map.put(Oid.INT4, "int4");
+    final OidMap<String> copy = map.copy();
+    copy.put(Oid.INT8, "int8");
+    assertEquals("int4", copy.get(Oid.INT4));
+    assertNull(map.get(Oid.INT8));
+  }
+
+  @Test
+  public void resize() {
+    final OidMap<Integer> map = new OidMap<>();
+    for (int oid = 1; oid <= 1000; oid++)
+      map.put(oid * 7919, oid);
+    for (int oid = 1; oid <= 1000; oid++)
+      assertEquals(Integer.valueOf(oid), map.get(oid * 7919));
+    assertNull(map.get(13));
+  }
+
+  @Test
+  public void unspecified() {
+    assertNull(new OidMap<String>().get(Oid.UNSPECIFIED));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void putUnspecified() {
+    new OidMap<String>().put(Oid.UNSPECIFIED, "a");
+  }
+}
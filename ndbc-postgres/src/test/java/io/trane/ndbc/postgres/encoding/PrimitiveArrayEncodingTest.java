@@ -0,0 +1,132 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+import io.trane.ndbc.value.PrimitiveArrayValue;
+import io.trane.ndbc.value.PrimitiveDoubleArrayValue;
+import io.trane.ndbc.value.PrimitiveFloatArrayValue;
+import io.trane.ndbc.value.PrimitiveIntArrayValue;
+import io.trane.ndbc.value.PrimitiveLongArrayValue;
+
+@RunWith(Enclosed.class)
+public class PrimitiveArrayEncodingTest {
+
+  public static class Ints
+      extends EncodingTest<PrimitiveIntArrayValue, PrimitiveArrayEncoding.Ints> {
+    public Ints() {
+      super(new PrimitiveArrayEncoding.Ints(), Oid.INT4_ARRAY, PrimitiveIntArrayValue.class,
+          r -> random(r, int[]::new, (a, i) -> a[i] = r.nextInt(), PrimitiveIntArrayValue::new));
+    }
+
+    @Test
+    public void decodeText() {
+      assertArrayEquals(new int[] { 1, -2, 3 }, enc().decodeText("{1,-2,3}"));
+      assertArrayEquals(new int[0], enc().decodeText("{}"));
+    }
+
+    @Test
+    public void decodeTextWithNulls() {
+      final PrimitiveIntArrayValue value = enc().decode(Format.TEXT, text("{1,NULL}"));
+      assertArrayEquals(new int[] { 1, 0 }, value.get());
+      assertEquals(BitSet.valueOf(new long[] { 2 }), value.nulls().get());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void decodeTextRejectsNulls() {
+      enc().decodeText("{1,NULL}");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void decodeTextMultiDimensional() {
+      enc().decodeText("{{1,2},{3,4}}");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void decodeTextLowerBound() {
+      enc().decodeText("[0:1]={1,2}");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void decodeBinaryMultiDimensional() {
+      final ByteBuffer buf = ByteBuffer.allocate(100);
+      buf.putInt(2).putInt(0).putInt(Oid.INT4).putInt(1).putInt(1).putInt(1).putInt(1).flip();
+      enc().decodeBinary(new TestBufferReader(buf));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void decodeBinaryLowerBound() {
+      final ByteBuffer buf = ByteBuffer.allocate(100);
+      buf.putInt(1).putInt(0).putInt(Oid.INT4).putInt(1).putInt(0).putInt(4).putInt(1).flip();
+      enc().decodeBinary(new TestBufferReader(buf));
+    }
+
+    private final PrimitiveArrayEncoding.Ints enc() {
+      return new PrimitiveArrayEncoding.Ints();
+    }
+
+    private final TestBufferReader text(final String value) {
+      return new TestBufferReader(ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8)));
+    }
+  }
+
+  public static class Longs
+      extends EncodingTest<PrimitiveLongArrayValue, PrimitiveArrayEncoding.Longs> {
+    public Longs() {
+      super(new PrimitiveArrayEncoding.Longs(), Oid.INT8_ARRAY, PrimitiveLongArrayValue.class,
+          r -> random(r, long[]::new, (a, i) -> a[i] = r.nextLong(),
+              PrimitiveLongArrayValue::new));
+    }
+  }
+
+  public static class Floats
+      extends EncodingTest<PrimitiveFloatArrayValue, PrimitiveArrayEncoding.Floats> {
+    public Floats() {
+      super(new PrimitiveArrayEncoding.Floats(), Oid.FLOAT4_ARRAY,
+          PrimitiveFloatArrayValue.class,
+          r -> random(r, float[]::new, (a, i) -> a[i] = r.nextFloat(),
+              PrimitiveFloatArrayValue::new));
+    }
+  }
+
+  public static class Doubles
+      extends EncodingTest<PrimitiveDoubleArrayValue, PrimitiveArrayEncoding.Doubles> {
+    public Doubles() {
+      super(new PrimitiveArrayEncoding.Doubles(), Oid.FLOAT8_ARRAY,
+          PrimitiveDoubleArrayValue.class,
+          r -> random(r, double[]::new, (a, i) -> a[i] = r.nextDouble(),
+              PrimitiveDoubleArrayValue::new));
+    }
+  }
+
+  private static interface Setter<T> {
+    void set(T array, int index);
+  }
+
+  // about one in five elements is null
+  private static <T, V extends PrimitiveArrayValue<T>> V random(final Random r,
+      final IntFunction<T> newArray, final Setter<T> set,
+      final BiFunction<T, Optional<BitSet>, V> box) {
+    final int length = r.nextInt(10);
+    final T array = newArray.apply(length);
+    final BitSet nulls = new BitSet(length);
+    for (int i = 0; i < length; i++)
+      if (r.nextInt(5) == 0)
+        nulls.set(i);
+      else
+        set.set(array, i);
+    return box.apply(array, nulls.isEmpty() ? Optional.empty() : Optional.of(nulls));
+  }
+}
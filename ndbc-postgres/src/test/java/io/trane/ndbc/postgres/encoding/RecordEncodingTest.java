@@ -0,0 +1,90 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.trane.ndbc.Row;
+import io.trane.ndbc.value.RecordValue;
+import io.trane.ndbc.value.Value;
+
+public class RecordEncodingTest {
+
+  private final EncodingRegistry reg = new EncodingRegistry(Optional.empty());
+  private final RecordEncoding   enc = new RecordEncoding(reg, 100000,
+      Arrays.asList("id", "name", "note"), new int[] { Oid.INT4, Oid.TEXT, Oid.TEXT });
+
+  @Test
+  public void oid() {
+    assertEquals(Integer.valueOf(100000), enc.oid());
+  }
+
+  @Test
+  public void valueClass() {
+    assertEquals(RecordValue.class, enc.valueClass());
+  }
+
+  @Test
+  public void decodeBinary() {
+    final ByteBuffer buf = ByteBuffer.allocate(100);
+    buf.putInt(3);
+    buf.putInt(Oid.INT4).putInt(4).putInt(7);
+    buf.putInt(Oid.TEXT).putInt(2).put("ab".getBytes());
+    buf.putInt(Oid.TEXT).putInt(-1);
+    buf.flip();
+    final Row record = enc.decode(Format.BINARY, new TestBufferReader(buf)).getRecord();
+    assertEquals(7, record.getInt("id"));
+    assertEquals("ab", record.column(1).getString());
+    assertTrue(record.isNull("note"));
+  }
+
+  @Test
+  public void decodeText() {
+    final Row record = enc.decodeText("(7,\"a \"\"b\"\" \\\\c\",)");
+    assertEquals(7, record.getInt(0));
+    assertEquals("a \"b\" \\c", record.column("name").getString());
+    assertTrue(record.isNull(2));
+  }
+
+  @Test
+  public void decodeTextEmptyString() {
+    final Row record = enc.decodeText("(,\"\",x)");
+    assertTrue(record.isNull(0));
+    assertEquals("", record.column(1).getString());
+    assertEquals("x", record.column(2).getString());
+  }
+
+  @Test
+  public void decodeTextSingleNullField() {
+    final RecordEncoding single = new RecordEncoding(reg, 100001, Arrays.asList("id"),
+        new int[] { Oid.INT4 });
+    final Row record = single.decodeText("()");
+    assertEquals(1, record.columns().size());
+    assertTrue(record.isNull("id"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void decodeTextFieldCountMismatch() {
+    enc.decodeText("(1,a)");
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void decodeBinaryFieldCountMismatch() {
+    final ByteBuffer buf = ByteBuffer.allocate(100);
+    buf.putInt(1);
+    buf.putInt(Oid.INT4).putInt(4).putInt(7);
+    buf.flip();
+    enc.decode(Format.BINARY, new TestBufferReader(buf));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void encode() {
+    enc.encodeText(Row.apply(Collections.emptyMap(), new Value<?>[0]));
+  }
+}
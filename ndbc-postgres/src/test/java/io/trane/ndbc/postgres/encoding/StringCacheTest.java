@@ -0,0 +1,102 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.trane.ndbc.value.StringValue;
+import io.trane.ndbc.value.Value;
+
+public class StringCacheTest {
+
+  @Test
+  public void deduplicate() {
+    final StringCache cache = new StringCache(16);
+    final StringValue a = cache.decode(reader("BRL"));
+    final StringValue b = cache.decode(reader("BRL"));
+    assertEquals(new StringValue("BRL"), a);
+    assertSame(a, b);
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+    assertEquals(0.5, cache.hitRate(), 0);
+  }
+
+  @Test
+  public void differentBytes() {
+    final StringCache cache = new StringCache(1);
+    assertEquals(new StringValue("USD"), cache.decode(reader("USD")));
+    assertEquals(new StringValue("EUR"), cache.decode(reader("EUR")));
+    assertEquals(new StringValue("USD"), cache.decode(reader("USD")));
+    assertEquals(1, cache.hits());
+  }
+
+  @Test
+  public void valuesSeenOnceDontEvict() {
+    final StringCache cache = new StringCache(1);
+    final StringValue usd = cache.decode(reader("USD"));
+    for (int i = 0; i < 10; i++)
+      cache.decode(reader("id" + i));
+    assertSame(usd, cache.decode(reader("USD")));
+  }
+
+  @Test
+  public void repeatedMissesReplace() {
+    final StringCache cache = new StringCache(1);
+    cache.decode(reader("USD"));
+    cache.decode(reader("EUR"));
+    final StringValue eur = cache.decode(reader("EUR"));
+    assertSame(eur, cache.decode(reader("EUR")));
+  }
+
+  @Test
+  public void nonAsciiNotCached() {
+    final StringCache cache = new StringCache(16);
+    final String s = "S\u00e3o Paulo";
+    final StringValue a = cache.decode(reader(s));
+    assertEquals(new StringValue(s), a);
+    assertNotSame(a, cache.decode(reader(s)));
+    assertEquals(0, cache.hits());
+  }
+
+  @Test
+  public void longStringsNotCached() {
+    final char[] chars = new char[100];
+    Arrays.fill(chars, 'a');
+    final String s = new String(chars);
+    final StringCache cache = new StringCache(16);
+    assertNotSame(cache.decode(reader(s)), cache.decode(reader(s)));
+    assertEquals(0, cache.hits() + cache.misses());
+  }
+
+  @Test
+  public void consumeReader() {
+    final TestBufferReader reader = reader("BRL");
+    new StringCache(16).decode(reader);
+    assertEquals(0, reader.readableBytes());
+  }
+
+  @Test
+  public void registry() {
+    final StringCache cache = new StringCache(16);
+    final EncodingRegistry reg = new EncodingRegistry(Optional.empty(), Optional.of(cache));
+    final Value<?> a = reg.decode(Oid.VARCHAR, Format.TEXT, reader("active"));
+    final Value<?> b = reg.decode(Oid.TEXT, Format.BINARY, reader("active"));
+    assertSame(a, b);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSize() {
+    new StringCache(0);
+  }
+
+  private final TestBufferReader reader(final String s) {
+    return new TestBufferReader(ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+  }
+}
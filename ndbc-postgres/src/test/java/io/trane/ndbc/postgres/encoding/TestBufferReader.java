@@ -8,10 +8,16 @@ import io.trane.ndbc.proto.BufferReader;
 public class TestBufferReader implements BufferReader {
 
   private final ByteBuffer buf;
+  private final Charset    charset;
 
   public TestBufferReader(final ByteBuffer buf) {
+    this(buf, Charset.forName("UTF-8"));
+  }
+
+  public TestBufferReader(final ByteBuffer buf, final Charset charset) {
     super();
     this.buf = buf;
+    this.charset = charset;
   }
 
   @Override
@@ -67,7 +73,7 @@ public class TestBufferReader implements BufferReader {
   public String readString(final int length) {
     final byte[] b = new byte[length];
     buf.get(b);
-    final String string = new String(b, Charset.forName("UTF-8"));
+    final String string = new String(b, charset);
     return string;
   }
 
@@ -113,7 +119,17 @@ public class TestBufferReader implements BufferReader {
   public BufferReader readSlice(final int length) {
     final byte[] slice = new byte[length];
     buf.get(slice);
-    return new TestBufferReader(ByteBuffer.wrap(slice));
+    return new TestBufferReader(ByteBuffer.wrap(slice), charset);
+  }
+
+  @Override
+  public byte getByte(final int offset) {
+    return buf.get(buf.position() + offset);
+  }
+
+  @Override
+  public void skipBytes(final int length) {
+    buf.position(buf.position() + length);
   }
 
   @Override
@@ -135,17 +151,17 @@ public class TestBufferReader implements BufferReader {
   }
 
   @Override
-  public Long readLong() {
+  public long readLong() {
     return buf.getLong();
   }
 
   @Override
-  public Float readFloat() {
+  public float readFloat() {
     return buf.getFloat();
   }
 
   @Override
-  public Double readDouble() {
+  public double readDouble() {
     return buf.getDouble();
   }
 
@@ -8,10 +8,16 @@ import io.trane.ndbc.proto.BufferWriter;
 public class TestBufferWriter implements BufferWriter {
 
   private final ByteBuffer buf;
+  private final Charset    charset;
 
   public TestBufferWriter(final ByteBuffer buf) {
+    this(buf, Charset.forName("UTF-8"));
+  }
+
+  public TestBufferWriter(final ByteBuffer buf, final Charset charset) {
     super();
     this.buf = buf;
+    this.charset = charset;
   }
 
   @Override
@@ -42,7 +48,7 @@ public class TestBufferWriter implements BufferWriter {
 
   @Override
   public void writeString(final String s) {
-    buf.put(s.getBytes(Charset.forName("UTF-8")));
+    buf.put(s.getBytes(charset));
   }
 
   @Override
@@ -50,6 +56,11 @@ public class TestBufferWriter implements BufferWriter {
     buf.put(b);
   }
 
+  @Override
+  public void writeBytes(final ByteBuffer b) {
+    buf.put(b.duplicate());
+  }
+
   @Override
   public void writeInts(final int[] i) {
     for (final int v : i)
@@ -86,17 +97,17 @@ public class TestBufferWriter implements BufferWriter {
   }
 
   @Override
-  public void writeLong(final Long value) {
+  public void writeLong(final long value) {
     buf.putLong(value);
   }
 
   @Override
-  public void writeFloat(final Float value) {
+  public void writeFloat(final float value) {
     buf.putFloat(value);
   }
 
   @Override
-  public void writeDouble(final Double value) {
+  public void writeDouble(final double value) {
     buf.putDouble(value);
   }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package io.trane.ndbc.postgres.encoding;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import org.junit.Test;
+
+public class TimestampsTest {
+
+  @Test
+  public void parseLocalDateTime() {
+    assertEquals(LocalDateTime.of(2017, 3, 4, 5, 6, 7),
+        Timestamps.parseLocalDateTime("2017-03-04 05:06:07"));
+    assertEquals(LocalDateTime.of(2017, 3, 4, 5, 6, 7, 120000000),
+        Timestamps.parseLocalDateTime("2017-03-04 05:06:07.12"));
+    assertEquals(LocalDateTime.of(2017, 3, 4, 5, 6, 7, 123456000),
+        Timestamps.parseLocalDateTime("2017-03-04T05:06:07.123456"));
+    assertEquals(LocalDateTime.of(12345, 1, 1, 0, 0, 0),
+        Timestamps.parseLocalDateTime("12345-01-01 00:00:00"));
+  }
+
+  @Test
+  public void parseBC() {
+    assertEquals(LocalDateTime.of(-43, 3, 15, 12, 0, 0),
+        Timestamps.parseLocalDateTime("0044-03-15 12:00:00 BC"));
+    assertEquals(OffsetDateTime.of(0, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC),
+        Timestamps.parseOffsetDateTime("0001-01-01 00:00:00+00 BC"));
+  }
+
+  @Test
+  public void parseOffsetDateTime() {
+    assertEquals(OffsetDateTime.of(2017, 3, 4, 5, 6, 7, 0, ZoneOffset.ofHours(-3)),
+        Timestamps.parseOffsetDateTime("2017-03-04 05:06:07-03"));
+    assertEquals(
+        OffsetDateTime.of(2017, 3, 4, 5, 6, 7, 500000000, ZoneOffset.ofHoursMinutes(5, 30)),
+        Timestamps.parseOffsetDateTime("2017-03-04 05:06:07.5+05:30"));
+    assertEquals(OffsetDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.ofTotalSeconds(-2205)),
+        Timestamps.parseOffsetDateTime("1900-01-01 00:00:00-00:36:45"));
+    assertEquals(OffsetDateTime.of(2017, 3, 4, 5, 6, 7, 0, ZoneOffset.UTC),
+        Timestamps.parseOffsetDateTime("2017-03-04T05:06:07Z"));
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void parseLocalDateTimeWithOffset() {
+    Timestamps.parseLocalDateTime("2017-03-04 05:06:07+00");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void parseOffsetDateTimeWithoutOffset() {
+    Timestamps.parseOffsetDateTime("2017-03-04 05:06:07");
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void parseInvalid() {
+    Timestamps.parseLocalDateTime("2017-03-04 05:0x:07");
+  }
+
+  @Test
+  public void format() {
+    assertEquals("2017-03-04 05:06:07",
+        Timestamps.format(LocalDateTime.of(2017, 3, 4, 5, 6, 7)));
+    assertEquals("0044-03-15 12:00:00.00012 BC",
+        Timestamps.format(LocalDateTime.of(-43, 3, 15, 12, 0, 0, 120000)));
+    assertEquals("2017-03-04 05:06:07.5-00:36:45",
+        Timestamps.format(OffsetDateTime.of(2017, 3, 4, 5, 6, 7, 500000000,
+            ZoneOffset.ofTotalSeconds(-2205))));
+  }
+
+  @Test
+  public void micros() {
+    final LocalDateTime value = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999999000);
+    final long micros = Timestamps.toMicros(value);
+    assertEquals(-Timestamps.POSTGRES_EPOCH_MICROS - 1, micros);
+    assertEquals(value, Timestamps.fromMicros(micros));
+    assertEquals(0L, Timestamps.toMicros(OffsetDateTime.of(2000, 1, 1, 2, 0, 0, 0,
+        ZoneOffset.ofHours(2))));
+  }
+
+  @Test
+  public void infinity() {
+    assertEquals(Long.MAX_VALUE, Timestamps.toEpochMicros(Long.MAX_VALUE));
+    assertEquals(Long.MIN_VALUE, Timestamps.toEpochMicros(Long.MIN_VALUE));
+    assertEquals(0L, Timestamps.toEpochMicros(-Timestamps.POSTGRES_EPOCH_MICROS));
+    assertEquals(LocalDateTime.MAX, Timestamps.fromMicros(Long.MAX_VALUE));
+    assertEquals(LocalDateTime.MIN, Timestamps.fromMicros(Long.MIN_VALUE));
+    assertEquals(Long.MAX_VALUE, Timestamps.toMicros(LocalDateTime.MAX));
+    assertEquals(Long.MIN_VALUE, Timestamps.toMicros(OffsetDateTime.MIN));
+  }
+}
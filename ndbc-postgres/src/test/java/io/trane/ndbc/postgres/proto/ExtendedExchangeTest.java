@@ -0,0 +1,113 @@
+package io.trane.ndbc.postgres.proto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Test;
+
+import io.trane.future.CheckedFutureException;
+import io.trane.future.Future;
+import io.trane.ndbc.PreparedStatement;
+import io.trane.ndbc.postgres.proto.Message.InfoResponse.ErrorResponse;
+import io.trane.ndbc.postgres.proto.Message.InfoResponse.Field;
+import io.trane.ndbc.postgres.proto.Message.Parse;
+import io.trane.ndbc.postgres.proto.Message.ParseComplete;
+import io.trane.ndbc.postgres.proto.Message.ReadyForQuery;
+import io.trane.ndbc.postgres.proto.Message.Sync;
+import io.trane.ndbc.proto.Channel;
+import io.trane.ndbc.proto.ClientMessage;
+import io.trane.ndbc.proto.ServerMessage;
+
+public class ExtendedExchangeTest {
+
+  private final Duration          timeout  = Duration.ofSeconds(1);
+  private final ExtendedExchange  exchange = new ExtendedExchange();
+  private final PreparedStatement a        = PreparedStatement.apply("SELECT a FROM t");
+  private final PreparedStatement b        = PreparedStatement.apply("SELECT b FROM t");
+
+  @Test
+  public void prepareSyncsEachStatement() throws CheckedFutureException {
+    final TestChannel channel = new TestChannel(new ParseComplete(), ready(),
+        new ParseComplete(), ready());
+    exchange.prepare(Arrays.asList(a, b)).run(channel).get(timeout);
+    assertEquals(4, channel.sent.size());
+    assertTrue(channel.sent.get(0) instanceof Parse);
+    assertTrue(channel.sent.get(1) instanceof Sync);
+    assertTrue(channel.sent.get(2) instanceof Parse);
+    assertTrue(channel.sent.get(3) instanceof Sync);
+    assertTrue(channel.received.isEmpty());
+  }
+
+  @Test
+  public void prepareSkipsPrepared() throws CheckedFutureException {
+    exchange.prepare(Arrays.asList(a)).run(new TestChannel(new ParseComplete(), ready()))
+        .get(timeout);
+    final TestChannel channel = new TestChannel(new ParseComplete(), ready());
+    exchange.prepare(Arrays.asList(a, b, b)).run(channel).get(timeout);
+    assertEquals(2, channel.sent.size());
+  }
+
+  @Test
+  public void prepareContinuesAfterServerError() throws CheckedFutureException {
+    final TestChannel channel = new TestChannel(error(), ready(), new ParseComplete(), ready());
+    exchange.prepare(Arrays.asList(a, b)).run(channel).get(timeout);
+    assertTrue(channel.received.isEmpty());
+
+    final TestChannel retry = new TestChannel(new ParseComplete(), ready());
+    exchange.prepare(Arrays.asList(a, b)).run(retry).get(timeout);
+    assertEquals(2, retry.sent.size());
+    assertEquals("SELECT a FROM t", ((Parse) retry.sent.get(0)).query);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void prepareFailsOnChannelFailure() throws CheckedFutureException {
+    final TestChannel channel = new TestChannel(new ParseComplete(), ready()) {
+      @Override
+      public Future<ServerMessage> receive() {
+        return Future.exception(new IllegalStateException("closed"));
+      }
+    };
+    exchange.prepare(Arrays.asList(a)).run(channel).get(timeout);
+  }
+
+  private final ReadyForQuery ready() {
+    return new ReadyForQuery((byte) 'I');
+  }
+
+  private final ErrorResponse error() {
+    return new ErrorResponse(new Field[] { new Field(Field.Type.Message, "syntax error") });
+  }
+
+  class TestChannel implements Channel {
+
+    final List<ClientMessage>  sent     = new ArrayList<>();
+    final Queue<ServerMessage> received = new LinkedList<>();
+
+    TestChannel(final ServerMessage... received) {
+      this.received.addAll(Arrays.asList(received));
+    }
+
+    @Override
+    public Future<ServerMessage> receive() {
+      return Future.value(received.remove());
+    }
+
+    @Override
+    public Future<Void> send(final ClientMessage msg) {
+      sent.add(msg);
+      return Future.VOID;
+    }
+
+    @Override
+    public Future<Void> close() {
+      return Future.VOID;
+    }
+  }
+}
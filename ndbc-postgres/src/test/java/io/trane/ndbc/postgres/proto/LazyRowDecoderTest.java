@@ -0,0 +1,83 @@
+package io.trane.ndbc.postgres.proto;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.trane.ndbc.postgres.encoding.EncodingRegistry;
+import io.trane.ndbc.postgres.encoding.Format;
+import io.trane.ndbc.postgres.encoding.Oid;
+import io.trane.ndbc.postgres.encoding.TestBufferReader;
+import io.trane.ndbc.postgres.encoding.Timestamps;
+import io.trane.ndbc.postgres.proto.Message.DataRow;
+import io.trane.ndbc.postgres.proto.Message.RowDescription;
+import io.trane.ndbc.proto.BufferReader;
+
+public class LazyRowDecoderTest {
+
+  private final EncodingRegistry encoding = new EncodingRegistry(Optional.empty());
+
+  @Test
+  public void epochMicros() {
+    final LocalDateTime value = LocalDateTime.of(2017, 3, 4, 5, 6, 7, 8000);
+    final long micros = value.toEpochSecond(ZoneOffset.UTC) * 1000000L + 8;
+    assertEquals(micros, timestamp(Oid.TIMESTAMP, micros - Timestamps.POSTGRES_EPOCH_MICROS)
+        .decodeEpochMicros(0));
+    assertEquals(micros, timestamp(Oid.TIMESTAMPTZ, micros - Timestamps.POSTGRES_EPOCH_MICROS)
+        .decodeEpochMicros(0));
+  }
+
+  @Test
+  public void epochMicrosInfinity() {
+    assertEquals(Long.MAX_VALUE, timestamp(Oid.TIMESTAMP, Long.MAX_VALUE).decodeEpochMicros(0));
+    assertEquals(Long.MIN_VALUE, timestamp(Oid.TIMESTAMP, Long.MIN_VALUE).decodeEpochMicros(0));
+    assertEquals(Long.MAX_VALUE,
+        timestamp(Oid.TIMESTAMPTZ, Long.MAX_VALUE).decodeEpochMicros(0));
+  }
+
+  @Test
+  public void infinityMatchesTheDecodedValue() {
+    final LazyRowDecoder decoder = timestamp(Oid.TIMESTAMP, Long.MAX_VALUE);
+    assertEquals(Long.MAX_VALUE, decoder.decodeEpochMicros(0));
+    assertEquals(Long.MAX_VALUE, decoder.decode(0).getEpochMicros());
+  }
+
+  @Test
+  public void fallbackIsDecodedOnce() {
+    final AtomicInteger decodes = new AtomicInteger();
+    final EncodingRegistry.Decoder text = encoding.decoder(Oid.INT4, Format.TEXT);
+    final EncodingRegistry.Decoder[] decoders = { reader -> {
+      decodes.incrementAndGet();
+      return text.decode(reader);
+    } };
+    final RowDescription desc = new RowDescription(new RowDescription.Field[] {
+        new RowDescription.Field("i", 0, (short) 0, Oid.INT4, (short) 4, -1,
+            Format.TEXT.getCode()) });
+    final LazyRowDecoder decoder = new LazyRowDecoder(decoders, desc,
+        new DataRow(new BufferReader[] {
+            new TestBufferReader(ByteBuffer.wrap("42".getBytes(StandardCharsets.UTF_8))) }));
+    assertEquals(42, decoder.decodeInt(0));
+    assertEquals(42L, decoder.decodeLong(0));
+    assertEquals(Integer.valueOf(42), decoder.decode(0).getInteger());
+    assertEquals(1, decodes.get());
+  }
+
+  private final LazyRowDecoder timestamp(final int oid, final long value) {
+    final ByteBuffer buf = ByteBuffer.allocate(8);
+    buf.putLong(value);
+    buf.flip();
+    final RowDescription desc = new RowDescription(new RowDescription.Field[] {
+        new RowDescription.Field("t", 0, (short) 0, oid, (short) 8, -1,
+            Format.BINARY.getCode()) });
+    final EncodingRegistry.Decoder[] decoders = { encoding.decoder(oid, Format.BINARY) };
+    return new LazyRowDecoder(decoders, desc,
+        new DataRow(new BufferReader[] { new TestBufferReader(buf) }));
+  }
+}